@@ -8,13 +8,16 @@ import java.util.Collection;
 import java.util.Optional;
 import myapp.config.ApplicationProperties;
 import myapp.config.CRLFLogConverter;
+import myapp.config.Constants;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.DefaultProfileUtil;
 import tech.jhipster.config.JHipsterConstants;
@@ -25,6 +28,11 @@ public class SampleApp {
 
     private static final Logger LOG = LoggerFactory.getLogger(SampleApp.class);
 
+    /**
+     * The number of startup steps recorded, for the {@code startup} management endpoint and {@link myapp.management.StartupReport}.
+     */
+    private static final int STARTUP_STEPS = 8192;
+
     private final Environment env;
 
     public SampleApp(Environment env) {
@@ -60,14 +68,20 @@ public class SampleApp {
     }
 
     /**
-     * Main method, used to run the application.
+     * Main method, used to run the application, or to migrate its database and exit with the {@code migrate} profile.
      *
      * @param args the command line arguments.
      */
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(SampleApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
-        Environment env = app.run(args).getEnvironment();
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        ConfigurableApplicationContext context = app.run(args);
+        Environment env = context.getEnvironment();
+        if (env.matchesProfiles(Constants.SPRING_PROFILE_MIGRATE)) {
+            LOG.info("The database is migrated, exiting");
+            System.exit(SpringApplication.exit(context));
+        }
         logApplicationStartup(env);
     }
 
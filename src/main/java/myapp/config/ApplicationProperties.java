@@ -1,5 +1,8 @@
 package myapp.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,18 +16,110 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+
+    private final QueryBudget queryBudget = new QueryBudget();
+
+    private final BulkUpdate bulkUpdate = new BulkUpdate();
+
+    private final PriceHistory priceHistory = new PriceHistory();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final OrderStats orderStats = new OrderStats();
+
+    private final OrderArchive orderArchive = new OrderArchive();
+
+    private final Outbox outbox = new Outbox();
+
+    private final LiveUpdates liveUpdates = new LiveUpdates();
+
+    private final Popularity popularity = new Popularity();
+
+    private final AddressNormalization addressNormalization = new AddressNormalization();
+
+    private final Shipping shipping = new Shipping();
+
+    private final ProductDimensions productDimensions = new ProductDimensions();
+
+    private final Startup startup = new Startup();
+
+    private final Streaming streaming = new Streaming();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public RequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
+    public QueryBudget getQueryBudget() {
+        return queryBudget;
+    }
+
+    public BulkUpdate getBulkUpdate() {
+        return bulkUpdate;
+    }
+
+    public PriceHistory getPriceHistory() {
+        return priceHistory;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public OrderStats getOrderStats() {
+        return orderStats;
+    }
+
+    public OrderArchive getOrderArchive() {
+        return orderArchive;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public LiveUpdates getLiveUpdates() {
+        return liveUpdates;
+    }
+
+    public Popularity getPopularity() {
+        return popularity;
+    }
+
+    public AddressNormalization getAddressNormalization() {
+        return addressNormalization;
+    }
+
+    public Shipping getShipping() {
+        return shipping;
+    }
+
+    public ProductDimensions getProductDimensions() {
+        return productDimensions;
+    }
+
+    public Startup getStartup() {
+        return startup;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
 
         private Boolean asyncStart;
 
+        private Mode mode = Mode.UPDATE;
+
         public Boolean getAsyncStart() {
             return asyncStart;
         }
@@ -32,6 +127,537 @@ public class ApplicationProperties {
         public void setAsyncStart(Boolean asyncStart) {
             this.asyncStart = asyncStart;
         }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        /**
+         * How Liquibase runs at startup.
+         */
+        public enum Mode {
+            /**
+             * Apply the changelogs.
+             */
+            UPDATE,
+            /**
+             * Apply the changelogs unless the database is tagged with their checksum, then tag it.
+             */
+            UPDATE_WHEN_CHANGED,
+            /**
+             * Only check that the database is tagged with the checksum of the changelogs, failing the startup otherwise.
+             */
+            VERIFY,
+        }
+    }
+
+    public static class RequestMetrics {
+
+        private boolean enabled = true;
+
+        private Duration slo = Duration.ofMillis(500);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlo() {
+            return slo;
+        }
+
+        public void setSlo(Duration slo) {
+            this.slo = slo;
+        }
+    }
+
+    public static class QueryBudget {
+
+        private boolean enabled = false;
+
+        private boolean failOnViolation = false;
+
+        private int maxStatements = 20;
+
+        private int maxCollectionFetches = 3;
+
+        private Map<String, Integer> endpoints = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isFailOnViolation() {
+            return failOnViolation;
+        }
+
+        public void setFailOnViolation(boolean failOnViolation) {
+            this.failOnViolation = failOnViolation;
+        }
+
+        public int getMaxStatements() {
+            return maxStatements;
+        }
+
+        public void setMaxStatements(int maxStatements) {
+            this.maxStatements = maxStatements;
+        }
+
+        public int getMaxCollectionFetches() {
+            return maxCollectionFetches;
+        }
+
+        public void setMaxCollectionFetches(int maxCollectionFetches) {
+            this.maxCollectionFetches = maxCollectionFetches;
+        }
+
+        public Map<String, Integer> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, Integer> endpoints) {
+            this.endpoints = endpoints;
+        }
+    }
+
+    public static class BulkUpdate {
+
+        private int maxItems = 10_000;
+
+        private int chunkSize = 500;
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class PriceHistory {
+
+        private int cacheSize = 10_000;
+
+        private int cachePoints = 16;
+
+        private Duration cacheTtl = Duration.ofSeconds(30);
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public int getCachePoints() {
+            return cachePoints;
+        }
+
+        public void setCachePoints(int cachePoints) {
+            this.cachePoints = cachePoints;
+        }
+
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+    }
+
+    public static class Idempotency {
+
+        private Duration ttl = Duration.ofHours(24);
+
+        private int cacheSize = 10_000;
+
+        private Duration sweepInterval = Duration.ofMinutes(10);
+
+        private int sweepChunkSize = 1_000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public Duration getSweepInterval() {
+            return sweepInterval;
+        }
+
+        public void setSweepInterval(Duration sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+
+        public int getSweepChunkSize() {
+            return sweepChunkSize;
+        }
+
+        public void setSweepChunkSize(int sweepChunkSize) {
+            this.sweepChunkSize = sweepChunkSize;
+        }
+    }
+
+    public static class OrderStats {
+
+        private Duration rollupInitialDelay = Duration.ofMinutes(1);
+
+        private Duration rollupInterval = Duration.ofHours(1);
+
+        private int rollupChunkDays = 31;
+
+        public Duration getRollupInitialDelay() {
+            return rollupInitialDelay;
+        }
+
+        public void setRollupInitialDelay(Duration rollupInitialDelay) {
+            this.rollupInitialDelay = rollupInitialDelay;
+        }
+
+        public Duration getRollupInterval() {
+            return rollupInterval;
+        }
+
+        public void setRollupInterval(Duration rollupInterval) {
+            this.rollupInterval = rollupInterval;
+        }
+
+        public int getRollupChunkDays() {
+            return rollupChunkDays;
+        }
+
+        public void setRollupChunkDays(int rollupChunkDays) {
+            this.rollupChunkDays = rollupChunkDays;
+        }
+    }
+
+    public static class OrderArchive {
+
+        private Duration shippedFor = Duration.ofDays(365);
+
+        private int chunkSize = 500;
+
+        private Duration initialDelay = Duration.ofMinutes(5);
+
+        private Duration interval = Duration.ofHours(1);
+
+        public Duration getShippedFor() {
+            return shippedFor;
+        }
+
+        public void setShippedFor(Duration shippedFor) {
+            this.shippedFor = shippedFor;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Outbox {
+
+        private String sink = "application-event";
+
+        private String file = "outbox/events.jsonl";
+
+        private int batchSize = 500;
+
+        private Duration relayInterval = Duration.ofSeconds(1);
+
+        public String getSink() {
+            return sink;
+        }
+
+        public void setSink(String sink) {
+            this.sink = sink;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getRelayInterval() {
+            return relayInterval;
+        }
+
+        public void setRelayInterval(Duration relayInterval) {
+            this.relayInterval = relayInterval;
+        }
+    }
+
+    public static class LiveUpdates {
+
+        private int bufferSize = 1_000;
+
+        private Duration flushInterval = Duration.ofMillis(250);
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Popularity {
+
+        private int capacity = 1_000;
+
+        private Duration checkpointInitialDelay = Duration.ofSeconds(10);
+
+        private Duration checkpointInterval = Duration.ofMinutes(1);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getCheckpointInitialDelay() {
+            return checkpointInitialDelay;
+        }
+
+        public void setCheckpointInitialDelay(Duration checkpointInitialDelay) {
+            this.checkpointInitialDelay = checkpointInitialDelay;
+        }
+
+        public Duration getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(Duration checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+    }
+
+    public static class AddressNormalization {
+
+        private String rules = "classpath:config/address-rules.json";
+
+        private int cacheSize = 10_000;
+
+        private int backfillChunkSize = 500;
+
+        private Duration backfillInitialDelay = Duration.ofSeconds(30);
+
+        private Duration backfillInterval = Duration.ofHours(1);
+
+        public String getRules() {
+            return rules;
+        }
+
+        public void setRules(String rules) {
+            this.rules = rules;
+        }
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public int getBackfillChunkSize() {
+            return backfillChunkSize;
+        }
+
+        public void setBackfillChunkSize(int backfillChunkSize) {
+            this.backfillChunkSize = backfillChunkSize;
+        }
+
+        public Duration getBackfillInitialDelay() {
+            return backfillInitialDelay;
+        }
+
+        public void setBackfillInitialDelay(Duration backfillInitialDelay) {
+            this.backfillInitialDelay = backfillInitialDelay;
+        }
+
+        public Duration getBackfillInterval() {
+            return backfillInterval;
+        }
+
+        public void setBackfillInterval(Duration backfillInterval) {
+            this.backfillInterval = backfillInterval;
+        }
+    }
+
+    public static class Shipping {
+
+        private String rates = "classpath:config/shipping-rates.json";
+
+        private int memoSize = 10_000;
+
+        public String getRates() {
+            return rates;
+        }
+
+        public void setRates(String rates) {
+            this.rates = rates;
+        }
+
+        public int getMemoSize() {
+            return memoSize;
+        }
+
+        public void setMemoSize(int memoSize) {
+            this.memoSize = memoSize;
+        }
+    }
+
+    public static class ProductDimensions {
+
+        private int backfillChunkSize = 500;
+
+        private Duration backfillInitialDelay = Duration.ofSeconds(30);
+
+        public int getBackfillChunkSize() {
+            return backfillChunkSize;
+        }
+
+        public void setBackfillChunkSize(int backfillChunkSize) {
+            this.backfillChunkSize = backfillChunkSize;
+        }
+
+        public Duration getBackfillInitialDelay() {
+            return backfillInitialDelay;
+        }
+
+        public void setBackfillInitialDelay(Duration backfillInitialDelay) {
+            this.backfillInitialDelay = backfillInitialDelay;
+        }
+    }
+
+    public static class Startup {
+
+        private int reportSize = 10;
+
+        public int getReportSize() {
+            return reportSize;
+        }
+
+        public void setReportSize(int reportSize) {
+            this.reportSize = reportSize;
+        }
+    }
+
+    public static class Streaming {
+
+        private int threads = 4;
+
+        private int flushSize = 200;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getFlushSize() {
+            return flushSize;
+        }
+
+        public void setFlushSize(int flushSize) {
+            this.flushSize = flushSize;
+        }
     }
     // jhipster-needle-application-properties-property-class
 }
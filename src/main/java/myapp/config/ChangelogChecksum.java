@@ -0,0 +1,126 @@
+package myapp.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+
+/**
+ * The SHA-256 checksum of the Liquibase changelogs: the files under {@code config/liquibase}, in path order, each with
+ * its path.
+ * <p>
+ * It is computed by the build, which runs {@link #main(String[])} on the compiled classes, into
+ * {@code config/changelog.sha256}, so that starting the application only reads it. Outside of a Maven build (e.g. from
+ * an IDE) it is computed from the changelogs on the classpath, as it is when a changelog of a classes directory is newer
+ * than the file: an IDE copies the changed changelogs without running the build, leaving the file stale.
+ */
+public final class ChangelogChecksum {
+
+    static final String LOCATION = "config/changelog.sha256";
+
+    private static final String CHANGELOG_FILES = "config/liquibase/**/*.*";
+
+    private static final String CLASSPATH_CHANGELOG_FILES = "classpath*:" + CHANGELOG_FILES;
+
+    private static final String CHANGELOG_DIRECTORY = "config/liquibase/";
+
+    private ChangelogChecksum() {}
+
+    /**
+     * Write the checksum of the changelogs of a classes directory to its {@code config/changelog.sha256}.
+     *
+     * @param args the classes directory.
+     * @throws IOException if the changelogs cannot be read or the checksum cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path classes = Path.of(args[0]).toAbsolutePath();
+        String checksum = compute(new PathMatchingResourcePatternResolver(), classes.toUri() + CHANGELOG_FILES);
+        Files.writeString(classes.resolve(LOCATION), checksum, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param resourceLoader the loader of the classpath resources.
+     * @return the checksum of the changelogs of the classpath, as computed by the build if available.
+     */
+    static String load(ResourceLoader resourceLoader) {
+        Resource precomputed = resourceLoader.getResource(ResourceLoader.CLASSPATH_URL_PREFIX + LOCATION);
+        ResourcePatternResolver resolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        try {
+            if (precomputed.exists() && !isStale(precomputed, resolver)) {
+                return precomputed.getContentAsString(StandardCharsets.US_ASCII).strip();
+            }
+            return compute(resolver, CLASSPATH_CHANGELOG_FILES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the Liquibase changelogs", e);
+        }
+    }
+
+    /**
+     * @param parts the strings to digest, separated by line feeds.
+     * @return their SHA-256, in hexadecimal.
+     */
+    static String sha256(String... parts) {
+        MessageDigest digest = newDigest();
+        digest.update(String.join("\n", parts).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return whether the checksum is a file older than one of the changelogs; in a jar it is written by the build that
+     * packages the changelogs.
+     */
+    private static boolean isStale(Resource precomputed, ResourcePatternResolver resolver) throws IOException {
+        if (!precomputed.isFile()) {
+            return false;
+        }
+        long written = precomputed.lastModified();
+        for (Resource file : resolver.getResources(CLASSPATH_CHANGELOG_FILES)) {
+            if (file.lastModified() > written) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String compute(ResourcePatternResolver resolver, String pattern) throws IOException {
+        Resource[] files = resolver.getResources(pattern);
+        Arrays.sort(files, Comparator.comparing(ChangelogChecksum::changelogPath));
+        MessageDigest digest = newDigest();
+        for (Resource file : files) {
+            digest.update((changelogPath(file) + "\n").getBytes(StandardCharsets.UTF_8));
+            try (InputStream content = file.getInputStream()) {
+                digest.update(content.readAllBytes());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String changelogPath(Resource file) {
+        try {
+            String url = file.getURL().toString();
+            return url.substring(url.lastIndexOf(CHANGELOG_DIRECTORY) + CHANGELOG_DIRECTORY.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package myapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import liquibase.Liquibase;
+import liquibase.exception.LiquibaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.liquibase.DataSourceClosingSpringLiquibase;
+
+/**
+ * Runs Liquibase only when the changelogs changed since the database was last migrated, or only verifies that they
+ * did not.
+ * <p>
+ * The changelogs are identified by the {@link ChangelogChecksum} of their files, combined with the contexts and labels:
+ * reading it is much faster than parsing the changelogs, which Liquibase does even when there is nothing to apply.
+ * After an update, the last row of the {@code DATABASECHANGELOG} table is tagged with it; a later start finding that
+ * tag skips Liquibase, lock included. When only verifying, a start not finding it fails: the database must first be
+ * migrated by the {@code migrate} profile.
+ */
+class ChangelogChecksumSpringLiquibase extends DataSourceClosingSpringLiquibase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangelogChecksumSpringLiquibase.class);
+
+    private final boolean verifyOnly;
+
+    private String checksum;
+
+    ChangelogChecksumSpringLiquibase(boolean verifyOnly) {
+        this.verifyOnly = verifyOnly;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (shouldRun) {
+            checksum = ChangelogChecksum.sha256(
+                ChangelogChecksum.load(resourceLoader),
+                Objects.toString(contexts, ""),
+                Objects.toString(labelFilter, "")
+            );
+            if (isTagged(checksum)) {
+                LOG.info("Skipping Liquibase: the database is tagged with the changelog checksum {}", checksum);
+                setShouldRun(false);
+            } else if (verifyOnly) {
+                throw new LiquibaseException(
+                    "The database is not tagged with the changelog checksum " + checksum + ": migrate it with the migrate profile first"
+                );
+            }
+        }
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected void performUpdate(Liquibase liquibase) throws LiquibaseException {
+        super.performUpdate(liquibase);
+        liquibase.tag(checksum);
+        LOG.info("Tagged the database with the changelog checksum {}", checksum);
+    }
+
+    private boolean isTagged(String tag) throws LiquibaseException {
+        try (Connection connection = getDataSource().getConnection(); Liquibase liquibase = createLiquibase(connection)) {
+            return liquibase.tagExists(tag);
+        } catch (SQLException e) {
+            throw new LiquibaseException(e);
+        }
+    }
+}
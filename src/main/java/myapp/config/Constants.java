@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Spring profile applying the Liquibase changelogs, then exiting
+    public static final String SPRING_PROFILE_MIGRATE = "migrate";
+
     private Constants() {}
 }
@@ -1,8 +1,10 @@
 package myapp.config;
 
 import java.sql.SQLException;
+import org.hibernate.cfg.AvailableSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -27,6 +29,11 @@ public class DatabaseConfiguration {
         this.env = env;
     }
 
+    @Bean
+    public HibernatePropertiesCustomizer versionedReferenceHibernatePropertiesCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.INTERCEPTOR, new VersionedReferenceInterceptor());
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
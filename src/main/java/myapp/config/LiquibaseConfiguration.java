@@ -9,6 +9,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.DataSourceClosingSpringLiquibase;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +32,9 @@ public class LiquibaseConfiguration {
     @Value("${application.liquibase.async-start:true}")
     private Boolean asyncStart;
 
+    @Value("${application.liquibase.mode:update}")
+    private ApplicationProperties.Liquibase.Mode mode;
+
     @Bean
     public SpringLiquibase liquibase(
         @Qualifier("taskExecutor") Executor executor,
@@ -40,7 +44,21 @@ public class LiquibaseConfiguration {
         DataSourceProperties dataSourceProperties
     ) {
         SpringLiquibase liquibase;
-        if (Boolean.TRUE.equals(asyncStart)) {
+        if (mode != ApplicationProperties.Liquibase.Mode.UPDATE) {
+            // synchronous, so that the database is only tagged with the changelog checksum once migrated
+            SpringLiquibase dataSourceLiquibase = SpringLiquibaseUtil.createSpringLiquibase(
+                liquibaseDataSource.getIfAvailable(),
+                liquibaseProperties,
+                dataSource.getIfUnique(),
+                dataSourceProperties
+            );
+            ChangelogChecksumSpringLiquibase checksumLiquibase = new ChangelogChecksumSpringLiquibase(
+                mode == ApplicationProperties.Liquibase.Mode.VERIFY
+            );
+            checksumLiquibase.setDataSource(dataSourceLiquibase.getDataSource());
+            checksumLiquibase.setCloseDataSourceOnceMigrated(dataSourceLiquibase instanceof DataSourceClosingSpringLiquibase);
+            liquibase = checksumLiquibase;
+        } else if (Boolean.TRUE.equals(asyncStart)) {
             liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
                 this.env,
                 executor,
@@ -0,0 +1,59 @@
+package myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import myapp.management.CollectionFetchEventListener;
+import myapp.management.JdbcTimingSessionEventListener;
+import myapp.management.QueryBudgetGuard;
+import myapp.management.SqlStatementInspector;
+import myapp.web.filter.RequestMetricsFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL and latency instrumentation of the REST API, and the query budget (N+1) check built on it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.request-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestMetricsHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionEventListener.class.getName());
+            hibernateProperties.put(
+                JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new CollectionFetchEventListener.RegisteringIntegrator())
+            );
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.query-budget", name = "enabled", havingValue = "true")
+    public QueryBudgetGuard queryBudgetGuard(ApplicationProperties properties) {
+        return new QueryBudgetGuard(properties.getQueryBudget());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+        MeterRegistry registry,
+        ApplicationProperties properties,
+        ObjectProvider<QueryBudgetGuard> queryBudgetGuard
+    ) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+            new RequestMetricsFilter(registry, properties.getRequestMetrics(), queryBudgetGuard.getIfAvailable())
+        );
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,48 @@
+package myapp.config;
+
+import myapp.management.RequestStatistics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs the asynchronous requests of Spring MVC, such as the lists streamed by the REST controllers, on a bounded pool of
+ * {@code application.streaming.threads} threads: a streamed list holds its thread and a database connection until the
+ * client has read it, so the lists beyond the pool size wait in its queue rather than exhaust the connection pool. The
+ * {@link RequestStatistics} of the request are carried over to the pool thread, so that the SQL of the list counts
+ * towards its metrics and query budget.
+ * <p>
+ * The pool is not a bean: an {@link java.util.concurrent.Executor} bean would replace the {@code taskExecutor} that
+ * Spring Boot creates when {@link AsyncConfiguration} is not active.
+ */
+@Configuration
+public class StreamingConfiguration implements WebMvcConfigurer, DisposableBean {
+
+    private final ApplicationProperties applicationProperties;
+
+    private ThreadPoolTaskExecutor streamingTaskExecutor;
+
+    public StreamingConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        streamingTaskExecutor = new ThreadPoolTaskExecutor();
+        streamingTaskExecutor.setCorePoolSize(applicationProperties.getStreaming().getThreads());
+        streamingTaskExecutor.setMaxPoolSize(applicationProperties.getStreaming().getThreads());
+        streamingTaskExecutor.setThreadNamePrefix("sample-app-streaming-");
+        streamingTaskExecutor.setTaskDecorator(RequestStatistics::propagate);
+        streamingTaskExecutor.initialize();
+        configurer.setTaskExecutor(streamingTaskExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        if (streamingTaskExecutor != null) {
+            streamingTaskExecutor.shutdown();
+        }
+    }
+}
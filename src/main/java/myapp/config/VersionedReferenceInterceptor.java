@@ -0,0 +1,22 @@
+package myapp.config;
+
+import myapp.domain.Versioned;
+import org.hibernate.Interceptor;
+
+/**
+ * Lets request bodies refer to a versioned entity by its id alone, e.g. {@code "customer": { "id": 1 }}.
+ * <p>
+ * Hibernate takes an instance with an id but no version for a new entity with an id already assigned, and rejects it
+ * as the target of an association. Such an instance is a reference to an existing row: the version only matters when
+ * the entity itself is written, which the services do with an expected version.
+ */
+public class VersionedReferenceInterceptor implements Interceptor {
+
+    @Override
+    public Boolean isTransient(Object entity) {
+        if (entity instanceof Versioned versioned && versioned.getId() != null && versioned.getVersion() == null) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+}
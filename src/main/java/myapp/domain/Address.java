@@ -1,5 +1,6 @@
 package myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -46,6 +47,14 @@ public class Address implements Serializable {
     @Column(name = "country", length = 2, nullable = false)
     private String country;
 
+    /**
+     * The key shared by the spellings of this address, set by {@link myapp.service.AddressService}.
+     */
+    @JsonIgnore
+    @Size(max = 300)
+    @Column(name = "normalized_key", length = 300)
+    private String normalizedKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "wishLists", "addresses", "orders" }, allowSetters = true)
     private Customer customer;
@@ -130,6 +139,19 @@ public class Address implements Serializable {
         this.country = country;
     }
 
+    public String getNormalizedKey() {
+        return this.normalizedKey;
+    }
+
+    public Address normalizedKey(String normalizedKey) {
+        this.setNormalizedKey(normalizedKey);
+        return this;
+    }
+
+    public void setNormalizedKey(String normalizedKey) {
+        this.normalizedKey = normalizedKey;
+    }
+
     public Customer getCustomer() {
         return this.customer;
     }
@@ -15,7 +15,7 @@ import myapp.domain.enumeration.CategoryStatus;
 @Entity
 @Table(name = "category")
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Category implements Serializable {
+public class Category implements Serializable, Versioned {
 
     private static final long serialVersionUID = 1L;
 
@@ -25,6 +25,10 @@ public class Category implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Size(min = 5, max = 100)
     @Column(name = "description", length = 100, nullable = false)
@@ -56,7 +60,7 @@ public class Category implements Serializable {
         joinColumns = @JoinColumn(name = "category_id"),
         inverseJoinColumns = @JoinColumn(name = "product_id")
     )
-    @JsonIgnoreProperties(value = { "wishList", "order", "categories" }, allowSetters = true)
+    @JsonIgnoreProperties(value = { "wishLists", "order", "categories" }, allowSetters = true)
     private Set<Product> products = new HashSet<>();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -74,6 +78,19 @@ public class Category implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Category version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return this.description;
     }
@@ -199,6 +216,7 @@ public class Category implements Serializable {
     public String toString() {
         return "Category{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", description='" + getDescription() + "'" +
             ", sortOrder=" + getSortOrder() +
             ", dateAdded='" + getDateAdded() + "'" +
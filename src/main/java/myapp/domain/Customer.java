@@ -13,7 +13,7 @@ import java.util.Set;
 @Entity
 @Table(name = "customer")
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Customer implements Serializable {
+public class Customer implements Serializable, Versioned {
 
     private static final long serialVersionUID = 1L;
 
@@ -23,6 +23,10 @@ public class Customer implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Size(min = 2, max = 50)
     @Column(name = "first_name", length = 50, nullable = false)
@@ -70,6 +74,19 @@ public class Customer implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Customer version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getFirstName() {
         return this.firstName;
     }
@@ -239,6 +256,7 @@ public class Customer implements Serializable {
     public String toString() {
         return "Customer{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", firstName='" + getFirstName() + "'" +
             ", lastName='" + getLastName() + "'" +
             ", email='" + getEmail() + "'" +
@@ -0,0 +1,210 @@
+package myapp.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The response to a request sent with an {@code Idempotency-Key} header, replayed to the retries of the request.
+ * <p>
+ * A key is unique per scope (the kind of request) and owner (the user who sent it).
+ */
+@Entity
+@Table(name = "idempotency_key")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IdempotencyKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "scope", length = 50, nullable = false, updatable = false)
+    private String scope;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "owner", length = 50, nullable = false, updatable = false)
+    private String owner;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "idempotency_key", nullable = false, updatable = false)
+    private String idempotencyKey;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "request_hash", length = 64, nullable = false, updatable = false)
+    private String requestHash;
+
+    @NotNull
+    @Column(name = "response_status", nullable = false, updatable = false)
+    private Integer responseStatus;
+
+    @Column(name = "response_location", updatable = false)
+    private String responseLocation;
+
+    @Column(name = "response_body", updatable = false)
+    private String responseBody;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private Instant createdDate;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public IdempotencyKey id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getScope() {
+        return this.scope;
+    }
+
+    public IdempotencyKey scope(String scope) {
+        this.setScope(scope);
+        return this;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public IdempotencyKey owner(String owner) {
+        this.setOwner(owner);
+        return this;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getIdempotencyKey() {
+        return this.idempotencyKey;
+    }
+
+    public IdempotencyKey idempotencyKey(String idempotencyKey) {
+        this.setIdempotencyKey(idempotencyKey);
+        return this;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return this.requestHash;
+    }
+
+    public IdempotencyKey requestHash(String requestHash) {
+        this.setRequestHash(requestHash);
+        return this;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getResponseStatus() {
+        return this.responseStatus;
+    }
+
+    public IdempotencyKey responseStatus(Integer responseStatus) {
+        this.setResponseStatus(responseStatus);
+        return this;
+    }
+
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
+    public String getResponseLocation() {
+        return this.responseLocation;
+    }
+
+    public IdempotencyKey responseLocation(String responseLocation) {
+        this.setResponseLocation(responseLocation);
+        return this;
+    }
+
+    public void setResponseLocation(String responseLocation) {
+        this.responseLocation = responseLocation;
+    }
+
+    public String getResponseBody() {
+        return this.responseBody;
+    }
+
+    public IdempotencyKey responseBody(String responseBody) {
+        this.setResponseBody(responseBody);
+        return this;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public IdempotencyKey createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyKey)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((IdempotencyKey) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IdempotencyKey{" +
+            "id=" + getId() +
+            ", scope='" + getScope() + "'" +
+            ", owner='" + getOwner() + "'" +
+            ", idempotencyKey='" + getIdempotencyKey() + "'" +
+            ", responseStatus=" + getResponseStatus() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
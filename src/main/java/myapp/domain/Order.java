@@ -8,6 +8,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
+import myapp.domain.enumeration.OrderStatus;
 
 /**
  * A Order.
@@ -15,7 +16,7 @@ import java.util.Set;
 @Entity
 @Table(name = "jhi_order")
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Order implements Serializable {
+public class Order implements Serializable, Versioned {
 
     private static final long serialVersionUID = 1L;
 
@@ -25,6 +26,10 @@ public class Order implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "order_date", nullable = false)
     private Instant orderDate;
@@ -33,9 +38,9 @@ public class Order implements Serializable {
     private Instant shippedDate;
 
     @NotNull
-    @Size(min = 3)
+    @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
-    private String status;
+    private OrderStatus status;
 
     @NotNull
     @DecimalMin(value = "0")
@@ -51,7 +56,7 @@ public class Order implements Serializable {
     private String trackingNumber;
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "order")
-    @JsonIgnoreProperties(value = { "wishList", "order", "categories" }, allowSetters = true)
+    @JsonIgnoreProperties(value = { "wishLists", "order", "categories" }, allowSetters = true)
     private Set<Product> products = new HashSet<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -77,6 +82,19 @@ public class Order implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Order version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Instant getOrderDate() {
         return this.orderDate;
     }
@@ -103,16 +121,16 @@ public class Order implements Serializable {
         this.shippedDate = shippedDate;
     }
 
-    public String getStatus() {
+    public OrderStatus getStatus() {
         return this.status;
     }
 
-    public Order status(String status) {
+    public Order status(OrderStatus status) {
         this.setStatus(status);
         return this;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(OrderStatus status) {
         this.status = status;
     }
 
@@ -236,6 +254,7 @@ public class Order implements Serializable {
     public String toString() {
         return "Order{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", orderDate='" + getOrderDate() + "'" +
             ", shippedDate='" + getShippedDate() + "'" +
             ", status='" + getStatus() + "'" +
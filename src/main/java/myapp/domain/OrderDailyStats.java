@@ -0,0 +1,161 @@
+package myapp.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import myapp.domain.enumeration.OrderStatus;
+
+/**
+ * The totals of the {@link Order}s of a closed day (in UTC) in a status.
+ * <p>
+ * A day is rolled up once it is closed, with a row for each status, and the rows are then kept up to date as the orders
+ * of that day change.
+ */
+@Entity
+@Table(name = "order_daily_stats")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrderDailyStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "order_day", nullable = false, updatable = false)
+    private LocalDate orderDay;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false, updatable = false)
+    private OrderStatus status;
+
+    @NotNull
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @NotNull
+    @Column(name = "total_amount", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @NotNull
+    @Column(name = "shipping_cost", precision = 21, scale = 2, nullable = false)
+    private BigDecimal shippingCost;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OrderDailyStats id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getOrderDay() {
+        return this.orderDay;
+    }
+
+    public OrderDailyStats orderDay(LocalDate orderDay) {
+        this.setOrderDay(orderDay);
+        return this;
+    }
+
+    public void setOrderDay(LocalDate orderDay) {
+        this.orderDay = orderDay;
+    }
+
+    public OrderStatus getStatus() {
+        return this.status;
+    }
+
+    public OrderDailyStats status(OrderStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public Long getOrderCount() {
+        return this.orderCount;
+    }
+
+    public OrderDailyStats orderCount(Long orderCount) {
+        this.setOrderCount(orderCount);
+        return this;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return this.totalAmount;
+    }
+
+    public OrderDailyStats totalAmount(BigDecimal totalAmount) {
+        this.setTotalAmount(totalAmount);
+        return this;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getShippingCost() {
+        return this.shippingCost;
+    }
+
+    public OrderDailyStats shippingCost(BigDecimal shippingCost) {
+        this.setShippingCost(shippingCost);
+        return this;
+    }
+
+    public void setShippingCost(BigDecimal shippingCost) {
+        this.shippingCost = shippingCost;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderDailyStats)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((OrderDailyStats) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderDailyStats{" +
+            "id=" + getId() +
+            ", orderDay='" + getOrderDay() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", orderCount=" + getOrderCount() +
+            ", totalAmount=" + getTotalAmount() +
+            ", shippingCost=" + getShippingCost() +
+            "}";
+    }
+}
@@ -0,0 +1,127 @@
+package myapp.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import myapp.domain.enumeration.OrderStatus;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * An {@link Order}, current or archived: a read-only view of the orders and of their archive.
+ */
+@Entity
+@Immutable
+@Table(name = "jhi_order_with_archive")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrderWithArchive implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "order_date")
+    private Instant orderDate;
+
+    @Column(name = "shipped_date")
+    private Instant shippedDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    @Column(name = "total_amount", precision = 21, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "shipping_cost", precision = 21, scale = 2)
+    private BigDecimal shippingCost;
+
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+
+    @Column(name = "shipping_address_id")
+    private Long shippingAddressId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "archived")
+    private Boolean archived;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Instant getOrderDate() {
+        return this.orderDate;
+    }
+
+    public Instant getShippedDate() {
+        return this.shippedDate;
+    }
+
+    public OrderStatus getStatus() {
+        return this.status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return this.totalAmount;
+    }
+
+    public BigDecimal getShippingCost() {
+        return this.shippingCost;
+    }
+
+    public String getTrackingNumber() {
+        return this.trackingNumber;
+    }
+
+    public Long getShippingAddressId() {
+        return this.shippingAddressId;
+    }
+
+    public Long getCustomerId() {
+        return this.customerId;
+    }
+
+    public Boolean getArchived() {
+        return this.archived;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderWithArchive)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((OrderWithArchive) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderWithArchive{" +
+            "id=" + getId() +
+            ", orderDate='" + getOrderDate() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", archived='" + getArchived() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,139 @@
+package myapp.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import myapp.domain.enumeration.PopularityRanking;
+
+/**
+ * A checkpointed counter of the top-K sketch of a {@link PopularityRanking}: the estimated count of a {@link Product},
+ * which overestimates the true count by at most {@code error}.
+ */
+@Entity
+@Table(name = "popularity_counter")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class PopularityCounter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ranking", length = 20, nullable = false, updatable = false)
+    private PopularityRanking ranking;
+
+    @NotNull
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(name = "estimate", nullable = false, updatable = false)
+    private Long estimate;
+
+    @NotNull
+    @Column(name = "error", nullable = false, updatable = false)
+    private Long error;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public PopularityCounter id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PopularityRanking getRanking() {
+        return this.ranking;
+    }
+
+    public PopularityCounter ranking(PopularityRanking ranking) {
+        this.setRanking(ranking);
+        return this;
+    }
+
+    public void setRanking(PopularityRanking ranking) {
+        this.ranking = ranking;
+    }
+
+    public Long getProductId() {
+        return this.productId;
+    }
+
+    public PopularityCounter productId(Long productId) {
+        this.setProductId(productId);
+        return this;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getEstimate() {
+        return this.estimate;
+    }
+
+    public PopularityCounter estimate(Long estimate) {
+        this.setEstimate(estimate);
+        return this;
+    }
+
+    public void setEstimate(Long estimate) {
+        this.estimate = estimate;
+    }
+
+    public Long getError() {
+        return this.error;
+    }
+
+    public PopularityCounter error(Long error) {
+        this.setError(error);
+        return this;
+    }
+
+    public void setError(Long error) {
+        this.error = error;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PopularityCounter)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((PopularityCounter) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PopularityCounter{" +
+            "id=" + getId() +
+            ", ranking='" + getRanking() + "'" +
+            ", productId=" + getProductId() +
+            ", estimate=" + getEstimate() +
+            ", error=" + getError() +
+            "}";
+    }
+}
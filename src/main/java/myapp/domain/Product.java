@@ -1,5 +1,6 @@
 package myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -16,7 +17,7 @@ import myapp.domain.enumeration.ProductStatus;
 @Entity
 @Table(name = "product")
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Product implements Serializable {
+public class Product implements Serializable, Versioned {
 
     private static final long serialVersionUID = 1L;
 
@@ -26,6 +27,10 @@ public class Product implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Size(min = 3, max = 100)
     @Column(name = "title", length = 100, nullable = false)
@@ -67,6 +72,29 @@ public class Product implements Serializable {
     @Column(name = "dimensions", length = 50)
     private String dimensions;
 
+    /**
+     * The longest side, in centimetres, parsed from {@link #dimensions} by {@link myapp.service.ProductService}: the
+     * sides are stored longest first, so that the product fits in a box when each of its sides is at most the
+     * corresponding side of the box.
+     */
+    @JsonIgnore
+    @Column(name = "dimension_length")
+    private Double dimensionLength;
+
+    /**
+     * The middle side, in centimetres.
+     */
+    @JsonIgnore
+    @Column(name = "dimension_width")
+    private Double dimensionWidth;
+
+    /**
+     * The shortest side, in centimetres.
+     */
+    @JsonIgnore
+    @Column(name = "dimension_height")
+    private Double dimensionHeight;
+
     @NotNull
     @Column(name = "date_added", nullable = false)
     private Instant dateAdded;
@@ -74,10 +102,6 @@ public class Product implements Serializable {
     @Column(name = "date_modified")
     private Instant dateModified;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JsonIgnoreProperties(value = { "products", "customer" }, allowSetters = true)
-    private WishList wishList;
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "products", "shippingAddress", "customer" }, allowSetters = true)
     private Order order;
@@ -86,6 +110,10 @@ public class Product implements Serializable {
     @JsonIgnoreProperties(value = { "parent", "products" }, allowSetters = true)
     private Set<Category> categories = new HashSet<>();
 
+    @ManyToMany(fetch = FetchType.LAZY, mappedBy = "products")
+    @JsonIgnoreProperties(value = { "products", "customer" }, allowSetters = true)
+    private Set<WishList> wishLists = new HashSet<>();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -101,6 +129,19 @@ public class Product implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Product version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return this.title;
     }
@@ -218,6 +259,45 @@ public class Product implements Serializable {
         this.dimensions = dimensions;
     }
 
+    public Double getDimensionLength() {
+        return this.dimensionLength;
+    }
+
+    public Product dimensionLength(Double dimensionLength) {
+        this.setDimensionLength(dimensionLength);
+        return this;
+    }
+
+    public void setDimensionLength(Double dimensionLength) {
+        this.dimensionLength = dimensionLength;
+    }
+
+    public Double getDimensionWidth() {
+        return this.dimensionWidth;
+    }
+
+    public Product dimensionWidth(Double dimensionWidth) {
+        this.setDimensionWidth(dimensionWidth);
+        return this;
+    }
+
+    public void setDimensionWidth(Double dimensionWidth) {
+        this.dimensionWidth = dimensionWidth;
+    }
+
+    public Double getDimensionHeight() {
+        return this.dimensionHeight;
+    }
+
+    public Product dimensionHeight(Double dimensionHeight) {
+        this.setDimensionHeight(dimensionHeight);
+        return this;
+    }
+
+    public void setDimensionHeight(Double dimensionHeight) {
+        this.dimensionHeight = dimensionHeight;
+    }
+
     public Instant getDateAdded() {
         return this.dateAdded;
     }
@@ -244,19 +324,6 @@ public class Product implements Serializable {
         this.dateModified = dateModified;
     }
 
-    public WishList getWishList() {
-        return this.wishList;
-    }
-
-    public void setWishList(WishList wishList) {
-        this.wishList = wishList;
-    }
-
-    public Product wishList(WishList wishList) {
-        this.setWishList(wishList);
-        return this;
-    }
-
     public Order getOrder() {
         return this.order;
     }
@@ -301,6 +368,37 @@ public class Product implements Serializable {
         return this;
     }
 
+    public Set<WishList> getWishLists() {
+        return this.wishLists;
+    }
+
+    public void setWishLists(Set<WishList> wishLists) {
+        if (this.wishLists != null) {
+            this.wishLists.forEach(i -> i.removeProduct(this));
+        }
+        if (wishLists != null) {
+            wishLists.forEach(i -> i.addProduct(this));
+        }
+        this.wishLists = wishLists;
+    }
+
+    public Product wishLists(Set<WishList> wishLists) {
+        this.setWishLists(wishLists);
+        return this;
+    }
+
+    public Product addWishList(WishList wishList) {
+        this.wishLists.add(wishList);
+        wishList.getProducts().add(this);
+        return this;
+    }
+
+    public Product removeWishList(WishList wishList) {
+        this.wishLists.remove(wishList);
+        wishList.getProducts().remove(this);
+        return this;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -325,6 +423,7 @@ public class Product implements Serializable {
     public String toString() {
         return "Product{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", title='" + getTitle() + "'" +
             ", keywords='" + getKeywords() + "'" +
             ", description='" + getDescription() + "'" +
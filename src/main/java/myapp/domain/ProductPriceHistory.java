@@ -0,0 +1,124 @@
+package myapp.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A price of a {@link Product}, in effect from {@code validFrom} until the next price of the same product.
+ * <p>
+ * The table is append-only: a row is added each time the price of a product changes.
+ */
+@Entity
+@Table(name = "product_price_history")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ProductPriceHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "price", precision = 21, scale = 2, nullable = false, updatable = false)
+    private BigDecimal price;
+
+    @NotNull
+    @Column(name = "valid_from", nullable = false, updatable = false)
+    private Instant validFrom;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false, updatable = false)
+    @JsonIgnoreProperties(value = { "wishLists", "order", "categories" }, allowSetters = true)
+    private Product product;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ProductPriceHistory id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getPrice() {
+        return this.price;
+    }
+
+    public ProductPriceHistory price(BigDecimal price) {
+        this.setPrice(price);
+        return this;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Instant getValidFrom() {
+        return this.validFrom;
+    }
+
+    public ProductPriceHistory validFrom(Instant validFrom) {
+        this.setValidFrom(validFrom);
+        return this;
+    }
+
+    public void setValidFrom(Instant validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public ProductPriceHistory product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductPriceHistory)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ProductPriceHistory) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductPriceHistory{" +
+            "id=" + getId() +
+            ", price=" + getPrice() +
+            ", validFrom='" + getValidFrom() + "'" +
+            "}";
+    }
+}
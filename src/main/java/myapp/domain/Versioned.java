@@ -0,0 +1,10 @@
+package myapp.domain;
+
+/**
+ * An entity under optimistic locking, with a {@link jakarta.persistence.Version} column.
+ */
+public interface Versioned {
+    Long getId();
+
+    Long getVersion();
+}
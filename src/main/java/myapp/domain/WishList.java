@@ -31,8 +31,13 @@ public class WishList implements Serializable {
     @Column(name = "restricted")
     private Boolean restricted;
 
-    @OneToMany(fetch = FetchType.LAZY, mappedBy = "wishList")
-    @JsonIgnoreProperties(value = { "wishList", "order", "categories" }, allowSetters = true)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "rel_wish_list__product",
+        joinColumns = @JoinColumn(name = "wish_list_id"),
+        inverseJoinColumns = @JoinColumn(name = "product_id")
+    )
+    @JsonIgnoreProperties(value = { "wishLists", "order", "categories" }, allowSetters = true)
     private Set<Product> products = new HashSet<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -85,12 +90,6 @@ public class WishList implements Serializable {
     }
 
     public void setProducts(Set<Product> products) {
-        if (this.products != null) {
-            this.products.forEach(i -> i.setWishList(null));
-        }
-        if (products != null) {
-            products.forEach(i -> i.setWishList(this));
-        }
         this.products = products;
     }
 
@@ -101,13 +100,11 @@ public class WishList implements Serializable {
 
     public WishList addProduct(Product product) {
         this.products.add(product);
-        product.setWishList(this);
         return this;
     }
 
     public WishList removeProduct(Product product) {
         this.products.remove(product);
-        product.setWishList(null);
         return this;
     }
 
@@ -0,0 +1,10 @@
+package myapp.domain.enumeration;
+
+/**
+ * The OutboxEventType enumeration.
+ */
+public enum OutboxEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
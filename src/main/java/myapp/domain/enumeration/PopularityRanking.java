@@ -0,0 +1,9 @@
+package myapp.domain.enumeration;
+
+/**
+ * The PopularityRanking enumeration.
+ */
+public enum PopularityRanking {
+    WISH,
+    SALES,
+}
@@ -0,0 +1,45 @@
+package myapp.management;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate listener counting lazy collection initializations per association role for the current
+ * {@link RequestStatistics}, which is what an N+1 pattern looks like from inside the session.
+ */
+public class CollectionFetchEventListener implements InitializeCollectionEventListener {
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null && event.getCollection() != null && event.getCollection().getRole() != null) {
+            statistics.onCollectionFetch(event.getCollection().getRole());
+        }
+    }
+
+    /**
+     * Appends the listener to the session factory event registry.
+     */
+    public static class RegisteringIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            sessionFactory
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.INIT_COLLECTION, new CollectionFetchEventListener());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            // Nothing to release
+        }
+    }
+}
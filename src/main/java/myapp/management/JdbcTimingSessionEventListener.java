@@ -0,0 +1,47 @@
+package myapp.management;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate {@link SessionEventListener} adding JDBC execution time to the current {@link RequestStatistics}.
+ * <p>
+ * Registered through {@code hibernate.session.events.auto}, so Hibernate creates one instance per session.
+ */
+public class JdbcTimingSessionEventListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        onStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        onEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        onStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        onEnd();
+    }
+
+    private static void onStart() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.onJdbcStart();
+        }
+    }
+
+    private static void onEnd() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.onJdbcEnd();
+        }
+    }
+}
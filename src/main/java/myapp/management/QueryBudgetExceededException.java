@@ -0,0 +1,13 @@
+package myapp.management;
+
+/**
+ * Thrown when a request issues more SQL than its query budget allows.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,97 @@
+package myapp.management;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the SQL work of a request against the configured query budget.
+ * <p>
+ * Two things are checked: the total number of statements, against a per-route budget falling back to a default, and
+ * the number of times a single lazy association was initialized, which flags N+1 loading of e.g.
+ * {@code Customer.orders} or {@code Order.products}. The per-route budgets are keyed by method and route template,
+ * e.g. {@code GET /api/products/{id}}, as a read and a write of the same route do different work.
+ * <p>
+ * Violations are logged and kept in {@link #getViolations()}, and raised as a {@link QueryBudgetExceededException} when
+ * {@code fail-on-violation} is set, as in the test profile. The check runs once the response is written: a client
+ * already has its response, but the exception still reaches the caller of {@code MockMvc.perform}, failing the
+ * integration test.
+ */
+public class QueryBudgetGuard {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryBudgetGuard.class);
+
+    private static final int MAX_RECORDED_VIOLATIONS = 100;
+
+    private final ApplicationProperties.QueryBudget properties;
+
+    private final Deque<String> violations = new ConcurrentLinkedDeque<>();
+
+    public QueryBudgetGuard(ApplicationProperties.QueryBudget properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Check the statistics of a finished request.
+     *
+     * @param method the HTTP method.
+     * @param route the matched route template.
+     * @param statistics the SQL statistics of the request.
+     * @throws QueryBudgetExceededException if the budget is exceeded and {@code fail-on-violation} is set.
+     */
+    public void check(String method, String route, RequestStatistics statistics) {
+        List<String> requestViolations = violations(method, route, statistics);
+        if (requestViolations.isEmpty()) {
+            return;
+        }
+        String message = "Query budget exceeded for " + method + " " + route + ": " + String.join("; ", requestViolations);
+        LOG.warn(message);
+        violations.addLast(message);
+        while (violations.size() > MAX_RECORDED_VIOLATIONS) {
+            violations.pollFirst();
+        }
+        if (properties.isFailOnViolation()) {
+            throw new QueryBudgetExceededException(message);
+        }
+    }
+
+    /**
+     * @return the messages of the last violations, oldest first.
+     */
+    public List<String> getViolations() {
+        return List.copyOf(violations);
+    }
+
+    public void clearViolations() {
+        violations.clear();
+    }
+
+    List<String> violations(String method, String route, RequestStatistics statistics) {
+        List<String> requestViolations = new ArrayList<>();
+        int maxStatements = properties.getEndpoints().getOrDefault(method + " " + route, properties.getMaxStatements());
+        if (statistics.getStatementCount() > maxStatements) {
+            requestViolations.add(
+                statistics.getStatementCount() + " statements (budget " + maxStatements + ") " + statistics.getStatementBreakdown()
+            );
+        }
+        for (Map.Entry<String, Integer> fetch : statistics.getCollectionFetches().entrySet()) {
+            if (fetch.getValue() > properties.getMaxCollectionFetches()) {
+                requestViolations.add(
+                    "association " +
+                    fetch.getKey() +
+                    " lazily initialized " +
+                    fetch.getValue() +
+                    " times (budget " +
+                    properties.getMaxCollectionFetches() +
+                    "), probable N+1"
+                );
+            }
+        }
+        return requestViolations;
+    }
+}
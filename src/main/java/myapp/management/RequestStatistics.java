@@ -0,0 +1,140 @@
+package myapp.management;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request accumulator of the SQL work done on behalf of a single HTTP request.
+ * <p>
+ * An instance is bound to the request thread by {@link myapp.web.filter.RequestMetricsFilter} and fed by
+ * {@link SqlStatementInspector} (statement counts), {@link JdbcTimingSessionEventListener} (JDBC time) and
+ * {@link CollectionFetchEventListener} (lazy collection initializations, by association role). An asynchronous request
+ * hands it over to the thread completing it with {@link #propagate(Runnable)}; it is only ever fed by one thread at a
+ * time.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern TABLE_PATTERN = Pattern.compile(
+        "^\\s*(?:select\\b.*?\\bfrom|insert\\s+into|update|delete\\s+from|merge\\s+into)\\s+([\\w.\"]+)",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+
+    private static final int MAX_DISTINCT_STATEMENTS = 64;
+
+    private final Map<String, Integer> statementBreakdown = new LinkedHashMap<>();
+
+    private final Map<String, Integer> collectionFetches = new LinkedHashMap<>();
+
+    private int statementCount;
+
+    private long jdbcNanos;
+
+    private long jdbcStartNanos = -1;
+
+    private RequestStatistics() {}
+
+    /**
+     * Bind a fresh accumulator to the current thread.
+     *
+     * @return the bound accumulator.
+     */
+    public static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return the accumulator bound to the current thread, or {@code null} outside of an instrumented request.
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wrap a task started by the current request, such as the writing of a streamed response, so that the SQL it issues
+     * on another thread counts towards the request.
+     *
+     * @param task the task.
+     * @return the task, run with the accumulator of the current thread bound, if any.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestStatistics statistics = current();
+        if (statistics == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(statistics);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    void onStatement(String sql) {
+        statementCount++;
+        String key = summarize(sql);
+        if (statementBreakdown.containsKey(key) || statementBreakdown.size() < MAX_DISTINCT_STATEMENTS) {
+            statementBreakdown.merge(key, 1, Integer::sum);
+        }
+    }
+
+    void onCollectionFetch(String role) {
+        collectionFetches.merge(role, 1, Integer::sum);
+    }
+
+    void onJdbcStart() {
+        jdbcStartNanos = System.nanoTime();
+    }
+
+    void onJdbcEnd() {
+        if (jdbcStartNanos >= 0) {
+            jdbcNanos += System.nanoTime() - jdbcStartNanos;
+            jdbcStartNanos = -1;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * @return statement counts keyed by "{@code <verb> <table>}", in first-seen order.
+     */
+    public Map<String, Integer> getStatementBreakdown() {
+        return statementBreakdown;
+    }
+
+    /**
+     * @return lazy collection initializations keyed by association role (e.g. {@code myapp.domain.Customer.orders}).
+     */
+    public Map<String, Integer> getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    static String summarize(String sql) {
+        if (sql == null || sql.isBlank()) {
+            return "unknown";
+        }
+        String trimmed = sql.stripLeading();
+        int space = trimmed.indexOf(' ');
+        String verb = (space > 0 ? trimmed.substring(0, space) : trimmed).toLowerCase(Locale.ROOT);
+        Matcher matcher = TABLE_PATTERN.matcher(trimmed);
+        return matcher.find() ? verb + " " + matcher.group(1).toLowerCase(Locale.ROOT) : verb;
+    }
+}
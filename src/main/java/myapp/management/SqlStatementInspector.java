@@ -0,0 +1,22 @@
+package myapp.management;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} counting the statements prepared for the current request.
+ * <p>
+ * The SQL is returned unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.onStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,66 @@
+package myapp.management;
+
+import java.util.Comparator;
+import java.util.List;
+import myapp.config.ApplicationProperties;
+import myapp.config.CRLFLogConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs how long the application took to be ready and its slowest startup steps, as buffered by the
+ * {@link BufferingApplicationStartup} of {@link myapp.SampleApp} and also served by the {@code startup} management
+ * endpoint.
+ * <p>
+ * The steps nest: {@code spring.context.refresh} includes the instantiation of every bean, and the instantiation of a
+ * bean includes the beans it depends on, such as {@code liquibase} for {@code entityManagerFactory}.
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupReport.class);
+
+    private final ApplicationStartup applicationStartup;
+
+    private final int reportSize;
+
+    public StartupReport(ApplicationStartup applicationStartup, ApplicationProperties applicationProperties) {
+        this.applicationStartup = applicationStartup;
+        this.reportSize = applicationProperties.getStartup().getReportSize();
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup bufferingApplicationStartup) || reportSize <= 0) {
+            return;
+        }
+        List<TimelineEvent> slowestSteps = bufferingApplicationStartup
+            .getBufferedTimeline()
+            .getEvents()
+            .stream()
+            .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+            .limit(reportSize)
+            .toList();
+        StringBuilder report = new StringBuilder();
+        slowestSteps.forEach(step -> report.append("\n\t").append(describe(step)));
+        LOG.info(CRLFLogConverter.CRLF_SAFE_MARKER, "Ready in {} ms, slowest startup steps:{}", event.getTimeTaken().toMillis(), report);
+    }
+
+    private static String describe(TimelineEvent event) {
+        StringBuilder description = new StringBuilder().append(event.getDuration().toMillis()).append(" ms ");
+        description.append(event.getStartupStep().getName());
+        for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            if (!"beanType".equals(tag.getKey())) {
+                description.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+            }
+        }
+        return description.toString();
+    }
+}
@@ -1,7 +1,13 @@
 package myapp.repository;
 
+import java.util.List;
+import java.util.Optional;
 import myapp.domain.Address;
+import myapp.service.dto.AddressDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,28 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {}
+public interface AddressRepository extends JpaRepository<Address, Long> {
+    @Query(
+        value = "select new myapp.service.dto.AddressDTO(address.id, address.address1, address.address2, address.city, address.postcode, " +
+        "address.country, address.customer.id) from Address address",
+        countQuery = "select count(address) from Address address"
+    )
+    Page<AddressDTO> findAllDTO(Pageable pageable);
+
+    @Query(
+        "select new myapp.service.dto.AddressDTO(address.id, address.address1, address.address2, address.city, address.postcode, " +
+        "address.country, address.customer.id) from Address address where address.customer.id = :customerId order by address.id"
+    )
+    List<AddressDTO> findAllDTOByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("select address from Address address where address.id = :id and address.customer.id = :customerId")
+    Optional<Address> findByIdAndCustomerId(@Param("id") Long id, @Param("customerId") Long customerId);
+
+    /**
+     * The first address of a customer with a normalized key, using the index on both.
+     */
+    Optional<Address> findFirstByCustomerIdAndNormalizedKeyOrderByIdAsc(Long customerId, String normalizedKey);
+
+    @Query("select address from Address address where address.normalizedKey is null order by address.id")
+    List<Address> findAllWithoutNormalizedKey(Pageable pageable);
+}
@@ -3,9 +3,12 @@ package myapp.repository;
 import java.util.List;
 import java.util.Optional;
 import myapp.domain.Category;
+import myapp.service.dto.CollectionStampDTO;
+import myapp.service.dto.ModificationStampDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,7 +18,8 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface CategoryRepository extends CategoryRepositoryWithBagRelationships, JpaRepository<Category, Long> {
+public interface CategoryRepository
+    extends CategoryRepositoryWithBagRelationships, JpaRepository<Category, Long>, PartialUpdateRepository<Category> {
     default Optional<Category> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
@@ -27,4 +31,16 @@ public interface CategoryRepository extends CategoryRepositoryWithBagRelationshi
     default Page<Category> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    @Query(
+        "select new myapp.service.dto.ModificationStampDTO(category.id, category.version, category.dateModified) from Category category " +
+        "where category.id = :id"
+    )
+    Optional<ModificationStampDTO> findModificationStampById(@Param("id") Long id);
+
+    @Query(
+        "select new myapp.service.dto.CollectionStampDTO(count(category), max(category.id), max(category.dateModified)) " +
+        "from Category category"
+    )
+    CollectionStampDTO findCollectionStamp();
 }
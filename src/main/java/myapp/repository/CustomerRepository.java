@@ -1,7 +1,9 @@
 package myapp.repository;
 
+import java.util.Optional;
 import myapp.domain.Customer;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +11,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {}
+public interface CustomerRepository extends JpaRepository<Customer, Long>, PartialUpdateRepository<Customer> {
+    @Query("select customer.version from Customer customer where customer.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
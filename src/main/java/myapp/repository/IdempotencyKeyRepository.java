@@ -0,0 +1,52 @@
+package myapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import myapp.domain.IdempotencyKey;
+import myapp.service.dto.IdempotentResponseDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the IdempotencyKey entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    @Query(
+        "select new myapp.service.dto.IdempotentResponseDTO(idempotencyKey.requestHash, idempotencyKey.responseStatus, " +
+        "idempotencyKey.responseLocation, idempotencyKey.responseBody, idempotencyKey.createdDate) from IdempotencyKey idempotencyKey " +
+        "where idempotencyKey.scope = :scope and idempotencyKey.owner = :owner and idempotencyKey.idempotencyKey = :key " +
+        "and idempotencyKey.createdDate > :expiredAt"
+    )
+    Optional<IdempotentResponseDTO> findResponse(
+        @Param("scope") String scope,
+        @Param("owner") String owner,
+        @Param("key") String key,
+        @Param("expiredAt") Instant expiredAt
+    );
+
+    /**
+     * Delete the key if it expired but was not swept yet, so that it can be inserted again.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "delete from IdempotencyKey idempotencyKey where idempotencyKey.scope = :scope and idempotencyKey.owner = :owner " +
+        "and idempotencyKey.idempotencyKey = :key and idempotencyKey.createdDate <= :expiredAt"
+    )
+    int deleteExpired(
+        @Param("scope") String scope,
+        @Param("owner") String owner,
+        @Param("key") String key,
+        @Param("expiredAt") Instant expiredAt
+    );
+
+    @Query(
+        "select idempotencyKey.id from IdempotencyKey idempotencyKey where idempotencyKey.createdDate < :before " +
+        "order by idempotencyKey.createdDate"
+    )
+    List<Long> findIdsCreatedBefore(@Param("before") Instant before, Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package myapp.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import myapp.domain.OrderDailyStats;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.service.dto.OrderStatsDTO;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OrderDailyStats entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderDailyStatsRepository extends JpaRepository<OrderDailyStats, Long>, OrderRollupLockRepository {
+    @Query(
+        "select new myapp.service.dto.OrderStatsDTO(orderDailyStats.orderDay, orderDailyStats.status, orderDailyStats.orderCount, " +
+        "orderDailyStats.totalAmount, orderDailyStats.shippingCost) from OrderDailyStats orderDailyStats " +
+        "where orderDailyStats.orderDay between :from and :to"
+    )
+    List<OrderStatsDTO> findAllBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select max(orderDailyStats.orderDay) from OrderDailyStats orderDailyStats")
+    Optional<LocalDate> findLastDay();
+
+    /**
+     * Add the totals of orders to a rolled up day. Nothing is changed if the day is not rolled up yet.
+     *
+     * @return the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "update OrderDailyStats orderDailyStats set orderDailyStats.orderCount = orderDailyStats.orderCount + :orderCount, " +
+        "orderDailyStats.totalAmount = orderDailyStats.totalAmount + :totalAmount, " +
+        "orderDailyStats.shippingCost = orderDailyStats.shippingCost + :shippingCost " +
+        "where orderDailyStats.orderDay = :day and orderDailyStats.status = :status"
+    )
+    int addToDay(
+        @Param("day") LocalDate day,
+        @Param("status") OrderStatus status,
+        @Param("orderCount") long orderCount,
+        @Param("totalAmount") BigDecimal totalAmount,
+        @Param("shippingCost") BigDecimal shippingCost
+    );
+}
@@ -0,0 +1,37 @@
+package myapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import myapp.domain.OrderItem;
+import myapp.service.dto.PopularProductDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OrderItem entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    @Modifying
+    @Query(
+        value = "insert into order_item_archive (id, quantity, unit_price, order_id, product_id) " +
+        "select id, quantity, unit_price, order_id, product_id from order_item where order_id in (:orderIds)",
+        nativeQuery = true
+    )
+    int copyToArchiveByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("select orderItem from OrderItem orderItem join fetch orderItem.product where orderItem.order.id = :orderId")
+    List<OrderItem> findAllWithProductByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * The products with the most units on the order items that are not archived, most first.
+     */
+    @Query(
+        "select new myapp.service.dto.PopularProductDTO(orderItem.product.id, sum(orderItem.quantity), 0L) from OrderItem orderItem " +
+        "where orderItem.product.id is not null group by orderItem.product.id order by sum(orderItem.quantity) desc, orderItem.product.id"
+    )
+    List<PopularProductDTO> findBestSellingProducts(Pageable pageable);
+}
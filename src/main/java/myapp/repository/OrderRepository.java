@@ -1,7 +1,19 @@
 package myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import myapp.domain.Order;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.service.dto.OrderDTO;
+import myapp.service.dto.OrderSummaryDTO;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +21,92 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+public interface OrderRepository extends JpaRepository<Order, Long>, PartialUpdateRepository<Order> {
+    /**
+     * The statuses of the orders still in progress, covered by the partial index {@code ix_jhi_order__active_status}.
+     */
+    String ACTIVE_STATUSES =
+        "(myapp.domain.enumeration.OrderStatus.PENDING, myapp.domain.enumeration.OrderStatus.PAID, " +
+        "myapp.domain.enumeration.OrderStatus.SHIPPED)";
+
+    /**
+     * Select a page of orders, read from the database as the stream is consumed: the stream must be consumed and closed
+     * within the transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddress.id, " +
+        "jhiOrder.customer.id) from Order jhiOrder"
+    )
+    Stream<OrderDTO> streamAllDTO(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddress.id, " +
+        "jhiOrder.customer.id) from Order jhiOrder where jhiOrder.status = :status"
+    )
+    Stream<OrderDTO> streamAllDTOByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    long countByStatus(OrderStatus status);
+
+    /**
+     * Same as {@link #streamAllDTOByStatus(OrderStatus, Pageable)} for an active status. The constant predicate on the
+     * active statuses lets the database use the partial index {@code ix_jhi_order__active_status}, even with a generic plan.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddress.id, " +
+        "jhiOrder.customer.id) from Order jhiOrder where jhiOrder.status = :status and jhiOrder.status in " + ACTIVE_STATUSES
+    )
+    Stream<OrderDTO> streamAllActiveDTOByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query("select count(jhiOrder) from Order jhiOrder where jhiOrder.status = :status and jhiOrder.status in " + ACTIVE_STATUSES)
+    long countActiveByStatus(@Param("status") OrderStatus status);
+
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddress.id, " +
+        "jhiOrder.customer.id) from Order jhiOrder where jhiOrder.id = :id"
+    )
+    Optional<OrderDTO> findDTOById(@Param("id") Long id);
+
+    @Query("select jhiOrder.version from Order jhiOrder where jhiOrder.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(
+        "select new myapp.service.dto.OrderSummaryDTO(jhiOrder.id, jhiOrder.orderDate, jhiOrder.shippedDate, jhiOrder.status, " +
+        "jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber) from Order jhiOrder " +
+        "where jhiOrder.customer.id = :customerId order by jhiOrder.orderDate desc, jhiOrder.id desc"
+    )
+    List<OrderSummaryDTO> findLatestSummaryByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    /**
+     * The orders shipped before an instant, and no longer referenced by a product, oldest shipped first.
+     */
+    @Query(
+        "select jhiOrder.id from Order jhiOrder where jhiOrder.shippedDate < :shippedBefore and jhiOrder.status in " +
+        "(myapp.domain.enumeration.OrderStatus.SHIPPED, myapp.domain.enumeration.OrderStatus.DELIVERED) and not exists " +
+        "(select product.id from Product product where product.order = jhiOrder) order by jhiOrder.shippedDate, jhiOrder.id"
+    )
+    List<Long> findIdsToArchive(@Param("shippedBefore") Instant shippedBefore, Pageable pageable);
+
+    @Modifying
+    @Query(
+        value = "insert into jhi_order_archive (id, version, order_date, shipped_date, status, total_amount, shipping_cost, " +
+        "tracking_number, shipping_address_id, customer_id, archived_date) select id, version, order_date, shipped_date, status, " +
+        "total_amount, shipping_cost, tracking_number, shipping_address_id, customer_id, :archivedDate from jhi_order where id in (:ids)",
+        nativeQuery = true
+    )
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedDate") Instant archivedDate);
+
+    @Modifying
+    @Query(value = "update jhi_order set shipping_address_id = :to where shipping_address_id = :from", nativeQuery = true)
+    int updateShippingAddress(@Param("from") Long from, @Param("to") Long to);
+
+    @Modifying
+    @Query(value = "update jhi_order_archive set shipping_address_id = :to where shipping_address_id = :from", nativeQuery = true)
+    int updateArchivedShippingAddress(@Param("from") Long from, @Param("to") Long to);
+}
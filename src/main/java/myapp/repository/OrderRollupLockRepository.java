@@ -0,0 +1,15 @@
+package myapp.repository;
+
+/**
+ * Locking of the orders while their closed days are rolled up into {@link myapp.domain.OrderDailyStats}.
+ */
+public interface OrderRollupLockRepository {
+    /**
+     * Wait for the transactions writing orders to end, and hold off new ones until the current transaction ends.
+     * <p>
+     * A day is aggregated from the orders before its rows exist: without the lock, a change committed in between would
+     * be neither in the aggregate nor added to the rows. On PostgreSQL this takes a {@code SHARE} lock on the order
+     * table, which conflicts with writes but not with reads; other databases are not locked.
+     */
+    void lockOrdersForRollup();
+}
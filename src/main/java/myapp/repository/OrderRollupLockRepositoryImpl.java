@@ -0,0 +1,24 @@
+package myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Dialect dependent implementation of {@link OrderRollupLockRepository}.
+ */
+public class OrderRollupLockRepositoryImpl implements OrderRollupLockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void lockOrdersForRollup() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialect instanceof PostgreSQLDialect) {
+            entityManager.createNativeQuery("lock table jhi_order in share mode").executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package myapp.repository;
+
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import myapp.domain.OrderWithArchive;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.service.dto.OrderDTO;
+import myapp.service.dto.OrderStatsDTO;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OrderWithArchive entity, the orders and the archived orders.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OrderWithArchiveRepository extends JpaRepository<OrderWithArchive, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddressId, " +
+        "jhiOrder.customerId) from OrderWithArchive jhiOrder"
+    )
+    Stream<OrderDTO> streamAllDTO(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddressId, " +
+        "jhiOrder.customerId) from OrderWithArchive jhiOrder where jhiOrder.status = :status"
+    )
+    Stream<OrderDTO> streamAllDTOByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    long countByStatus(OrderStatus status);
+
+    @Query(
+        "select new myapp.service.dto.OrderDTO(jhiOrder.id, jhiOrder.version, jhiOrder.orderDate, jhiOrder.shippedDate, " +
+        "jhiOrder.status, jhiOrder.totalAmount, jhiOrder.shippingCost, jhiOrder.trackingNumber, jhiOrder.shippingAddressId, " +
+        "jhiOrder.customerId) from OrderWithArchive jhiOrder where jhiOrder.id = :id"
+    )
+    Optional<OrderDTO> findDTOById(@Param("id") Long id);
+
+    @Query("select min(jhiOrder.orderDate) from OrderWithArchive jhiOrder")
+    Optional<Instant> findFirstOrderDate();
+
+    @Query(
+        "select new myapp.service.dto.OrderStatsDTO(cast(jhiOrder.orderDate as LocalDate), jhiOrder.status, count(jhiOrder), " +
+        "sum(jhiOrder.totalAmount), sum(coalesce(jhiOrder.shippingCost, 0))) from OrderWithArchive jhiOrder " +
+        "where jhiOrder.orderDate >= :from and jhiOrder.orderDate < :to " +
+        "group by cast(jhiOrder.orderDate as LocalDate), jhiOrder.status"
+    )
+    List<OrderStatsDTO> findStatsByDayAndStatus(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query(
+        "select new myapp.service.dto.OrderStatsDTO(jhiOrder.customerId, count(jhiOrder), sum(jhiOrder.totalAmount), " +
+        "sum(coalesce(jhiOrder.shippingCost, 0))) from OrderWithArchive jhiOrder " +
+        "where jhiOrder.orderDate >= :from and jhiOrder.orderDate < :to " +
+        "group by jhiOrder.customerId order by jhiOrder.customerId"
+    )
+    List<OrderStatsDTO> findStatsByCustomer(@Param("from") Instant from, @Param("to") Instant to);
+}
@@ -0,0 +1,35 @@
+package myapp.repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import myapp.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OutboxEvent entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Lock the next events: the events of the aggregates with the oldest pending events first, so that the oldest event
+     * is always in the batch, and the events of each aggregate in version order. A concurrent relay waits for the lock
+     * rather than skipping the locked events, so that the events of an aggregate are never published out of order.
+     * <p>
+     * The ids do not follow the commit order: they are allocated by blocks per instance, when the events are persisted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select outboxEvent from OutboxEvent outboxEvent order by (select min(pending.createdDate) from OutboxEvent pending " +
+        "where pending.aggregateType = outboxEvent.aggregateType and pending.aggregateId = outboxEvent.aggregateId), " +
+        "outboxEvent.aggregateType, outboxEvent.aggregateId, outboxEvent.aggregateVersion, outboxEvent.id"
+    )
+    List<OutboxEvent> findNextByAggregateAgeForUpdate(Pageable pageable);
+
+    @Query("select min(outboxEvent.createdDate) from OutboxEvent outboxEvent")
+    Optional<Instant> findOldestCreatedDate();
+}
@@ -0,0 +1,116 @@
+package myapp.repository;
+
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The attributes to change on one versioned entity, applied by {@link PartialUpdateRepository#partialUpdate(PartialUpdate)}
+ * or, on an entity already loaded, by {@link #applyTo(Object)}.
+ *
+ * @param <T> the entity type.
+ */
+public final class PartialUpdate<T> {
+
+    private final Class<T> entityClass;
+
+    private final Long id;
+
+    private final Long expectedVersion;
+
+    private final Map<SingularAttribute<? super T, ?>, Object> values = new LinkedHashMap<>();
+
+    private final Map<SingularAttribute<? super T, ?>, Object> expectedValues = new LinkedHashMap<>();
+
+    private PartialUpdate(Class<T> entityClass, Long id, Long expectedVersion) {
+        this.entityClass = entityClass;
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * @param entityClass the entity type.
+     * @param id the id of the entity to update.
+     * @param expectedVersion the version the client last read, or {@code null} to update whatever the current version is.
+     * @param <T> the entity type.
+     * @return an update without any change yet.
+     */
+    public static <T> PartialUpdate<T> of(Class<T> entityClass, Long id, Long expectedVersion) {
+        return new PartialUpdate<>(entityClass, id, expectedVersion);
+    }
+
+    /**
+     * Change an attribute.
+     */
+    public <Y> PartialUpdate<T> set(SingularAttribute<? super T, Y> attribute, Y value) {
+        values.put(attribute, value);
+        return this;
+    }
+
+    /**
+     * Change an attribute, unless the given value is {@code null}: in a partial update a {@code null} field is left as is.
+     */
+    public <Y> PartialUpdate<T> setIfPresent(SingularAttribute<? super T, Y> attribute, Y value) {
+        return value != null ? set(attribute, value) : this;
+    }
+
+    /**
+     * Only update the entity if an attribute still has the given value, as read by the caller ({@code null} included).
+     */
+    public <Y> PartialUpdate<T> expect(SingularAttribute<? super T, Y> attribute, Y value) {
+        expectedValues.put(attribute, value);
+        return this;
+    }
+
+    /**
+     * Validate the changed values against the constraints of their attributes.
+     *
+     * @param validator the validator.
+     * @return the constraint violations, empty if all changes are valid.
+     */
+    public Set<ConstraintViolation<T>> validate(Validator validator) {
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+        values.forEach((attribute, value) -> violations.addAll(validator.validateValue(entityClass, attribute.getName(), value)));
+        return violations;
+    }
+
+    /**
+     * Apply the changes to a managed entity, leaving the {@code UPDATE} to the flush (and to JDBC batching).
+     *
+     * @param entity the entity, whose version the caller has checked.
+     */
+    public void applyTo(T entity) {
+        values.forEach((attribute, value) -> {
+            Field field = (Field) attribute.getJavaMember();
+            ReflectionUtils.makeAccessible(field);
+            ReflectionUtils.setField(field, entity, value);
+        });
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public Map<SingularAttribute<? super T, ?>, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public Map<SingularAttribute<? super T, ?>, Object> getExpectedValues() {
+        return Collections.unmodifiableMap(expectedValues);
+    }
+}
@@ -0,0 +1,22 @@
+package myapp.repository;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment updating only the given columns of a versioned entity, in a single statement.
+ *
+ * @param <T> the entity type.
+ */
+public interface PartialUpdateRepository<T> {
+    /**
+     * Apply a partial update with one {@code UPDATE ... SET <changed columns>, version = version + 1 WHERE id = ?} statement,
+     * with {@code AND version = ?} appended when an expected version is given, and {@code AND <column> = ?} for each
+     * expected value. The changed values are validated first.
+     *
+     * @param update the changes to apply.
+     * @return the updated entity, read back after the update, or empty if there is no entity with this id.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the entity exists but its version or an expected value is not the expected one.
+     * @throws jakarta.validation.ConstraintViolationException if a changed value is not valid.
+     */
+    Optional<T> partialUpdate(PartialUpdate<T> update);
+}
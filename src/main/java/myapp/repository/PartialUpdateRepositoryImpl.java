@@ -0,0 +1,87 @@
+package myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Criteria based implementation of {@link PartialUpdateRepository}, shared by the repositories of versioned entities.
+ * <p>
+ * The update bypasses the persistence context: it is meant to run before the entity is loaded in the transaction, which
+ * is the case for the partial updates of the REST API.
+ */
+public class PartialUpdateRepositoryImpl<T> implements PartialUpdateRepository<T> {
+
+    private static final String ID_ATTRIBUTE = "id";
+    private static final String VERSION_ATTRIBUTE = "version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Validator validator;
+
+    public PartialUpdateRepositoryImpl(Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Optional<T> partialUpdate(PartialUpdate<T> update) {
+        validate(update);
+
+        Class<T> entityClass = update.getEntityClass();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> query = cb.createCriteriaUpdate(entityClass);
+        Root<T> root = query.from(entityClass);
+        update.getValues().forEach((attribute, value) -> query.set(attribute.getName(), value));
+        Path<Long> version = root.get(VERSION_ATTRIBUTE);
+        query.set(version, cb.sum(version, 1L));
+        List<Predicate> conditions = new ArrayList<>();
+        conditions.add(cb.equal(root.get(ID_ATTRIBUTE), update.getId()));
+        if (update.getExpectedVersion() != null) {
+            conditions.add(cb.equal(version, update.getExpectedVersion()));
+        }
+        update
+            .getExpectedValues()
+            .forEach((attribute, value) ->
+                conditions.add(value != null ? cb.equal(root.get(attribute.getName()), value) : cb.isNull(root.get(attribute.getName())))
+            );
+        query.where(conditions.toArray(Predicate[]::new));
+
+        if (entityManager.createQuery(query).executeUpdate() == 0) {
+            boolean conditional = update.getExpectedVersion() != null || !update.getExpectedValues().isEmpty();
+            if (conditional && exists(entityClass, update.getId())) {
+                throw new ObjectOptimisticLockingFailureException(entityClass, update.getId());
+            }
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityManager.find(entityClass, update.getId()));
+    }
+
+    private void validate(PartialUpdate<T> update) {
+        Set<ConstraintViolation<T>> violations = update.validate(validator);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    private boolean exists(Class<T> entityClass, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(cb.count(root)).where(cb.equal(root.get(ID_ATTRIBUTE), id));
+        return entityManager.createQuery(query).getSingleResult() > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package myapp.repository;
+
+import java.util.List;
+import myapp.domain.PopularityCounter;
+import myapp.domain.enumeration.PopularityRanking;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the PopularityCounter entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface PopularityCounterRepository extends JpaRepository<PopularityCounter, Long> {
+    List<PopularityCounter> findAllByRanking(PopularityRanking ranking);
+
+    @Modifying
+    @Query("delete from PopularityCounter popularityCounter where popularityCounter.ranking = :ranking")
+    int deleteAllByRanking(@Param("ranking") PopularityRanking ranking);
+}
@@ -0,0 +1,31 @@
+package myapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+import myapp.domain.ProductPriceHistory;
+import myapp.service.dto.PricePointDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ProductPriceHistory entity.
+ * <p>
+ * Both queries are range scans of the {@code (product_id, valid_from)} index.
+ */
+@Repository
+public interface ProductPriceHistoryRepository extends JpaRepository<ProductPriceHistory, Long> {
+    @Query(
+        "select new myapp.service.dto.PricePointDTO(history.price, history.validFrom) from ProductPriceHistory history " +
+        "where history.product.id = :productId and history.validFrom <= :at order by history.validFrom desc, history.id desc"
+    )
+    List<PricePointDTO> findLatestPricePoints(@Param("productId") Long productId, @Param("at") Instant at, Pageable pageable);
+
+    @Query(
+        "select new myapp.service.dto.PricePointDTO(history.price, history.validFrom) from ProductPriceHistory history " +
+        "where history.product.id = :productId and history.validFrom > :from and history.validFrom <= :to " +
+        "order by history.validFrom, history.id"
+    )
+    List<PricePointDTO> findPricePointsBetween(@Param("productId") Long productId, @Param("from") Instant from, @Param("to") Instant to);
+}
@@ -1,7 +1,21 @@
 package myapp.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import myapp.domain.Product;
+import myapp.service.dto.CollectionStampDTO;
+import myapp.service.dto.ModificationStampDTO;
+import myapp.service.dto.ProductDimensionsDTO;
+import myapp.service.dto.ProductDTO;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +23,86 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {}
+public interface ProductRepository extends JpaRepository<Product, Long>, PartialUpdateRepository<Product> {
+    /**
+     * Select a page of products, read from the database as the stream is consumed: the stream must be consumed and closed
+     * within the transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.ProductDTO(product.id, product.version, product.title, product.keywords, " +
+        "product.description, product.rating, product.price, product.quantityInStock, product.status, product.weight, " +
+        "product.dimensions, product.dateAdded, product.dateModified, product.order.id) from Product product"
+    )
+    Stream<ProductDTO> streamAllDTO(Pageable pageable);
+
+    /**
+     * Select a page of the products fitting the given sides, longest first, read from the database as the stream is
+     * consumed. The range on the longest side is answered by the index on the sides; the products whose dimensions could
+     * not be parsed have no sides and never match.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(
+        "select new myapp.service.dto.ProductDTO(product.id, product.version, product.title, product.keywords, " +
+        "product.description, product.rating, product.price, product.quantityInStock, product.status, product.weight, " +
+        "product.dimensions, product.dateAdded, product.dateModified, product.order.id) from Product product " +
+        "where product.dimensionLength <= :maxLength and product.dimensionWidth <= :maxWidth and product.dimensionHeight <= :maxHeight"
+    )
+    Stream<ProductDTO> streamAllDTOBySize(
+        @Param("maxLength") double maxLength,
+        @Param("maxWidth") double maxWidth,
+        @Param("maxHeight") double maxHeight,
+        Pageable pageable
+    );
+
+    @Query(
+        "select count(product) from Product product where product.dimensionLength <= :maxLength " +
+        "and product.dimensionWidth <= :maxWidth and product.dimensionHeight <= :maxHeight"
+    )
+    long countBySize(@Param("maxLength") double maxLength, @Param("maxWidth") double maxWidth, @Param("maxHeight") double maxHeight);
+
+    @Query(
+        "select new myapp.service.dto.ModificationStampDTO(product.id, product.version, product.dateModified) from Product product " +
+        "where product.id = :id"
+    )
+    Optional<ModificationStampDTO> findModificationStampById(@Param("id") Long id);
+
+    /**
+     * Load products and lock them for update. The rows are locked in id order, so that concurrent callers locking
+     * overlapping sets of products cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select product from Product product where product.id in :ids order by product.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select product.price from Product product where product.id = :id")
+    Optional<BigDecimal> findPriceById(@Param("id") Long id);
+
+    @Query(
+        "select new myapp.service.dto.CollectionStampDTO(count(product), max(product.id), max(product.dateModified)) from Product product"
+    )
+    CollectionStampDTO findCollectionStamp();
+
+    @Query(
+        "select new myapp.service.dto.ProductDimensionsDTO(product.id, product.dimensions) from Product product " +
+        "where product.id > :afterId and product.dimensions is not null and product.dimensionLength is null order by product.id"
+    )
+    List<ProductDimensionsDTO> findAllWithUnparsedDimensions(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Set the sides of a product, unless its dimensions changed since they were parsed. Neither the version nor the
+     * modification date change: the sides are derived from the dimensions and are not part of the representation.
+     */
+    @Modifying
+    @Query(
+        "update Product product set product.dimensionLength = :length, product.dimensionWidth = :width, " +
+        "product.dimensionHeight = :height where product.id = :id and product.dimensions = :dimensions"
+    )
+    int updateDimensionSides(
+        @Param("id") Long id,
+        @Param("dimensions") String dimensions,
+        @Param("length") double length,
+        @Param("width") double width,
+        @Param("height") double height
+    );
+}
@@ -1,12 +1,78 @@
 package myapp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import myapp.domain.WishList;
+import myapp.service.dto.PopularProductDTO;
+import myapp.service.dto.WishListDTO;
+import myapp.service.dto.WishListItemDTO;
+import myapp.service.dto.WishListSummaryDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Data JPA repository for the WishList entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface WishListRepository extends JpaRepository<WishList, Long> {}
+public interface WishListRepository extends JpaRepository<WishList, Long> {
+    @Query(
+        "select new myapp.service.dto.WishListDTO(wishList.id, wishList.title, wishList.restricted, wishList.customer.id) " +
+        "from WishList wishList"
+    )
+    List<WishListDTO> findAllDTO();
+
+    @Query(
+        "select new myapp.service.dto.WishListSummaryDTO(wishList.id, wishList.title, wishList.restricted, count(product.id)) " +
+        "from WishList wishList left join wishList.products product where wishList.customer.id = :customerId " +
+        "group by wishList.id, wishList.title, wishList.restricted order by wishList.id"
+    )
+    List<WishListSummaryDTO> findAllSummaryByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Add a product to a wish list with a single insert, without loading the products of the wish list.
+     *
+     * @return 1 if the product was added, 0 if it already was on the wish list or either of them does not exist.
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent transaction added the product
+     * first, which the {@code not exists} does not see.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        value = "insert into rel_wish_list__product (wish_list_id, product_id) select wish_list.id, product.id " +
+        "from wish_list wish_list, product product where wish_list.id = :id and product.id = :productId " +
+        "and not exists (select 1 from rel_wish_list__product rel where rel.wish_list_id = :id and rel.product_id = :productId)",
+        nativeQuery = true
+    )
+    int addProduct(@Param("id") Long id, @Param("productId") Long productId);
+
+    /**
+     * Remove a product from a wish list with a single delete, without loading the products of the wish list.
+     *
+     * @return 1 if the product was removed, 0 if it was not on the wish list.
+     */
+    @Modifying
+    @Query(value = "delete from rel_wish_list__product where wish_list_id = :id and product_id = :productId", nativeQuery = true)
+    int removeProduct(@Param("id") Long id, @Param("productId") Long productId);
+
+    @Query(
+        "select new myapp.service.dto.WishListItemDTO(wishList.id, product.id) from WishList wishList join wishList.products product " +
+        "where wishList.customer.id = :customerId and product.id in :productIds order by wishList.id"
+    )
+    List<WishListItemDTO> findAllItemsByCustomerIdAndProductIds(
+        @Param("customerId") Long customerId,
+        @Param("productIds") Collection<Long> productIds
+    );
+
+    /**
+     * The products on the most wish lists, most first.
+     */
+    @Query(
+        "select new myapp.service.dto.PopularProductDTO(product.id, count(wishList.id), 0L) from WishList wishList " +
+        "join wishList.products product group by product.id order by count(wishList.id) desc, product.id"
+    )
+    List<PopularProductDTO> findMostWishedProducts(Pageable pageable);
+}
@@ -0,0 +1,46 @@
+package myapp.service;
+
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets the normalized key of the {@link myapp.domain.Address}es without one, merging those whose customer already has an
+ * address with the key (see {@link AddressService#backfillNormalizedKeys(int)}).
+ * <p>
+ * This is scheduled to get fired every {@code application.address-normalization.backfill-interval}, starting
+ * {@code application.address-normalization.backfill-initial-delay} after startup. The addresses are updated
+ * {@code application.address-normalization.backfill-chunk-size} at a time, each chunk in its own transaction.
+ */
+@Component
+public class AddressKeyBackfillJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AddressKeyBackfillJob.class);
+
+    private final AddressService addressService;
+
+    private final int chunkSize;
+
+    public AddressKeyBackfillJob(AddressService addressService, ApplicationProperties applicationProperties) {
+        this.addressService = addressService;
+        this.chunkSize = applicationProperties.getAddressNormalization().getBackfillChunkSize();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.address-normalization.backfill-initial-delay:PT30S}",
+        fixedDelayString = "${application.address-normalization.backfill-interval:PT1H}"
+    )
+    public void backfillNormalizedKeys() {
+        int total = 0;
+        int addresses;
+        do {
+            addresses = addressService.backfillNormalizedKeys(chunkSize);
+            total += addresses;
+        } while (addresses == chunkSize);
+        if (total > 0) {
+            LOG.info("Set the normalized key of {} Addresses", total);
+        }
+    }
+}
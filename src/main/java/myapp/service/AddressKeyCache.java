@@ -0,0 +1,62 @@
+package myapp.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least recently used cache of the ids of the addresses of customers, by normalized key.
+ * <p>
+ * The service evicts an address when it is changed or deleted through this instance; a hit is checked against the
+ * stored address before use, which covers the addresses changed by another instance.
+ */
+final class AddressKeyCache {
+
+    private final int maxAddresses;
+
+    private final Map<Key, Long> ids;
+
+    private final Map<Long, Key> keys = new HashMap<>();
+
+    AddressKeyCache(int maxAddresses) {
+        this.maxAddresses = maxAddresses;
+        this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                if (size() <= AddressKeyCache.this.maxAddresses) {
+                    return false;
+                }
+                keys.remove(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return the id of the address of the customer with the key, or {@code null} if it is not cached.
+     */
+    synchronized Long get(Long customerId, String normalizedKey) {
+        return ids.get(new Key(customerId, normalizedKey));
+    }
+
+    synchronized void put(Long customerId, String normalizedKey, Long id) {
+        Key key = new Key(customerId, normalizedKey);
+        Key previousKey = keys.put(id, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            ids.remove(previousKey);
+        }
+        Long previousId = ids.put(key, id);
+        if (previousId != null && !previousId.equals(id)) {
+            keys.remove(previousId);
+        }
+    }
+
+    synchronized void evict(Long id) {
+        Key key = keys.remove(id);
+        if (key != null) {
+            ids.remove(key);
+        }
+    }
+
+    private record Key(Long customerId, String normalizedKey) {}
+}
@@ -0,0 +1,160 @@
+package myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.core.io.Resource;
+
+/**
+ * Canonical forms of addresses, following rules read from a JSON file: the postcode pattern and format of each
+ * country, and the abbreviations of the words compared in the deduplication keys.
+ * <p>
+ * The canonical form trims and collapses the whitespace of all fields, upper-cases the country and the postcode, and
+ * formats the postcode of a country with a rule. The key additionally lower-cases the fields, drops their punctuation
+ * and abbreviates their words, and drops the spaces and hyphens of the postcode, so that two spellings of the same
+ * address share it.
+ */
+final class AddressNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern KEY_PUNCTUATION = Pattern.compile("[.,;:#'\"()/-]");
+
+    private static final Pattern KEY_POSTCODE_SEPARATORS = Pattern.compile("[\\s-]");
+
+    private static final Pattern POSTCODE = Pattern.compile("[A-Z0-9 -]{1,10}");
+
+    private static final Set<String> COUNTRIES = Set.of(Locale.getISOCountries());
+
+    private final Map<String, String> abbreviations;
+
+    private final Map<String, PostcodeRule> postcodeRules = new HashMap<>();
+
+    AddressNormalizer(Rules rules) {
+        this.abbreviations = rules.abbreviations() != null ? Map.copyOf(rules.abbreviations()) : Map.of();
+        if (rules.countries() != null) {
+            rules
+                .countries()
+                .forEach((country, rule) ->
+                    postcodeRules.put(country, new PostcodeRule(Pattern.compile(rule.postcode()), rule.postcodeFormat()))
+                );
+        }
+    }
+
+    /**
+     * Read the rules from a JSON file.
+     *
+     * @param resource the file.
+     * @param objectMapper the mapper to read it with.
+     * @return the normalizer.
+     */
+    static AddressNormalizer load(Resource resource, ObjectMapper objectMapper) {
+        try (InputStream in = resource.getInputStream()) {
+            return new AddressNormalizer(objectMapper.readValue(in, Rules.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the address rules from " + resource, e);
+        }
+    }
+
+    /**
+     * @return the canonical form of the address; a postcode that does not match the rule of its country is kept as
+     * given, upper-cased.
+     */
+    Canonical canonicalize(String address1, String address2, String city, String postcode, String country) {
+        String canonicalCountry = collapse(country);
+        canonicalCountry = canonicalCountry != null ? canonicalCountry.toUpperCase(Locale.ROOT) : null;
+        String canonicalPostcode = collapse(postcode);
+        if (canonicalPostcode != null) {
+            canonicalPostcode = canonicalPostcode.toUpperCase(Locale.ROOT);
+            Matcher matcher = postcodeMatcher(canonicalCountry, canonicalPostcode);
+            if (matcher != null && matcher.matches()) {
+                canonicalPostcode = matcher.replaceFirst(postcodeRules.get(canonicalCountry).format());
+            }
+        }
+        return new Canonical(collapse(address1), collapse(address2), collapse(city), canonicalPostcode, canonicalCountry);
+    }
+
+    /**
+     * @param address the canonical form of an address.
+     * @throws InvalidAddressException if its first line, city or postcode is blank, its country is not an ISO 3166 code,
+     * or its postcode is not up to 10 letters, digits, spaces and hyphens matching the rule of the country.
+     */
+    void validate(Canonical address) {
+        if (address.address1() == null || address.city() == null || address.postcode() == null) {
+            throw new InvalidAddressException("The first line, city and postcode are required", "addressincomplete");
+        }
+        if (address.country() == null || !COUNTRIES.contains(address.country())) {
+            throw new InvalidAddressException("Unknown country " + address.country(), "countryinvalid");
+        }
+        Matcher matcher = postcodeMatcher(address.country(), address.postcode());
+        if (!POSTCODE.matcher(address.postcode()).matches() || (matcher != null && !matcher.matches())) {
+            throw new InvalidAddressException("Invalid postcode for " + address.country(), "postcodeinvalid");
+        }
+    }
+
+    /**
+     * @param address the canonical form of an address.
+     * @return the key shared by the spellings of the address.
+     */
+    String key(Canonical address) {
+        return String.join(
+            "|",
+            keyWords(address.address1()),
+            keyWords(address.address2()),
+            keyWords(address.city()),
+            address.postcode() != null ? KEY_POSTCODE_SEPARATORS.matcher(address.postcode()).replaceAll("").toLowerCase(Locale.ROOT) : "",
+            address.country() != null ? address.country().toLowerCase(Locale.ROOT) : ""
+        );
+    }
+
+    private Matcher postcodeMatcher(String country, String postcode) {
+        PostcodeRule rule = country != null ? postcodeRules.get(country) : null;
+        return rule != null ? rule.pattern().matcher(WHITESPACE.matcher(postcode).replaceAll("")) : null;
+    }
+
+    private String keyWords(String value) {
+        if (value == null) {
+            return "";
+        }
+        String words = KEY_PUNCTUATION.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return Arrays.stream(WHITESPACE.split(words))
+            .filter(word -> !word.isEmpty())
+            .map(word -> abbreviations.getOrDefault(word, word))
+            .collect(Collectors.joining(" "));
+    }
+
+    private static String collapse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String collapsed = WHITESPACE.matcher(value).replaceAll(" ").trim();
+        return collapsed.isEmpty() ? null : collapsed;
+    }
+
+    /**
+     * The rules file.
+     *
+     * @param abbreviations the abbreviation of each lower-case word.
+     * @param countries the rule of each country, by ISO 3166 code.
+     */
+    record Rules(Map<String, String> abbreviations, Map<String, CountryRule> countries) {}
+
+    /**
+     * @param postcode the pattern of the postcodes of the country, without whitespace.
+     * @param postcodeFormat the replacement formatting a matching postcode, referencing the groups of the pattern.
+     */
+    record CountryRule(String postcode, String postcodeFormat) {}
+
+    record Canonical(String address1, String address2, String city, String postcode, String country) {}
+
+    private record PostcodeRule(Pattern pattern, String format) {}
+}
@@ -0,0 +1,206 @@
+package myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Optional;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Address;
+import myapp.repository.AddressRepository;
+import myapp.repository.CustomerRepository;
+import myapp.repository.OrderRepository;
+import myapp.service.dto.CheckoutDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for normalizing and deduplicating {@link myapp.domain.Address}.
+ * <p>
+ * The addresses are put in canonical form and checked with the rules of {@code application.address-normalization.rules}
+ * (see {@link AddressNormalizer}) before they are saved, and carry the normalized key shared by the spellings of the
+ * same address. A checkout to an address given inline reuses the address of the customer with the same key, found
+ * through the unique index on the customer and the key, and remembered in a bounded cache.
+ */
+@Service
+@Transactional
+public class AddressService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AddressService.class);
+
+    private final AddressRepository addressRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    private final AddressNormalizer normalizer;
+
+    private final AddressKeyCache addressKeyCache;
+
+    public AddressService(
+        AddressRepository addressRepository,
+        CustomerRepository customerRepository,
+        OrderRepository orderRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        ResourceLoader resourceLoader,
+        ObjectMapper objectMapper
+    ) {
+        this.addressRepository = addressRepository;
+        this.customerRepository = customerRepository;
+        this.orderRepository = orderRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ApplicationProperties.AddressNormalization properties = applicationProperties.getAddressNormalization();
+        this.normalizer = AddressNormalizer.load(resourceLoader.getResource(properties.getRules()), objectMapper);
+        this.addressKeyCache = new AddressKeyCache(properties.getCacheSize());
+    }
+
+    /**
+     * Put an address in canonical form and set its normalized key, before it is saved.
+     *
+     * @param address the address to normalize.
+     * @return the address.
+     * @throws InvalidAddressException if the address does not pass the rules of its country.
+     */
+    public Address normalize(Address address) {
+        AddressNormalizer.Canonical canonical = canonicalize(address);
+        normalizer.validate(canonical);
+        if (address.getId() != null) {
+            addressKeyCache.evict(address.getId());
+        }
+        return address
+            .address1(canonical.address1())
+            .address2(canonical.address2())
+            .city(canonical.city())
+            .postcode(canonical.postcode())
+            .country(canonical.country())
+            .normalizedKey(normalizer.key(canonical));
+    }
+
+    /**
+     * Get the address of a customer with the same normalized key as the given one, or save it as a new address.
+     * <p>
+     * The new address is inserted in a transaction of its own, committed even if the checkout then fails. The key is
+     * unique for a customer, so of two concurrent checkouts with the same new address, one inserts it and the other
+     * gets a unique violation, which leaves its own transaction usable: it then reads the address the first inserted.
+     *
+     * @param customerId the id of the customer.
+     * @param shippingAddress the address, as entered.
+     * @return the address, or empty if the customer is not found.
+     * @throws InvalidAddressException if the address does not pass the rules of its country.
+     */
+    public Optional<Address> findOrCreate(Long customerId, CheckoutDTO.ShippingAddress shippingAddress) {
+        LOG.debug("Request to find or create the Address of Customer {} : {}", customerId, shippingAddress);
+        AddressNormalizer.Canonical canonical = normalizer.canonicalize(
+            shippingAddress.address1(),
+            shippingAddress.address2(),
+            shippingAddress.city(),
+            shippingAddress.postcode(),
+            shippingAddress.country()
+        );
+        normalizer.validate(canonical);
+        String normalizedKey = normalizer.key(canonical);
+
+        Long cachedId = addressKeyCache.get(customerId, normalizedKey);
+        if (cachedId != null) {
+            Optional<Address> cached = addressRepository
+                .findByIdAndCustomerId(cachedId, customerId)
+                .filter(address -> normalizedKey.equals(address.getNormalizedKey()));
+            if (cached.isPresent()) {
+                return cached;
+            }
+            addressKeyCache.evict(cachedId);
+        }
+        Optional<Address> existing = addressRepository.findFirstByCustomerIdAndNormalizedKeyOrderByIdAsc(customerId, normalizedKey);
+        if (existing.isPresent()) {
+            addressKeyCache.put(customerId, normalizedKey, existing.orElseThrow().getId());
+            return existing;
+        }
+        if (!customerRepository.existsById(customerId)) {
+            return Optional.empty();
+        }
+        Long id;
+        try {
+            id = newTransaction.execute(status ->
+                addressRepository
+                    .saveAndFlush(
+                        new Address()
+                            .address1(canonical.address1())
+                            .address2(canonical.address2())
+                            .city(canonical.city())
+                            .postcode(canonical.postcode())
+                            .country(canonical.country())
+                            .normalizedKey(normalizedKey)
+                            .customer(customerRepository.getReferenceById(customerId))
+                    )
+                    .getId()
+            );
+        } catch (DataIntegrityViolationException e) {
+            LOG.debug("Address of Customer {} inserted concurrently", customerId);
+            id = addressRepository
+                .findFirstByCustomerIdAndNormalizedKeyOrderByIdAsc(customerId, normalizedKey)
+                .orElseThrow(() -> e)
+                .getId();
+        }
+        addressKeyCache.put(customerId, normalizedKey, id);
+        return addressRepository.findById(id);
+    }
+
+    /**
+     * Forget the cached key of an address that is deleted.
+     *
+     * @param id the id of the address.
+     */
+    public void evict(Long id) {
+        addressKeyCache.evict(id);
+    }
+
+    /**
+     * Set the normalized key of a chunk of the addresses without one, such as those written before the keys existed.
+     * Their fields are left as they are, even where they do not pass the rules. An address whose customer already has
+     * an address with its key is merged into it: its orders, archived or not, ship to the other address, and it is
+     * deleted.
+     *
+     * @param chunkSize the maximum number of addresses to update.
+     * @return the number of addresses updated.
+     */
+    public int backfillNormalizedKeys(int chunkSize) {
+        List<Address> addresses = addressRepository.findAllWithoutNormalizedKey(PageRequest.of(0, chunkSize));
+        for (Address address : addresses) {
+            String normalizedKey = normalizer.key(canonicalize(address));
+            Optional<Address> same = address.getCustomer() != null
+                ? addressRepository.findFirstByCustomerIdAndNormalizedKeyOrderByIdAsc(address.getCustomer().getId(), normalizedKey)
+                : Optional.empty();
+            if (same.isPresent()) {
+                Long id = same.orElseThrow().getId();
+                orderRepository.updateShippingAddress(address.getId(), id);
+                orderRepository.updateArchivedShippingAddress(address.getId(), id);
+                addressRepository.delete(address);
+                addressKeyCache.evict(address.getId());
+            } else {
+                address.setNormalizedKey(normalizedKey);
+            }
+        }
+        return addresses.size();
+    }
+
+    private AddressNormalizer.Canonical canonicalize(Address address) {
+        return normalizer.canonicalize(
+            address.getAddress1(),
+            address.getAddress2(),
+            address.getCity(),
+            address.getPostcode(),
+            address.getCountry()
+        );
+    }
+}
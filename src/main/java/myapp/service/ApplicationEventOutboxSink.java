@@ -0,0 +1,28 @@
+package myapp.service;
+
+import java.util.List;
+import myapp.service.dto.OutboxEventDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the change events to the in-process listeners of {@link OutboxEventDTO} application events, one event at
+ * a time and in order. The listeners run in the transaction of the relay, so a listener that throws gets the batch
+ * again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.outbox", name = "sink", havingValue = "application-event", matchIfMissing = true)
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventOutboxSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(List<OutboxEventDTO> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -1,8 +1,16 @@
 package myapp.service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import myapp.domain.Category;
+import myapp.domain.Category_;
 import myapp.repository.CategoryRepository;
+import myapp.repository.PartialUpdate;
+import myapp.repository.ProductRepository;
+import myapp.service.dto.CollectionStampDTO;
+import myapp.service.dto.ModificationStampDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -21,8 +29,11 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final ProductRepository productRepository;
+
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository) {
         this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
     }
 
     /**
@@ -37,47 +48,35 @@ public class CategoryService {
     }
 
     /**
-     * Update a category.
+     * Update a category. The modification date is set by the server, as conditional requests depend on it.
      *
      * @param category the entity to save.
      * @return the persisted entity.
      */
     public Category update(Category category) {
         LOG.debug("Request to update Category : {}", category);
+        category.setDateModified(Instant.now().truncatedTo(ChronoUnit.MILLIS));
         return categoryRepository.save(category);
     }
 
     /**
-     * Partially update a category.
+     * Partially update a category, with a single {@code UPDATE} of the given fields. When the category carries a
+     * version, the update only applies to that version.
      *
      * @param category the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the category was modified concurrently.
      */
     public Optional<Category> partialUpdate(Category category) {
         LOG.debug("Request to partially update Category : {}", category);
 
-        return categoryRepository
-            .findById(category.getId())
-            .map(existingCategory -> {
-                if (category.getDescription() != null) {
-                    existingCategory.setDescription(category.getDescription());
-                }
-                if (category.getSortOrder() != null) {
-                    existingCategory.setSortOrder(category.getSortOrder());
-                }
-                if (category.getDateAdded() != null) {
-                    existingCategory.setDateAdded(category.getDateAdded());
-                }
-                if (category.getDateModified() != null) {
-                    existingCategory.setDateModified(category.getDateModified());
-                }
-                if (category.getStatus() != null) {
-                    existingCategory.setStatus(category.getStatus());
-                }
-
-                return existingCategory;
-            })
-            .map(categoryRepository::save);
+        PartialUpdate<Category> update = PartialUpdate.of(Category.class, category.getId(), category.getVersion())
+            .setIfPresent(Category_.description, category.getDescription())
+            .setIfPresent(Category_.sortOrder, category.getSortOrder())
+            .setIfPresent(Category_.dateAdded, category.getDateAdded())
+            .setIfPresent(Category_.status, category.getStatus())
+            .set(Category_.dateModified, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        return categoryRepository.partialUpdate(update);
     }
 
     /**
@@ -113,6 +112,32 @@ public class CategoryService {
         return categoryRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get the modification stamp of a category, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the id and modification date of the category.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ModificationStampDTO> findModificationStamp(Long id) {
+        return categoryRepository.findModificationStampById(id);
+    }
+
+    /**
+     * Get the stamps of everything a page of categories is rendered from: the categories and, when eagerly loaded,
+     * the products.
+     *
+     * @param eagerload whether the products of the categories are rendered too.
+     * @return the collection stamps.
+     */
+    @Transactional(readOnly = true)
+    public List<CollectionStampDTO> findCollectionStamps(boolean eagerload) {
+        if (eagerload) {
+            return List.of(categoryRepository.findCollectionStamp(), productRepository.findCollectionStamp());
+        }
+        return List.of(categoryRepository.findCollectionStamp());
+    }
+
     /**
      * Delete the category by id.
      *
@@ -0,0 +1,157 @@
+package myapp.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The changes of the entities of one type, offered to each subscriber once the transaction that made them commits.
+ * <p>
+ * A subscriber buffers the changes until it drains them. The buffer keeps the latest state of each changed entity, so
+ * that the rapid changes of an entity coalesce into one, and is bounded: a subscriber that falls behind by more
+ * entities than it can hold loses its buffer and is told it overflowed, after which it must reload the entities.
+ *
+ * @param <T> the type of the entity states.
+ */
+public class ChangeStream<T> {
+
+    private final int bufferSize;
+
+    private final Set<Subscription<T>> subscriptions = ConcurrentHashMap.newKeySet();
+
+    ChangeStream(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Subscribe to the changes committed from now on.
+     *
+     * @return the subscription, to drain and eventually cancel.
+     */
+    public Subscription<T> subscribe() {
+        Subscription<T> subscription = new Subscription<>(this, bufferSize);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * @return the number of subscriptions.
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Offer the new state of an entity to the subscribers, after the current transaction commits.
+     *
+     * @param id the id of the entity.
+     * @param state its state, read after the commit so that it carries the version set by the flush.
+     */
+    void publish(Long id, Supplier<T> state) {
+        offerAfterCommit(id, state);
+    }
+
+    /**
+     * Offer the deletion of an entity to the subscribers, after the current transaction commits.
+     *
+     * @param id the id of the entity.
+     */
+    void publishDeletion(Long id) {
+        offerAfterCommit(id, () -> null);
+    }
+
+    private void offerAfterCommit(Long id, Supplier<T> state) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(id, state.get());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(id, state.get());
+                }
+            }
+        );
+    }
+
+    private void offer(Long id, T state) {
+        subscriptions.forEach(subscription -> subscription.offer(id, state));
+    }
+
+    /**
+     * The changes buffered for one subscriber.
+     *
+     * @param <T> the type of the entity states.
+     */
+    public static final class Subscription<T> {
+
+        private final ChangeStream<T> stream;
+
+        private final int bufferSize;
+
+        private Map<Long, T> changes = new LinkedHashMap<>();
+
+        private boolean overflowed;
+
+        private Subscription(ChangeStream<T> stream, int bufferSize) {
+            this.stream = stream;
+            this.bufferSize = bufferSize;
+        }
+
+        private synchronized void offer(Long id, T state) {
+            if (overflowed) {
+                return;
+            }
+            if (changes.size() >= bufferSize && !changes.containsKey(id)) {
+                changes.clear();
+                overflowed = true;
+                return;
+            }
+            changes.put(id, state);
+        }
+
+        /**
+         * Take the buffered changes.
+         *
+         * @return the changes since the last drain.
+         */
+        public synchronized Changes<T> drain() {
+            Changes<T> drained = new Changes<>(Collections.unmodifiableMap(changes), overflowed);
+            if (overflowed || !changes.isEmpty()) {
+                changes = new LinkedHashMap<>();
+                overflowed = false;
+            }
+            return drained;
+        }
+
+        /**
+         * Stop receiving changes.
+         */
+        public void cancel() {
+            stream.subscriptions.remove(this);
+        }
+    }
+
+    /**
+     * The changes drained from a subscription.
+     *
+     * @param states the latest state of each changed entity by id, in the order they first changed; {@code null} for a
+     * deleted entity.
+     * @param overflowed whether changes were lost because the buffer was full.
+     * @param <T> the type of the entity states.
+     */
+    public record Changes<T>(Map<Long, T> states, boolean overflowed) {
+        public boolean isEmpty() {
+            return states.isEmpty() && !overflowed;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package myapp.service;
+
+/**
+ * Thrown when a checkout cannot be placed; nothing of it is persisted.
+ */
+public class CheckoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public CheckoutException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
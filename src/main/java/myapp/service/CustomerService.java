@@ -2,10 +2,19 @@ package myapp.service;
 
 import java.util.Optional;
 import myapp.domain.Customer;
+import myapp.domain.Customer_;
+import myapp.domain.enumeration.OutboxEventType;
+import myapp.repository.AddressRepository;
 import myapp.repository.CustomerRepository;
+import myapp.repository.OrderRepository;
+import myapp.repository.PartialUpdate;
+import myapp.repository.WishListRepository;
+import myapp.service.dto.CustomerOverviewDTO;
+import myapp.service.mapper.CustomerMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,8 +30,30 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    private final AddressRepository addressRepository;
+
+    private final WishListRepository wishListRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final OutboxService outboxService;
+
+    private final CustomerMapper customerMapper;
+
+    public CustomerService(
+        CustomerRepository customerRepository,
+        AddressRepository addressRepository,
+        WishListRepository wishListRepository,
+        OrderRepository orderRepository,
+        OutboxService outboxService,
+        CustomerMapper customerMapper
+    ) {
         this.customerRepository = customerRepository;
+        this.addressRepository = addressRepository;
+        this.wishListRepository = wishListRepository;
+        this.orderRepository = orderRepository;
+        this.outboxService = outboxService;
+        this.customerMapper = customerMapper;
     }
 
     /**
@@ -33,7 +64,9 @@ public class CustomerService {
      */
     public Customer save(Customer customer) {
         LOG.debug("Request to save Customer : {}", customer);
-        return customerRepository.save(customer);
+        Customer result = customerRepository.save(customer);
+        outboxService.record(Customer.class, OutboxEventType.CREATED, result, customerMapper::toDto);
+        return result;
     }
 
     /**
@@ -44,37 +77,30 @@ public class CustomerService {
      */
     public Customer update(Customer customer) {
         LOG.debug("Request to update Customer : {}", customer);
-        return customerRepository.save(customer);
+        Customer result = customerRepository.save(customer);
+        outboxService.record(Customer.class, OutboxEventType.UPDATED, result, customerMapper::toDto);
+        return result;
     }
 
     /**
-     * Partially update a customer.
+     * Partially update a customer, with a single {@code UPDATE} of the given fields. When the customer carries a
+     * version, the update only applies to that version.
      *
      * @param customer the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the customer was modified concurrently.
      */
     public Optional<Customer> partialUpdate(Customer customer) {
         LOG.debug("Request to partially update Customer : {}", customer);
 
-        return customerRepository
-            .findById(customer.getId())
-            .map(existingCustomer -> {
-                if (customer.getFirstName() != null) {
-                    existingCustomer.setFirstName(customer.getFirstName());
-                }
-                if (customer.getLastName() != null) {
-                    existingCustomer.setLastName(customer.getLastName());
-                }
-                if (customer.getEmail() != null) {
-                    existingCustomer.setEmail(customer.getEmail());
-                }
-                if (customer.getTelephone() != null) {
-                    existingCustomer.setTelephone(customer.getTelephone());
-                }
-
-                return existingCustomer;
-            })
-            .map(customerRepository::save);
+        PartialUpdate<Customer> update = PartialUpdate.of(Customer.class, customer.getId(), customer.getVersion())
+            .setIfPresent(Customer_.firstName, customer.getFirstName())
+            .setIfPresent(Customer_.lastName, customer.getLastName())
+            .setIfPresent(Customer_.email, customer.getEmail())
+            .setIfPresent(Customer_.telephone, customer.getTelephone());
+        Optional<Customer> result = customerRepository.partialUpdate(update);
+        result.ifPresent(updated -> outboxService.record(Customer.class, OutboxEventType.UPDATED, updated, customerMapper::toDto));
+        return result;
     }
 
     /**
@@ -101,6 +127,46 @@ public class CustomerService {
         return customerRepository.findById(id);
     }
 
+    /**
+     * Get the overview of one customer: its addresses, wish list summaries and latest orders.
+     * <p>
+     * Runs a fixed number of queries (customer, addresses, wish lists, orders) whatever the size of the
+     * customer's collections, none of which are loaded.
+     *
+     * @param id the id of the entity.
+     * @param latestOrders the maximum number of orders to include, most recent first.
+     * @return the overview.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CustomerOverviewDTO> findOverview(Long id, int latestOrders) {
+        LOG.debug("Request to get Customer overview : {}", id);
+        return customerRepository
+            .findById(id)
+            .map(customer ->
+                new CustomerOverviewDTO(
+                    customer.getId(),
+                    customer.getFirstName(),
+                    customer.getLastName(),
+                    customer.getEmail(),
+                    customer.getTelephone(),
+                    addressRepository.findAllDTOByCustomerId(id),
+                    wishListRepository.findAllSummaryByCustomerId(id),
+                    orderRepository.findLatestSummaryByCustomerId(id, PageRequest.of(0, latestOrders))
+                )
+            );
+    }
+
+    /**
+     * Get the current version of a customer, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return customerRepository.findVersionById(id);
+    }
+
     /**
      * Delete the customer by id.
      *
@@ -108,6 +174,11 @@ public class CustomerService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Customer : {}", id);
-        customerRepository.deleteById(id);
+        customerRepository
+            .findById(id)
+            .ifPresent(customer -> {
+                customerRepository.delete(customer);
+                outboxService.record(Customer.class, OutboxEventType.DELETED, customer, deleted -> null);
+            });
     }
 }
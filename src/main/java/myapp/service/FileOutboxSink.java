@@ -0,0 +1,61 @@
+package myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import myapp.config.ApplicationProperties;
+import myapp.service.dto.OutboxEventDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends the change events to {@code application.outbox.file}, one JSON document per line, a batch per write. It
+ * stands in for a message broker when running locally: the file can be tailed by a consumer.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.outbox", name = "sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectWriter objectWriter;
+
+    private final Path file;
+
+    public FileOutboxSink(ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.file = Path.of(applicationProperties.getOutbox().getFile());
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventDTO> events) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (OutboxEventDTO event : events) {
+                lines.append(objectWriter.writeValueAsString(event)).append('\n');
+            }
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (
+                Writer writer = Files.newBufferedWriter(
+                    file,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+                )
+            ) {
+                writer.write(lines.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append the events to " + file, e);
+        }
+    }
+}
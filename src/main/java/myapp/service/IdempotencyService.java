@@ -0,0 +1,138 @@
+package myapp.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import myapp.config.ApplicationProperties;
+import myapp.domain.IdempotencyKey;
+import myapp.repository.IdempotencyKeyRepository;
+import myapp.service.dto.IdempotentResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service Implementation for managing {@link myapp.domain.IdempotencyKey}.
+ * <p>
+ * A keyed request runs in the same transaction as the insert of its key, so that its effects and its stored response
+ * commit together. A concurrent request with the same key waits on the unique constraint of the key, and fails once
+ * the first one commits; its caller then replays the stored response. The latest responses are also kept in memory.
+ */
+@Service
+@Transactional
+public class IdempotencyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ApplicationProperties.Idempotency properties;
+
+    private final Map<String, IdempotentResponseDTO> recentResponses;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ApplicationProperties applicationProperties) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = applicationProperties.getIdempotency();
+        int cacheSize = properties.getCacheSize();
+        this.recentResponses = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponseDTO> eldest) {
+                    return size() > cacheSize;
+                }
+            }
+        );
+    }
+
+    /**
+     * Get the stored response to a keyed request.
+     *
+     * @param scope the kind of request.
+     * @param owner the login of the user who sent it.
+     * @param key the idempotency key.
+     * @return the response, or empty if no request was executed with this key or its key expired.
+     */
+    @Transactional(readOnly = true)
+    public Optional<IdempotentResponseDTO> findResponse(String scope, String owner, String key) {
+        String cacheKey = cacheKey(scope, owner, key);
+        Instant expiredAt = Instant.now().minus(properties.getTtl());
+        IdempotentResponseDTO response = recentResponses.get(cacheKey);
+        if (response != null && response.createdDate().isAfter(expiredAt)) {
+            return Optional.of(response);
+        }
+        Optional<IdempotentResponseDTO> stored = idempotencyKeyRepository.findResponse(scope, owner, key, expiredAt);
+        stored.ifPresent(found -> recentResponses.put(cacheKey, found));
+        return stored;
+    }
+
+    /**
+     * Execute a keyed request and store its response, in one transaction.
+     *
+     * @param scope the kind of request.
+     * @param owner the login of the user who sent it.
+     * @param key the idempotency key.
+     * @param request the request, joining the transaction, returning its response.
+     * @return the response.
+     * @throws org.springframework.dao.DataIntegrityViolationException if a request with the same key was executed concurrently.
+     */
+    public IdempotentResponseDTO execute(String scope, String owner, String key, Supplier<IdempotentResponseDTO> request) {
+        LOG.debug("Request to execute {} request of {} with key {}", scope, owner, key);
+        idempotencyKeyRepository.deleteExpired(scope, owner, key, Instant.now().minus(properties.getTtl()));
+        IdempotentResponseDTO response = request.get();
+        idempotencyKeyRepository.saveAndFlush(
+            new IdempotencyKey()
+                .scope(scope)
+                .owner(owner)
+                .idempotencyKey(key)
+                .requestHash(response.requestHash())
+                .responseStatus(response.status())
+                .responseLocation(response.location())
+                .responseBody(response.body())
+                .createdDate(response.createdDate())
+        );
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentResponses.put(cacheKey(scope, owner, key), response);
+                }
+            }
+        );
+        return response;
+    }
+
+    /**
+     * Expired keys should be deleted, to let them be reused.
+     * <p>
+     * This is scheduled to get fired every {@code application.idempotency.sweep-interval}. The keys are deleted in
+     * chunks, each in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${application.idempotency.sweep-interval:PT10M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void removeExpiredKeys() {
+        Instant before = Instant.now().minus(properties.getTtl());
+        int chunkSize = properties.getSweepChunkSize();
+        List<Long> ids;
+        do {
+            ids = idempotencyKeyRepository.findIdsCreatedBefore(before, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                LOG.debug("Deleting {} expired idempotency keys", ids.size());
+                idempotencyKeyRepository.deleteAllByIdInBatch(ids);
+            }
+        } while (ids.size() == chunkSize);
+    }
+
+    private static String cacheKey(String scope, String owner, String key) {
+        return scope + '\n' + owner + '\n' + key;
+    }
+}
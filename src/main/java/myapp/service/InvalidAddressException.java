@@ -0,0 +1,20 @@
+package myapp.service;
+
+/**
+ * Thrown when an address does not pass the normalization rules of its country.
+ */
+public class InvalidAddressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public InvalidAddressException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
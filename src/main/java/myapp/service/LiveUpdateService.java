@@ -0,0 +1,108 @@
+package myapp.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Order;
+import myapp.domain.Product;
+import myapp.service.dto.OrderProgressDTO;
+import myapp.service.dto.ProductStockDTO;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service pushing the committed changes of the {@link Product} stock and of the {@link Order} progress to the clients
+ * of the live streams.
+ * <p>
+ * The writes of {@link ProductService} and {@link OrderService} publish to the streams, which offer the changes to the
+ * subscribers once the write commits. The number of subscribers of each stream is exposed as the
+ * {@code app.live-updates.connections} gauge.
+ */
+@Service
+public class LiveUpdateService {
+
+    public static final String CONNECTIONS_METER_NAME = "app.live-updates.connections";
+
+    private final ChangeStream<ProductStockDTO> productStock;
+
+    private final ChangeStream<OrderProgressDTO> orderProgress;
+
+    public LiveUpdateService(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        int bufferSize = applicationProperties.getLiveUpdates().getBufferSize();
+        this.productStock = new ChangeStream<>(bufferSize);
+        this.orderProgress = new ChangeStream<>(bufferSize);
+        registerConnectionGauge(meterRegistry, "products", productStock);
+        registerConnectionGauge(meterRegistry, "orders", orderProgress);
+    }
+
+    private static void registerConnectionGauge(MeterRegistry meterRegistry, String stream, ChangeStream<?> changeStream) {
+        Gauge.builder(CONNECTIONS_METER_NAME, changeStream, ChangeStream::getSubscriptionCount)
+            .description("Number of clients connected to a live stream")
+            .tag("stream", stream)
+            .register(meterRegistry);
+    }
+
+    public ChangeStream<ProductStockDTO> getProductStock() {
+        return productStock;
+    }
+
+    public ChangeStream<OrderProgressDTO> getOrderProgress() {
+        return orderProgress;
+    }
+
+    /**
+     * Publish the change of a product, once the current transaction commits.
+     *
+     * @param product the changed product.
+     */
+    public void productChanged(Product product) {
+        productStock.publish(product.getId(), () ->
+            new ProductStockDTO(
+                product.getId(),
+                product.getVersion(),
+                product.getQuantityInStock(),
+                product.getStatus(),
+                product.getPrice(),
+                product.getDateModified()
+            )
+        );
+    }
+
+    /**
+     * Publish the changes of products, once the current transaction commits.
+     *
+     * @param products the changed products.
+     */
+    public void productsChanged(Collection<Product> products) {
+        products.forEach(this::productChanged);
+    }
+
+    /**
+     * Publish the deletion of a product, once the current transaction commits.
+     *
+     * @param id the id of the deleted product.
+     */
+    public void productDeleted(Long id) {
+        productStock.publishDeletion(id);
+    }
+
+    /**
+     * Publish the change of an order, once the current transaction commits.
+     *
+     * @param order the changed order.
+     */
+    public void orderChanged(Order order) {
+        orderProgress.publish(order.getId(), () ->
+            new OrderProgressDTO(order.getId(), order.getVersion(), order.getStatus(), order.getShippedDate(), order.getTrackingNumber())
+        );
+    }
+
+    /**
+     * Publish the deletion of an order, once the current transaction commits.
+     *
+     * @param id the id of the deleted order.
+     */
+    public void orderDeleted(Long id) {
+        orderProgress.publishDeletion(id);
+    }
+}
@@ -0,0 +1,48 @@
+package myapp.service;
+
+import java.time.Instant;
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the orders shipped for longer than {@code application.order-archive.shipped-for} to the archive.
+ * <p>
+ * This is scheduled to get fired every {@code application.order-archive.interval}, starting
+ * {@code application.order-archive.initial-delay} after startup. The orders are archived
+ * {@code application.order-archive.chunk-size} at a time, each chunk in its own transaction.
+ */
+@Component
+public class OrderArchivalJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderArchivalJob.class);
+
+    private final OrderArchiveService orderArchiveService;
+
+    private final ApplicationProperties.OrderArchive properties;
+
+    public OrderArchivalJob(OrderArchiveService orderArchiveService, ApplicationProperties applicationProperties) {
+        this.orderArchiveService = orderArchiveService;
+        this.properties = applicationProperties.getOrderArchive();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.order-archive.initial-delay:PT5M}",
+        fixedDelayString = "${application.order-archive.interval:PT1H}"
+    )
+    public void archiveShippedOrders() {
+        Instant shippedBefore = Instant.now().minus(properties.getShippedFor());
+        int chunkSize = properties.getChunkSize();
+        int total = 0;
+        int orders;
+        do {
+            orders = orderArchiveService.archiveShippedOrders(shippedBefore, chunkSize);
+            total += orders;
+        } while (orders == chunkSize);
+        if (total > 0) {
+            LOG.info("Archived {} Orders shipped before {}", total, shippedBefore);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package myapp.service;
+
+import java.time.Instant;
+import java.util.List;
+import myapp.repository.OrderItemRepository;
+import myapp.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for archiving {@link myapp.domain.Order}s.
+ * <p>
+ * An archived order is moved, with its items, from {@code jhi_order} to {@code jhi_order_archive}: it can no longer be
+ * changed, and is only read by the queries including the archive. The statistics of the orders include the archive, so
+ * the archival does not change them.
+ */
+@Service
+@Transactional
+public class OrderArchiveService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private final OrderRepository orderRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    public OrderArchiveService(OrderRepository orderRepository, OrderItemRepository orderItemRepository) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    /**
+     * Archive the orders shipped (or delivered) before an instant, oldest shipped first. The orders still referenced by
+     * a product are kept.
+     *
+     * @param shippedBefore the instant.
+     * @param maxOrders the maximum number of orders to archive.
+     * @return the number of orders archived.
+     */
+    public int archiveShippedOrders(Instant shippedBefore, int maxOrders) {
+        List<Long> ids = orderRepository.findIdsToArchive(shippedBefore, PageRequest.of(0, maxOrders));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LOG.debug("Archiving {} Orders shipped before {}", ids.size(), shippedBefore);
+        orderRepository.copyToArchive(ids, Instant.now());
+        orderItemRepository.copyToArchiveByOrderIds(ids);
+        // the items are deleted with their orders, by the cascade of their foreign key
+        orderRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
@@ -1,17 +1,49 @@
 package myapp.service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import myapp.domain.Address;
 import myapp.domain.Order;
+import myapp.domain.OrderItem;
+import myapp.domain.Order_;
+import myapp.domain.Product;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.domain.enumeration.OutboxEventType;
+import myapp.domain.enumeration.ProductStatus;
+import myapp.repository.AddressRepository;
+import myapp.repository.OrderItemRepository;
 import myapp.repository.OrderRepository;
+import myapp.repository.OrderWithArchiveRepository;
+import myapp.repository.PartialUpdate;
+import myapp.repository.ProductRepository;
+import myapp.service.dto.CheckoutDTO;
+import myapp.service.dto.OrderDTO;
+import myapp.service.mapper.OrderMapper;
+import myapp.service.mapper.ProductMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link myapp.domain.Order}.
+ * <p>
+ * The shipping cost and the total amount of an order are the server's: they are computed from its items and its
+ * shipping address, and the values sent by a client are ignored.
  */
 @Service
 @Transactional
@@ -19,92 +51,368 @@ public class OrderService {
 
     private static final Logger LOG = LoggerFactory.getLogger(OrderService.class);
 
+    /**
+     * The status changes allowed for an order. The statuses without any way out are final; the others are the active
+     * statuses of {@link OrderRepository#ACTIVE_STATUSES}.
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.PAID, OrderStatus.CANCELLED));
+        TRANSITIONS.put(OrderStatus.PAID, EnumSet.of(OrderStatus.SHIPPED, OrderStatus.CANCELLED));
+        TRANSITIONS.put(OrderStatus.SHIPPED, EnumSet.of(OrderStatus.DELIVERED));
+        TRANSITIONS.put(OrderStatus.DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
     private final OrderRepository orderRepository;
 
-    public OrderService(OrderRepository orderRepository) {
+    private final OrderItemRepository orderItemRepository;
+
+    private final ProductRepository productRepository;
+
+    private final AddressRepository addressRepository;
+
+    private final OrderMapper orderMapper;
+
+    private final OrderStatsService orderStatsService;
+
+    private final OrderWithArchiveRepository orderWithArchiveRepository;
+
+    private final ProductMapper productMapper;
+
+    private final OutboxService outboxService;
+
+    private final LiveUpdateService liveUpdateService;
+
+    private final PopularityService popularityService;
+
+    private final AddressService addressService;
+
+    private final ShippingCostService shippingCostService;
+
+    public OrderService(
+        OrderRepository orderRepository,
+        OrderItemRepository orderItemRepository,
+        ProductRepository productRepository,
+        AddressRepository addressRepository,
+        OrderMapper orderMapper,
+        OrderStatsService orderStatsService,
+        OrderWithArchiveRepository orderWithArchiveRepository,
+        ProductMapper productMapper,
+        OutboxService outboxService,
+        LiveUpdateService liveUpdateService,
+        PopularityService popularityService,
+        AddressService addressService,
+        ShippingCostService shippingCostService
+    ) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
+        this.addressRepository = addressRepository;
+        this.orderMapper = orderMapper;
+        this.orderStatsService = orderStatsService;
+        this.orderWithArchiveRepository = orderWithArchiveRepository;
+        this.productMapper = productMapper;
+        this.outboxService = outboxService;
+        this.liveUpdateService = liveUpdateService;
+        this.popularityService = popularityService;
+        this.addressService = addressService;
+        this.shippingCostService = shippingCostService;
     }
 
     /**
-     * Save a order.
+     * Save a order. A new order starts as {@link OrderStatus#PENDING}, to go through the transition table from there.
+     * It has no items yet, so nothing to ship and a total amount of zero.
      *
      * @param order the entity to save.
      * @return the persisted entity.
+     * @throws OrderStatusTransitionException if the order is not {@code PENDING}.
      */
     public Order save(Order order) {
         LOG.debug("Request to save Order : {}", order);
-        return orderRepository.save(order);
+        if (order.getStatus() != OrderStatus.PENDING) {
+            throw new OrderStatusTransitionException(order.getStatus());
+        }
+        price(order, List.of());
+        Order result = orderRepository.save(order);
+        orderStatsService.recordChange(null, orderMapper.toDto(result));
+        outboxService.record(Order.class, OutboxEventType.CREATED, result, orderMapper::toDto);
+        liveUpdateService.orderChanged(result);
+        return result;
     }
 
     /**
-     * Update a order.
+     * Place an order for a customer: reserve the stock of the ordered products, compute the totals, with the shipping
+     * cost from the rate table of {@link ShippingCostService}, and persist the order with its items, in one transaction.
+     * <p>
+     * The products are locked in id order, so that concurrent checkouts of overlapping products wait for each other
+     * instead of deadlocking. The number of statements does not grow with the number of items beyond JDBC batching:
+     * one select of the address, one locking select of the products, then the batched inserts and stock updates. An
+     * address given inline is normalized and reuses the address of the customer with the same key, if there is one.
+     *
+     * @param checkout the customer, shipping address and product quantities.
+     * @return the placed order.
+     * @throws CheckoutException if the address is not valid, the address or a product is not found, the quantities of a
+     * product add up beyond an {@code int}, or a product is not in stock.
+     */
+    public OrderDTO checkout(CheckoutDTO checkout) {
+        LOG.debug("Request to check out : {}", checkout);
+        Address shippingAddress = findShippingAddress(checkout);
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        try {
+            checkout.items().forEach(item -> quantities.merge(item.productId(), item.quantity(), Math::addExact));
+        } catch (ArithmeticException e) {
+            throw new CheckoutException("Quantity too large", "quantitytoolarge");
+        }
+        List<Product> products = productRepository.findAllByIdForUpdate(quantities.keySet());
+        if (products.size() != quantities.size()) {
+            throw new CheckoutException("Product not found", "productnotfound");
+        }
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Order order = new Order()
+            .orderDate(now)
+            .status(OrderStatus.PENDING)
+            .shippingAddress(shippingAddress)
+            .customer(shippingAddress.getCustomer());
+        List<OrderItem> items = new ArrayList<>(products.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (Product product : products) {
+            int quantity = quantities.get(product.getId());
+            int inStock = product.getQuantityInStock() != null ? product.getQuantityInStock() : 0;
+            if (product.getStatus() == ProductStatus.DISCONTINUED || inStock < quantity) {
+                throw new CheckoutException("Insufficient stock for product " + product.getId(), "insufficientstock");
+            }
+            product.setQuantityInStock(inStock - quantity);
+            if (inStock == quantity) {
+                product.setStatus(ProductStatus.OUT_OF_STOCK);
+            }
+            product.setDateModified(now);
+            subtotal = subtotal.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+            items.add(new OrderItem().order(order).product(product).quantity(quantity).unitPrice(product.getPrice()));
+        }
+        BigDecimal shippingCost = shippingCostService.shippingCost(shippingAddress, items);
+        order.shippingCost(shippingCost).totalAmount(subtotal.add(shippingCost).setScale(2, RoundingMode.HALF_UP));
+
+        orderRepository.save(order);
+        orderItemRepository.saveAll(items);
+        OrderDTO result = orderMapper.toDto(order);
+        orderStatsService.recordChange(null, result);
+        outboxService.recordAll(Product.class, OutboxEventType.UPDATED, products, productMapper::toDto);
+        outboxService.record(Order.class, OutboxEventType.CREATED, order, orderMapper::toDto);
+        liveUpdateService.productsChanged(products);
+        liveUpdateService.orderChanged(order);
+        popularityService.productsSold(items);
+        return result;
+    }
+
+    private Address findShippingAddress(CheckoutDTO checkout) {
+        if ((checkout.shippingAddressId() == null) == (checkout.shippingAddress() == null)) {
+            throw new CheckoutException("Either a shipping address id or a shipping address is required", "addressrequired");
+        }
+        if (checkout.shippingAddressId() != null) {
+            return addressRepository
+                .findByIdAndCustomerId(checkout.shippingAddressId(), checkout.customerId())
+                .orElseThrow(() -> new CheckoutException("Shipping address not found for the customer", "addressnotfound"));
+        }
+        try {
+            return addressService
+                .findOrCreate(checkout.customerId(), checkout.shippingAddress())
+                .orElseThrow(() -> new CheckoutException("Customer not found", "customernotfound"));
+        } catch (InvalidAddressException e) {
+            throw new CheckoutException(e.getMessage(), e.getErrorKey());
+        }
+    }
+
+    /**
+     * Update a order. A status change must be allowed by the transition table. The order keeps its totals, unless its
+     * shipping address changes: the shipping cost of its items to the new address is computed then.
      *
      * @param order the entity to save.
      * @return the persisted entity.
+     * @throws OrderStatusTransitionException if the order cannot go from its current status to the new one.
      */
     public Order update(Order order) {
         LOG.debug("Request to update Order : {}", order);
-        return orderRepository.save(order);
+        // loads the order into the persistence context, where the merge of save() then finds it and checks its version
+        OrderDTO before = orderRepository.findById(order.getId()).map(orderMapper::toDto).orElse(null);
+        if (before != null) {
+            checkTransition(before.status(), order.getStatus());
+            Long shippingAddressId = order.getShippingAddress() != null ? order.getShippingAddress().getId() : null;
+            if (Objects.equals(shippingAddressId, before.shippingAddress() != null ? before.shippingAddress().id() : null)) {
+                order.shippingCost(before.shippingCost()).totalAmount(before.totalAmount());
+            } else {
+                price(order, orderItemRepository.findAllWithProductByOrderId(order.getId()));
+            }
+        }
+        Order result = orderRepository.save(order);
+        orderStatsService.recordChange(before, orderMapper.toDto(result));
+        recordUpdate(result);
+        return result;
     }
 
     /**
-     * Partially update a order.
+     * Partially update a order, with a single {@code UPDATE} of the given fields, except the totals. When the order
+     * carries a version, the update only applies to that version. A status change must be allowed by the transition
+     * table. A change of the fields the statistics depend on only applies if they are still the ones it was checked and
+     * recorded against.
      *
      * @param order the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the order was modified concurrently.
+     * @throws OrderStatusTransitionException if the order cannot go from its current status to the new one.
      */
     public Optional<Order> partialUpdate(Order order) {
         LOG.debug("Request to partially update Order : {}", order);
 
-        return orderRepository
-            .findById(order.getId())
-            .map(existingOrder -> {
-                if (order.getOrderDate() != null) {
-                    existingOrder.setOrderDate(order.getOrderDate());
-                }
-                if (order.getShippedDate() != null) {
-                    existingOrder.setShippedDate(order.getShippedDate());
-                }
-                if (order.getStatus() != null) {
-                    existingOrder.setStatus(order.getStatus());
-                }
-                if (order.getTotalAmount() != null) {
-                    existingOrder.setTotalAmount(order.getTotalAmount());
-                }
-                if (order.getShippingCost() != null) {
-                    existingOrder.setShippingCost(order.getShippingCost());
-                }
-                if (order.getTrackingNumber() != null) {
-                    existingOrder.setTrackingNumber(order.getTrackingNumber());
-                }
-
-                return existingOrder;
-            })
-            .map(orderRepository::save);
+        PartialUpdate<Order> update = PartialUpdate.of(Order.class, order.getId(), order.getVersion())
+            .setIfPresent(Order_.orderDate, order.getOrderDate())
+            .setIfPresent(Order_.shippedDate, order.getShippedDate())
+            .setIfPresent(Order_.status, order.getStatus())
+            .setIfPresent(Order_.trackingNumber, order.getTrackingNumber());
+        boolean statsChange = order.getOrderDate() != null || order.getStatus() != null;
+        if (!statsChange) {
+            Optional<Order> result = orderRepository.partialUpdate(update);
+            result.ifPresent(this::recordUpdate);
+            return result;
+        }
+        Optional<OrderDTO> current = orderRepository.findDTOById(order.getId());
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        OrderDTO before = current.orElseThrow();
+        if (order.getStatus() != null) {
+            checkTransition(before.status(), order.getStatus());
+        }
+        update
+            .expect(Order_.orderDate, before.orderDate())
+            .expect(Order_.status, before.status())
+            .expect(Order_.totalAmount, before.totalAmount())
+            .expect(Order_.shippingCost, before.shippingCost());
+        Optional<Order> result = orderRepository.partialUpdate(update);
+        result.ifPresent(updated -> {
+            orderStatsService.recordChange(before, orderMapper.toDto(updated));
+            recordUpdate(updated);
+        });
+        return result;
+    }
+
+    /**
+     * Set the totals of an order from its items, priced when they were ordered, and the shipping of them to its address.
+     */
+    private void price(Order order, List<OrderItem> items) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            subtotal = subtotal.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        Optional<Address> shippingAddress = items.isEmpty() || order.getShippingAddress() == null
+            ? Optional.empty()
+            : addressRepository.findById(order.getShippingAddress().getId());
+        BigDecimal shippingCost = shippingAddress.map(address -> shippingCostService.shippingCost(address, items)).orElse(null);
+        order
+            .shippingCost(shippingCost)
+            .totalAmount((shippingCost != null ? subtotal.add(shippingCost) : subtotal).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private void recordUpdate(Order order) {
+        outboxService.record(Order.class, OutboxEventType.UPDATED, order, orderMapper::toDto);
+        liveUpdateService.orderChanged(order);
+    }
+
+    private static void checkTransition(OrderStatus from, OrderStatus to) {
+        if (from != to && !TRANSITIONS.get(from).contains(to)) {
+            throw new OrderStatusTransitionException(from, to);
+        }
+    }
+
+    private static boolean isActive(OrderStatus status) {
+        return !TRANSITIONS.get(status).isEmpty();
     }
 
     /**
-     * Get all the orders.
+     * Count the orders.
      *
+     * @param status the status of the orders to count, all the orders if {@code null}.
+     * @param includeArchived whether to count the archived orders too.
+     * @return the number of orders.
+     */
+    @Transactional(readOnly = true)
+    public long count(OrderStatus status, boolean includeArchived) {
+        if (includeArchived) {
+            return status != null ? orderWithArchiveRepository.countByStatus(status) : orderWithArchiveRepository.count();
+        }
+        if (status == null) {
+            return orderRepository.count();
+        }
+        return isActive(status) ? orderRepository.countActiveByStatus(status) : orderRepository.countByStatus(status);
+    }
+
+    /**
+     * Get a page of orders, selected column by column and read from the database as the consumer takes them, so that
+     * the page is never held in memory. The orders in an active status are read through the partial index covering them.
+     *
+     * @param status the status of the orders to get, all the orders if {@code null}.
+     * @param includeArchived whether to get the archived orders too.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @param consumer the consumer of the DTOs, called within the transaction.
      */
     @Transactional(readOnly = true)
-    public Page<Order> findAll(Pageable pageable) {
-        LOG.debug("Request to get all Orders");
-        return orderRepository.findAll(pageable);
+    public void findAll(OrderStatus status, boolean includeArchived, Pageable pageable, Consumer<OrderDTO> consumer) {
+        LOG.debug("Request to get all Orders with status {}, archived ones included: {}", status, includeArchived);
+        try (Stream<OrderDTO> orders = streamAll(status, includeArchived, pageable)) {
+            orders.forEach(consumer);
+        }
+    }
+
+    private Stream<OrderDTO> streamAll(OrderStatus status, boolean includeArchived, Pageable pageable) {
+        if (includeArchived) {
+            return status != null
+                ? orderWithArchiveRepository.streamAllDTOByStatus(status, pageable)
+                : orderWithArchiveRepository.streamAllDTO(pageable);
+        }
+        if (status == null) {
+            return orderRepository.streamAllDTO(pageable);
+        }
+        return isActive(status)
+            ? orderRepository.streamAllActiveDTOByStatus(status, pageable)
+            : orderRepository.streamAllDTOByStatus(status, pageable);
     }
 
     /**
      * Get one order by id.
      *
      * @param id the id of the entity.
-     * @return the entity.
+     * @return the DTO.
      */
     @Transactional(readOnly = true)
-    public Optional<Order> findOne(Long id) {
+    public Optional<OrderDTO> findOne(Long id) {
         LOG.debug("Request to get Order : {}", id);
-        return orderRepository.findById(id);
+        return orderRepository.findById(id).map(orderMapper::toDto);
+    }
+
+    /**
+     * Get one order by id, archived or not.
+     *
+     * @param id the id of the entity.
+     * @return the DTO.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findOneWithArchive(Long id) {
+        LOG.debug("Request to get Order : {} with the archived ones", id);
+        return orderWithArchiveRepository.findDTOById(id);
+    }
+
+    /**
+     * Get the current version of a order, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return orderRepository.findVersionById(id);
     }
 
     /**
@@ -114,6 +422,14 @@ public class OrderService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Order : {}", id);
-        orderRepository.deleteById(id);
+        orderRepository
+            .findById(id)
+            .ifPresent(order -> {
+                OrderDTO before = orderMapper.toDto(order);
+                orderRepository.delete(order);
+                orderStatsService.recordChange(before, null);
+                outboxService.record(Order.class, OutboxEventType.DELETED, order, deleted -> null);
+                liveUpdateService.orderDeleted(id);
+            });
     }
 }
@@ -0,0 +1,45 @@
+package myapp.service;
+
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rolls up the closed days of the {@link myapp.domain.Order}s into {@link myapp.domain.OrderDailyStats}.
+ * <p>
+ * This is scheduled to get fired every {@code application.order-stats.rollup-interval}, starting
+ * {@code application.order-stats.rollup-initial-delay} after startup. The days are rolled up {@code application.order-stats.rollup-chunk-days} at a time, each chunk in its own
+ * transaction, so that a first rollup of a long history does not hold off the order writes for long.
+ */
+@Component
+public class OrderStatsRollupJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderStatsRollupJob.class);
+
+    private final OrderStatsService orderStatsService;
+
+    private final int chunkDays;
+
+    public OrderStatsRollupJob(OrderStatsService orderStatsService, ApplicationProperties applicationProperties) {
+        this.orderStatsService = orderStatsService;
+        this.chunkDays = applicationProperties.getOrderStats().getRollupChunkDays();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.order-stats.rollup-initial-delay:PT1M}",
+        fixedDelayString = "${application.order-stats.rollup-interval:PT1H}"
+    )
+    public void rollUpClosedDays() {
+        int total = 0;
+        int days;
+        do {
+            days = orderStatsService.rollUpClosedDays(chunkDays);
+            total += days;
+        } while (days == chunkDays);
+        if (total > 0) {
+            LOG.info("Rolled up {} days of Orders", total);
+        }
+    }
+}
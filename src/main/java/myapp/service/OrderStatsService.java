@@ -0,0 +1,231 @@
+package myapp.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import myapp.domain.OrderDailyStats;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.repository.OrderDailyStatsRepository;
+import myapp.repository.OrderWithArchiveRepository;
+import myapp.service.dto.OrderDTO;
+import myapp.service.dto.OrderStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for the sales statistics of the {@link myapp.domain.Order}s.
+ * <p>
+ * The closed days (in UTC) are read from the {@link OrderDailyStats} rollup, kept up to date with
+ * {@link #recordChange(OrderDTO, OrderDTO)} as the orders change. The current day, and the days not rolled up yet, are
+ * aggregated from the orders and the archived orders; so are the statistics by customer, which are not rolled up. The
+ * archival of an order does not change the statistics.
+ */
+@Service
+@Transactional
+public class OrderStatsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderStatsService.class);
+
+    /**
+     * What the orders are grouped by.
+     */
+    public enum Grouping {
+        DAY,
+        STATUS,
+        CUSTOMER,
+    }
+
+    private final OrderDailyStatsRepository orderDailyStatsRepository;
+
+    private final OrderWithArchiveRepository orderWithArchiveRepository;
+
+    public OrderStatsService(
+        OrderDailyStatsRepository orderDailyStatsRepository,
+        OrderWithArchiveRepository orderWithArchiveRepository
+    ) {
+        this.orderDailyStatsRepository = orderDailyStatsRepository;
+        this.orderWithArchiveRepository = orderWithArchiveRepository;
+    }
+
+    /**
+     * Get the totals of the orders of a range of days.
+     *
+     * @param from the first day.
+     * @param to the last day.
+     * @param grouping what to group the orders by.
+     * @return the totals of each group, without the empty groups, in the order of the grouping key.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderStatsDTO> findStats(LocalDate from, LocalDate to, Grouping grouping) {
+        LOG.debug("Request to get the Order stats from {} to {} by {}", from, to, grouping);
+        return switch (grouping) {
+            case DAY -> group(findStatsByDayAndStatus(from, to), new TreeMap<>(), OrderStatsDTO::day, row ->
+                new OrderStatsDTO(row.day(), null, null, row.orderCount(), row.totalAmount(), row.shippingCost())
+            );
+            case STATUS -> group(findStatsByDayAndStatus(from, to), new EnumMap<>(OrderStatus.class), OrderStatsDTO::status, row ->
+                new OrderStatsDTO(null, row.status(), null, row.orderCount(), row.totalAmount(), row.shippingCost())
+            );
+            case CUSTOMER -> orderWithArchiveRepository.findStatsByCustomer(startOf(from), startOf(to.plusDays(1)));
+        };
+    }
+
+    private List<OrderStatsDTO> findStatsByDayAndStatus(LocalDate from, LocalDate to) {
+        List<OrderStatsDTO> stats = new ArrayList<>();
+        LocalDate today = today();
+        LocalDate lastClosed = to.isBefore(today) ? to : today.minusDays(1);
+        LocalDate liveFrom = from;
+        if (!from.isAfter(lastClosed)) {
+            List<OrderStatsDTO> rolledUp = orderDailyStatsRepository.findAllBetween(from, lastClosed);
+            stats.addAll(rolledUp);
+            Set<LocalDate> rolledUpDays = new HashSet<>();
+            rolledUp.forEach(row -> rolledUpDays.add(row.day()));
+            // the days not rolled up yet are the ones before the first rollup, and the rare days that only got backdated
+            // orders since, so each run of them is aggregated with its own query
+            LocalDate runStart = null;
+            for (LocalDate day = from; !day.isAfter(lastClosed); day = day.plusDays(1)) {
+                boolean rolledUpDay = rolledUpDays.contains(day);
+                if (!rolledUpDay && runStart == null) {
+                    runStart = day;
+                } else if (rolledUpDay && runStart != null) {
+                    stats.addAll(orderWithArchiveRepository.findStatsByDayAndStatus(startOf(runStart), startOf(day)));
+                    runStart = null;
+                }
+            }
+            liveFrom = runStart != null ? runStart : lastClosed.plusDays(1);
+        }
+        if (!liveFrom.isAfter(to)) {
+            stats.addAll(orderWithArchiveRepository.findStatsByDayAndStatus(startOf(liveFrom), startOf(to.plusDays(1))));
+        }
+        return stats;
+    }
+
+    private static <K> List<OrderStatsDTO> group(
+        List<OrderStatsDTO> stats,
+        Map<K, OrderStatsDTO> groups,
+        Function<OrderStatsDTO, K> key,
+        Function<OrderStatsDTO, OrderStatsDTO> keyOnly
+    ) {
+        stats
+            .stream()
+            .filter(row -> row.orderCount() > 0)
+            .forEach(row -> groups.merge(key.apply(row), keyOnly.apply(row), OrderStatsDTO::plus));
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Record the change of an order in the rollup of its day, if that day is rolled up already.
+     *
+     * @param before the order before the change, or {@code null} if it is created.
+     * @param after the order after the change, or {@code null} if it is deleted.
+     */
+    public void recordChange(OrderDTO before, OrderDTO after) {
+        if (before != null && after != null && sameContribution(before, after)) {
+            return;
+        }
+        if (before != null) {
+            addToDay(before, -1);
+        }
+        if (after != null) {
+            addToDay(after, 1);
+        }
+    }
+
+    private void addToDay(OrderDTO order, int sign) {
+        LocalDate day = dayOf(order.orderDate());
+        if (!day.isBefore(today())) {
+            // an open day is aggregated from the orders
+            return;
+        }
+        BigDecimal multiplier = BigDecimal.valueOf(sign);
+        orderDailyStatsRepository.addToDay(
+            day,
+            order.status(),
+            sign,
+            order.totalAmount().multiply(multiplier),
+            orZero(order.shippingCost()).multiply(multiplier)
+        );
+    }
+
+    private static boolean sameContribution(OrderDTO before, OrderDTO after) {
+        return (
+            dayOf(before.orderDate()).equals(dayOf(after.orderDate())) &&
+            before.status() == after.status() &&
+            before.totalAmount().compareTo(after.totalAmount()) == 0 &&
+            orZero(before.shippingCost()).compareTo(orZero(after.shippingCost())) == 0
+        );
+    }
+
+    /**
+     * Roll up the closed days following the last rolled up one, or the day of the first order.
+     *
+     * @param maxDays the maximum number of days to roll up.
+     * @return the number of days rolled up.
+     */
+    public int rollUpClosedDays(int maxDays) {
+        LocalDate lastClosed = today().minusDays(1);
+        Optional<LocalDate> next = orderDailyStatsRepository
+            .findLastDay()
+            .map(day -> day.plusDays(1))
+            .or(() -> orderWithArchiveRepository.findFirstOrderDate().map(OrderStatsService::dayOf));
+        if (next.isEmpty() || next.orElseThrow().isAfter(lastClosed)) {
+            return 0;
+        }
+        LocalDate from = next.orElseThrow();
+        LocalDate to = from.plusDays(maxDays - 1L).isBefore(lastClosed) ? from.plusDays(maxDays - 1L) : lastClosed;
+        LOG.debug("Rolling up the Orders from {} to {}", from, to);
+
+        orderDailyStatsRepository.lockOrdersForRollup();
+        Map<LocalDate, Map<OrderStatus, OrderStatsDTO>> aggregates = new HashMap<>();
+        orderWithArchiveRepository
+            .findStatsByDayAndStatus(startOf(from), startOf(to.plusDays(1)))
+            .forEach(stats -> aggregates.computeIfAbsent(stats.day(), day -> new EnumMap<>(OrderStatus.class)).put(stats.status(), stats));
+        List<OrderDailyStats> rows = new ArrayList<>();
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1), days++) {
+            Map<OrderStatus, OrderStatsDTO> dayAggregates = aggregates.getOrDefault(day, Map.of());
+            for (OrderStatus status : OrderStatus.values()) {
+                OrderStatsDTO stats = dayAggregates.get(status);
+                rows.add(
+                    new OrderDailyStats()
+                        .orderDay(day)
+                        .status(status)
+                        .orderCount(stats != null ? stats.orderCount() : 0L)
+                        .totalAmount(stats != null ? stats.totalAmount() : BigDecimal.ZERO)
+                        .shippingCost(stats != null ? stats.shippingCost() : BigDecimal.ZERO)
+                );
+            }
+        }
+        orderDailyStatsRepository.saveAll(rows);
+        return days;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return Objects.requireNonNullElse(value, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,16 @@
+package myapp.service;
+
+import myapp.domain.enumeration.OrderStatus;
+
+public class OrderStatusTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OrderStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("An order cannot go from " + from + " to " + to);
+    }
+
+    public OrderStatusTransitionException(OrderStatus initial) {
+        super("An order cannot be created as " + initial + ", only as " + OrderStatus.PENDING);
+    }
+}
@@ -0,0 +1,44 @@
+package myapp.service;
+
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the recorded change events to the {@link OutboxSink}.
+ * <p>
+ * This is scheduled to get fired every {@code application.outbox.relay-interval}. The events are published
+ * {@code application.outbox.batch-size} at a time, each batch in its own transaction, until the outbox is empty; a
+ * batch that fails is retried by the next run.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+
+    private final ApplicationProperties.Outbox properties;
+
+    public OutboxRelay(OutboxService outboxService, ApplicationProperties applicationProperties) {
+        this.outboxService = outboxService;
+        this.properties = applicationProperties.getOutbox();
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox.relay-interval:PT1S}")
+    public void publishEvents() {
+        int batchSize = properties.getBatchSize();
+        try {
+            int events;
+            do {
+                events = outboxService.publishBatch(batchSize);
+            } while (events == batchSize);
+        } catch (RuntimeException e) {
+            LOG.warn("Cannot publish the outbox events, will retry: {}", e.toString());
+        } finally {
+            outboxService.updatePendingAge();
+        }
+    }
+}
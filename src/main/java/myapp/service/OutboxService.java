@@ -0,0 +1,193 @@
+package myapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import myapp.domain.OutboxEvent;
+import myapp.domain.Versioned;
+import myapp.domain.enumeration.OutboxEventType;
+import myapp.repository.OutboxEventRepository;
+import myapp.service.dto.OutboxEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link myapp.domain.OutboxEvent}.
+ * <p>
+ * The services record a change event in the transaction of each change of a {@link myapp.domain.Product},
+ * {@link myapp.domain.Order} or {@link myapp.domain.Customer}, so that an event exists if and only if its change
+ * committed. The {@link OutboxRelay} then publishes them in batches to the {@link OutboxSink}.
+ * <p>
+ * The events of an aggregate are published in the order of its version. The changes of an aggregate hold its row lock
+ * until they commit, so its versions, unlike the ids of its events, increase in commit order on every instance.
+ * <p>
+ * Metrics: {@code app.outbox.published} counts the published events, {@code app.outbox.lag} times each event from its
+ * change to its publication and {@code app.outbox.pending.age} is the age of the oldest unpublished event.
+ */
+@Service
+@Transactional
+public class OutboxService {
+
+    public static final String PUBLISHED_METER_NAME = "app.outbox.published";
+    public static final String LAG_METER_NAME = "app.outbox.lag";
+    public static final String PENDING_AGE_METER_NAME = "app.outbox.pending.age";
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final OutboxSink outboxSink;
+
+    private final ObjectWriter objectWriter;
+
+    private final Counter publishedCounter;
+
+    private final Timer lagTimer;
+
+    private final AtomicLong pendingAgeMillis = new AtomicLong();
+
+    public OutboxService(
+        OutboxEventRepository outboxEventRepository,
+        OutboxSink outboxSink,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.publishedCounter = Counter.builder(PUBLISHED_METER_NAME)
+            .description("Number of change events published by the outbox relay")
+            .baseUnit("events")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder(LAG_METER_NAME)
+            .description("Time from a change to the publication of its event")
+            .register(meterRegistry);
+        TimeGauge.builder(PENDING_AGE_METER_NAME, pendingAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest change event not yet published")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record the change of an aggregate, in the transaction of the change.
+     *
+     * @param aggregateType the class of the aggregate.
+     * @param eventType the kind of change.
+     * @param aggregate the aggregate.
+     * @param payload the state of an aggregate to publish, or {@code null} for none.
+     * @param <T> the type of the aggregate.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T extends Versioned> void record(Class<?> aggregateType, OutboxEventType eventType, T aggregate, Function<T, ?> payload) {
+        recordAll(aggregateType, eventType, List.of(aggregate), payload);
+    }
+
+    /**
+     * Record the changes of aggregates, in the transaction of the changes. The persistence context is flushed first, so
+     * that the events and their payloads carry the versions and dates set by the flush. A deletion, which leaves the
+     * version as it was, is given the version following it.
+     *
+     * @param aggregateType the class of the aggregates.
+     * @param eventType the kind of change.
+     * @param aggregates the aggregates, in the order of their changes.
+     * @param payload the state of an aggregate to publish, or {@code null} for none.
+     * @param <T> the type of the aggregates.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T extends Versioned> void recordAll(
+        Class<?> aggregateType,
+        OutboxEventType eventType,
+        Collection<T> aggregates,
+        Function<T, ?> payload
+    ) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.flush();
+        Instant now = Instant.now();
+        List<OutboxEvent> events = aggregates
+            .stream()
+            .map(aggregate ->
+                new OutboxEvent()
+                    .aggregateType(aggregateType.getSimpleName())
+                    .aggregateId(aggregate.getId())
+                    .aggregateVersion(eventType == OutboxEventType.DELETED ? aggregate.getVersion() + 1 : aggregate.getVersion())
+                    .eventType(eventType)
+                    .payload(toJson(payload.apply(aggregate)))
+                    .createdDate(now)
+            )
+            .toList();
+        outboxEventRepository.saveAll(events);
+    }
+
+    /**
+     * Publish the next events to the sink and delete them, in one transaction: the events of the aggregates with the
+     * oldest pending events, so that no event waits behind the later events of other aggregates.
+     *
+     * @param batchSize the maximum number of events to publish.
+     * @return the number of events published.
+     */
+    public int publishBatch(int batchSize) {
+        List<OutboxEvent> events = outboxEventRepository.findNextByAggregateAgeForUpdate(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        outboxSink.publish(events.stream().map(OutboxService::toDto).toList());
+        outboxEventRepository.deleteAllInBatch(events);
+
+        Instant now = Instant.now();
+        events.forEach(event -> lagTimer.record(Duration.between(event.getCreatedDate(), now)));
+        publishedCounter.increment(events.size());
+        LOG.debug("Published {} outbox events, up to {}", events.size(), events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    /**
+     * Refresh the age of the oldest unpublished event, exposed as a gauge.
+     */
+    @Transactional(readOnly = true)
+    public void updatePendingAge() {
+        Instant now = Instant.now();
+        pendingAgeMillis.set(
+            outboxEventRepository.findOldestCreatedDate().map(oldest -> Duration.between(oldest, now).toMillis()).orElse(0L)
+        );
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectWriter.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the change event", e);
+        }
+    }
+
+    private static OutboxEventDTO toDto(OutboxEvent event) {
+        return new OutboxEventDTO(
+            event.getId(),
+            event.getAggregateType(),
+            event.getAggregateId(),
+            event.getAggregateVersion(),
+            event.getEventType(),
+            event.getPayload(),
+            event.getCreatedDate()
+        );
+    }
+}
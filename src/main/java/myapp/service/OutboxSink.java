@@ -0,0 +1,20 @@
+package myapp.service;
+
+import java.util.List;
+import myapp.service.dto.OutboxEventDTO;
+
+/**
+ * Where the outbox relay publishes the change events, selected by {@code application.outbox.sink}.
+ * <p>
+ * A batch is published inside the transaction that deletes its events from the outbox: if publishing throws, the
+ * events stay in the outbox and are published again by the next run. Delivery is therefore at least once, and a sink
+ * must tolerate seeing a batch again.
+ */
+public interface OutboxSink {
+    /**
+     * Publish a batch of events.
+     *
+     * @param events the events, in the order they were recorded.
+     */
+    void publish(List<OutboxEventDTO> events);
+}
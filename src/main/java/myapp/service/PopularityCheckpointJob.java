@@ -0,0 +1,49 @@
+package myapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checkpoints the popularity counters of {@link PopularityService}.
+ * <p>
+ * This is scheduled to get fired every {@code application.popularity.checkpoint-interval}, starting
+ * {@code application.popularity.checkpoint-initial-delay} after startup, when the first run restores the counters of
+ * the last checkpoint. The counters are checkpointed once more on shutdown.
+ */
+@Component
+public class PopularityCheckpointJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PopularityCheckpointJob.class);
+
+    private final PopularityService popularityService;
+
+    public PopularityCheckpointJob(PopularityService popularityService) {
+        this.popularityService = popularityService;
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.popularity.checkpoint-initial-delay:PT10S}",
+        fixedDelayString = "${application.popularity.checkpoint-interval:PT1M}"
+    )
+    public void checkpoint() {
+        try {
+            if (!popularityService.isRestored()) {
+                popularityService.restore();
+            }
+            popularityService.checkpoint();
+        } catch (RuntimeException e) {
+            LOG.warn("Cannot checkpoint the popularity counters, will retry: {}", e.toString());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void checkpointOnShutdown() {
+        if (popularityService.isRestored()) {
+            checkpoint();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package myapp.service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import myapp.config.ApplicationProperties;
+import myapp.domain.OrderItem;
+import myapp.domain.PopularityCounter;
+import myapp.domain.Product;
+import myapp.domain.enumeration.PopularityRanking;
+import myapp.repository.OrderItemRepository;
+import myapp.repository.PopularityCounterRepository;
+import myapp.repository.WishListRepository;
+import myapp.service.dto.PopularProductDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service ranking the {@link Product}s by popularity: the wish lists they are added to, and the units ordered.
+ * <p>
+ * Each {@link PopularityRanking} is a {@link SpaceSavingSketch} of {@code application.popularity.capacity} counters,
+ * fed by the wish list and checkout writes once they commit, and read from memory. The counters are checkpointed to
+ * {@link PopularityCounter} by {@link PopularityCheckpointJob} and merged back after a restart; a ranking without a
+ * checkpoint is seeded from the wish lists and the order items. Each instance counts the writes it serves, and the
+ * last one to checkpoint a ranking wins.
+ */
+@Service
+public class PopularityService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PopularityService.class);
+
+    private final PopularityCounterRepository popularityCounterRepository;
+
+    private final WishListRepository wishListRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final Map<PopularityRanking, SpaceSavingSketch> sketches = new EnumMap<>(PopularityRanking.class);
+
+    private final Map<PopularityRanking, Long> checkpointedModifications = new ConcurrentHashMap<>();
+
+    private volatile boolean restored;
+
+    public PopularityService(
+        PopularityCounterRepository popularityCounterRepository,
+        WishListRepository wishListRepository,
+        OrderItemRepository orderItemRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.popularityCounterRepository = popularityCounterRepository;
+        this.wishListRepository = wishListRepository;
+        this.orderItemRepository = orderItemRepository;
+        int capacity = applicationProperties.getPopularity().getCapacity();
+        for (PopularityRanking ranking : PopularityRanking.values()) {
+            sketches.put(ranking, new SpaceSavingSketch(capacity));
+        }
+    }
+
+    /**
+     * @return the number of products counted by each ranking, and so the largest {@code k} it answers.
+     */
+    public int getCapacity() {
+        return sketches.get(PopularityRanking.SALES).getCapacity();
+    }
+
+    /**
+     * Get the most popular products of a ranking, from memory.
+     *
+     * @param ranking the ranking.
+     * @param k the number of products.
+     * @return at most {@code k} products, most popular first.
+     */
+    public List<PopularProductDTO> findPopular(PopularityRanking ranking, int k) {
+        return sketches.get(ranking).top(k);
+    }
+
+    /**
+     * Count a product added to a wish list, once the current transaction commits.
+     *
+     * @param productId the id of the product.
+     */
+    public void productWished(Long productId) {
+        afterCommit(() -> sketches.get(PopularityRanking.WISH).offer(productId, 1));
+    }
+
+    /**
+     * Count the units of the ordered products, once the current transaction commits.
+     *
+     * @param items the items of the placed order.
+     */
+    public void productsSold(Collection<OrderItem> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        items.forEach(item -> quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum));
+        afterCommit(() -> {
+            SpaceSavingSketch sketch = sketches.get(PopularityRanking.SALES);
+            quantities.forEach(sketch::offer);
+        });
+    }
+
+    /**
+     * Stop counting a product, once the current transaction commits.
+     *
+     * @param productId the id of the deleted product.
+     */
+    public void productDeleted(Long productId) {
+        afterCommit(() -> sketches.values().forEach(sketch -> sketch.remove(productId)));
+    }
+
+    /**
+     * @return whether the checkpointed counters were restored.
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Merge the checkpointed counters into the counts of the writes served since startup, or, for a ranking that has no
+     * checkpoint, merge a seed read from the wish lists or the order items. The seed also holds the writes served since
+     * startup, which are then counted twice; they are few next to the totals it is read from.
+     * <p>
+     * All the rankings are read before any is merged, so that a failed read leaves every ranking as it was and the
+     * restore can be retried.
+     */
+    @Transactional(readOnly = true)
+    public void restore() {
+        Map<PopularityRanking, List<PopularProductDTO>> restoredCounters = new EnumMap<>(PopularityRanking.class);
+        for (PopularityRanking ranking : PopularityRanking.values()) {
+            List<PopularProductDTO> counters = popularityCounterRepository
+                .findAllByRanking(ranking)
+                .stream()
+                .map(counter -> new PopularProductDTO(counter.getProductId(), counter.getEstimate(), counter.getError()))
+                .toList();
+            if (!counters.isEmpty()) {
+                LOG.debug("Restoring {} {} popularity counters", counters.size(), ranking);
+                restoredCounters.put(ranking, counters);
+                continue;
+            }
+            PageRequest seedPage = PageRequest.of(0, sketches.get(ranking).getCapacity());
+            List<PopularProductDTO> seed = switch (ranking) {
+                case WISH -> wishListRepository.findMostWishedProducts(seedPage);
+                case SALES -> orderItemRepository.findBestSellingProducts(seedPage);
+            };
+            LOG.info("Seeding the {} popularity ranking with {} products", ranking, seed.size());
+            restoredCounters.put(ranking, seed);
+        }
+        restoredCounters.forEach((ranking, counters) -> {
+            SpaceSavingSketch sketch = sketches.get(ranking);
+            counters.forEach(product -> sketch.merge(product.productId(), product.estimate(), product.error()));
+        });
+        restored = true;
+    }
+
+    /**
+     * Replace the checkpoint of each ranking that changed since its last checkpoint.
+     *
+     * @return the number of rankings checkpointed.
+     */
+    @Transactional
+    public int checkpoint() {
+        int checkpointed = 0;
+        for (PopularityRanking ranking : PopularityRanking.values()) {
+            SpaceSavingSketch sketch = sketches.get(ranking);
+            if (sketch.getModifications() == checkpointedModifications.getOrDefault(ranking, -1L)) {
+                continue;
+            }
+            SpaceSavingSketch.Snapshot snapshot = sketch.snapshot();
+            popularityCounterRepository.deleteAllByRanking(ranking);
+            popularityCounterRepository.saveAll(
+                snapshot
+                    .counters()
+                    .stream()
+                    .map(product ->
+                        new PopularityCounter()
+                            .ranking(ranking)
+                            .productId(product.productId())
+                            .estimate(product.estimate())
+                            .error(product.error())
+                    )
+                    .toList()
+            );
+            afterCommit(() -> checkpointedModifications.put(ranking, snapshot.modifications()));
+            LOG.debug("Checkpointed {} {} popularity counters", snapshot.counters().size(), ranking);
+            checkpointed++;
+        }
+        return checkpointed;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package myapp.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The length, width and height of a {@link myapp.domain.Product} in centimetres, parsed from its free-text
+ * {@code dimensions} such as {@code 30x20x10}, {@code 30 x 20 x 10 cm} or {@code 300*200*100mm}.
+ *
+ * @param length the length, in centimetres.
+ * @param width the width, in centimetres.
+ * @param height the height, in centimetres.
+ */
+record ProductDimensions(double length, double width, double height) {
+    private static final String NUMBER = "\\s*([0-9]+(?:[.,][0-9]+)?)\\s*";
+
+    private static final Pattern DIMENSIONS = Pattern.compile(
+        NUMBER + "[x\\u00d7*]" + NUMBER + "[x\\u00d7*]" + NUMBER + "(mm|cm|m|in)?\\s*",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * @param dimensions the dimensions as entered, in centimetres unless followed by {@code mm}, {@code m} or {@code in}.
+     * @return the dimensions, or empty if they cannot be parsed.
+     */
+    static Optional<ProductDimensions> parse(String dimensions) {
+        if (dimensions == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = DIMENSIONS.matcher(dimensions);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        double toCentimetres = switch (matcher.group(4) != null ? matcher.group(4).toLowerCase(Locale.ROOT) : "cm") {
+            case "mm" -> 0.1;
+            case "m" -> 100;
+            case "in" -> 2.54;
+            default -> 1;
+        };
+        return Optional.of(
+            new ProductDimensions(
+                number(matcher.group(1)) * toCentimetres,
+                number(matcher.group(2)) * toCentimetres,
+                number(matcher.group(3)) * toCentimetres
+            )
+        );
+    }
+
+    /**
+     * @return the same sides, sorted from the longest to the shortest.
+     */
+    ProductDimensions longestFirst() {
+        double[] sides = { length, width, height };
+        Arrays.sort(sides);
+        return new ProductDimensions(sides[2], sides[1], sides[0]);
+    }
+
+    /**
+     * @return the volume, in cubic centimetres.
+     */
+    double volume() {
+        return length * width * height;
+    }
+
+    private static double number(String value) {
+        return Double.parseDouble(value.replace(',', '.'));
+    }
+}
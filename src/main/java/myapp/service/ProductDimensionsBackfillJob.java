@@ -0,0 +1,42 @@
+package myapp.service;
+
+import java.util.Optional;
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses the dimensions of the {@link myapp.domain.Product}s written before their sides were parsed on write.
+ * <p>
+ * This is fired once, {@code application.product-dimensions.backfill-initial-delay} after startup. The products are
+ * examined {@code application.product-dimensions.backfill-chunk-size} at a time in id order, each chunk in its own
+ * transaction, so the products whose dimensions cannot be parsed are examined only once.
+ */
+@Component
+public class ProductDimensionsBackfillJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductDimensionsBackfillJob.class);
+
+    private final ProductService productService;
+
+    private final int chunkSize;
+
+    public ProductDimensionsBackfillJob(ProductService productService, ApplicationProperties applicationProperties) {
+        this.productService = productService;
+        this.chunkSize = applicationProperties.getProductDimensions().getBackfillChunkSize();
+    }
+
+    @Scheduled(initialDelayString = "${application.product-dimensions.backfill-initial-delay:PT30S}")
+    public void backfillDimensions() {
+        long lastId = 0;
+        Optional<Long> chunkLastId;
+        while ((chunkLastId = productService.backfillDimensions(lastId, chunkSize)).isPresent()) {
+            lastId = chunkLastId.orElseThrow();
+        }
+        if (lastId > 0) {
+            LOG.info("Parsed the dimensions of the Products up to id {}", lastId);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package myapp.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Product;
+import myapp.domain.ProductPriceHistory;
+import myapp.repository.ProductPriceHistoryRepository;
+import myapp.service.dto.PricePointDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service Implementation for managing {@link myapp.domain.ProductPriceHistory}.
+ * <p>
+ * The price of a product at an instant is answered from a {@link RecentPriceCache} of the latest price points of the
+ * products asked about, and from the database for older instants.
+ */
+@Service
+@Transactional
+public class ProductPriceHistoryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductPriceHistoryService.class);
+
+    private final ProductPriceHistoryRepository productPriceHistoryRepository;
+
+    private final RecentPriceCache recentPrices;
+
+    public ProductPriceHistoryService(
+        ProductPriceHistoryRepository productPriceHistoryRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productPriceHistoryRepository = productPriceHistoryRepository;
+        ApplicationProperties.PriceHistory properties = applicationProperties.getPriceHistory();
+        this.recentPrices = new RecentPriceCache(properties.getCacheSize(), properties.getCachePoints(), properties.getCacheTtl());
+    }
+
+    /**
+     * Record the current price of a product.
+     *
+     * @param product the product, with its new price.
+     * @param validFrom when the price took effect.
+     */
+    public void recordPrice(Product product, Instant validFrom) {
+        LOG.debug("Request to record the price of Product {} : {}", product.getId(), product.getPrice());
+        productPriceHistoryRepository.save(new ProductPriceHistory().product(product).price(product.getPrice()).validFrom(validFrom));
+        evictAfterCommit(product.getId());
+    }
+
+    /**
+     * Get the price of a product at an instant.
+     *
+     * @param productId the id of the product.
+     * @param at the instant.
+     * @return the price point in effect at that instant, or empty if the product had no price yet (or does not exist).
+     */
+    @Transactional(readOnly = true)
+    public Optional<PricePointDTO> findPriceAt(Long productId, Instant at) {
+        LOG.debug("Request to get the price of Product {} at {}", productId, at);
+        Instant now = Instant.now();
+        RecentPriceCache.Entry entry = recentPrices.get(productId, now);
+        if (entry == null) {
+            long generation = recentPrices.generation(productId);
+            List<PricePointDTO> latest = productPriceHistoryRepository.findLatestPricePoints(
+                productId,
+                now,
+                PageRequest.of(0, recentPrices.getPointsPerProduct())
+            );
+            entry = recentPrices.put(productId, latest, now, generation);
+        }
+        if (entry.covers(at)) {
+            return entry.priceAt(at);
+        }
+        return productPriceHistoryRepository.findLatestPricePoints(productId, at, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    /**
+     * Get the prices of a product over a range.
+     *
+     * @param productId the id of the product.
+     * @param from the start of the range.
+     * @param to the end of the range.
+     * @return the price in effect at {@code from}, if any, followed by the price changes up to {@code to}, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<PricePointDTO> findPrices(Long productId, Instant from, Instant to) {
+        LOG.debug("Request to get the prices of Product {} from {} to {}", productId, from, to);
+        List<PricePointDTO> prices = new ArrayList<>();
+        findPriceAt(productId, from).ifPresent(prices::add);
+        prices.addAll(productPriceHistoryRepository.findPricePointsBetween(productId, from, to));
+        return prices;
+    }
+
+    /**
+     * Forget the cached prices of a deleted product.
+     *
+     * @param productId the id of the product.
+     */
+    public void evict(Long productId) {
+        evictAfterCommit(productId);
+    }
+
+    private void evictAfterCommit(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentPrices.evict(productId);
+                    }
+                }
+            );
+        } else {
+            recentPrices.evict(productId);
+        }
+    }
+}
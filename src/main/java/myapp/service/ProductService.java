@@ -1,11 +1,34 @@
 package myapp.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import myapp.domain.Product;
+import myapp.domain.Product_;
+import myapp.domain.enumeration.OutboxEventType;
+import myapp.repository.PartialUpdate;
 import myapp.repository.ProductRepository;
+import myapp.service.dto.BulkUpdateResultDTO;
+import myapp.service.dto.ModificationStampDTO;
+import myapp.service.dto.ProductDimensionsDTO;
+import myapp.service.dto.ProductDTO;
+import myapp.service.mapper.ProductMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,105 +44,304 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final ProductMapper productMapper;
+
+    private final Validator validator;
+
+    private final ProductPriceHistoryService productPriceHistoryService;
+
+    private final OutboxService outboxService;
+
+    private final LiveUpdateService liveUpdateService;
+
+    private final PopularityService popularityService;
+
+    public ProductService(
+        ProductRepository productRepository,
+        ProductMapper productMapper,
+        Validator validator,
+        ProductPriceHistoryService productPriceHistoryService,
+        OutboxService outboxService,
+        LiveUpdateService liveUpdateService,
+        PopularityService popularityService
+    ) {
         this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.validator = validator;
+        this.productPriceHistoryService = productPriceHistoryService;
+        this.outboxService = outboxService;
+        this.liveUpdateService = liveUpdateService;
+        this.popularityService = popularityService;
     }
 
     /**
-     * Save a product.
+     * Save a product, starting its price history.
      *
      * @param product the entity to save.
      * @return the persisted entity.
      */
     public Product save(Product product) {
         LOG.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        setDimensionSides(product);
+        Product result = productRepository.save(product);
+        productPriceHistoryService.recordPrice(result, now());
+        outboxService.record(Product.class, OutboxEventType.CREATED, result, productMapper::toDto);
+        liveUpdateService.productChanged(result);
+        return result;
     }
 
     /**
-     * Update a product.
+     * Update a product. The modification date is set by the server, as conditional requests depend on it, and a price
+     * change is recorded in the price history.
      *
      * @param product the entity to save.
      * @return the persisted entity.
      */
     public Product update(Product product) {
         LOG.debug("Request to update Product : {}", product);
-        return productRepository.save(product);
+        // loads the product into the persistence context, where the merge of save() then finds it
+        BigDecimal previousPrice = productRepository.findById(product.getId()).map(Product::getPrice).orElse(null);
+        product.setDateModified(now());
+        setDimensionSides(product);
+        Product result = productRepository.save(product);
+        if (priceChanged(previousPrice, result.getPrice())) {
+            productPriceHistoryService.recordPrice(result, result.getDateModified());
+        }
+        outboxService.record(Product.class, OutboxEventType.UPDATED, result, productMapper::toDto);
+        liveUpdateService.productChanged(result);
+        return result;
     }
 
     /**
-     * Partially update a product.
+     * Partially update a product, with a single {@code UPDATE} of the given fields. When the product carries a
+     * version, the update only applies to that version.
      *
      * @param product the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the product was modified concurrently.
      */
     public Optional<Product> partialUpdate(Product product) {
         LOG.debug("Request to partially update Product : {}", product);
 
-        return productRepository
-            .findById(product.getId())
-            .map(existingProduct -> {
-                if (product.getTitle() != null) {
-                    existingProduct.setTitle(product.getTitle());
-                }
-                if (product.getKeywords() != null) {
-                    existingProduct.setKeywords(product.getKeywords());
-                }
-                if (product.getDescription() != null) {
-                    existingProduct.setDescription(product.getDescription());
-                }
-                if (product.getRating() != null) {
-                    existingProduct.setRating(product.getRating());
-                }
-                if (product.getPrice() != null) {
-                    existingProduct.setPrice(product.getPrice());
-                }
-                if (product.getQuantityInStock() != null) {
-                    existingProduct.setQuantityInStock(product.getQuantityInStock());
-                }
-                if (product.getStatus() != null) {
-                    existingProduct.setStatus(product.getStatus());
-                }
-                if (product.getWeight() != null) {
-                    existingProduct.setWeight(product.getWeight());
-                }
-                if (product.getDimensions() != null) {
-                    existingProduct.setDimensions(product.getDimensions());
-                }
-                if (product.getDateAdded() != null) {
-                    existingProduct.setDateAdded(product.getDateAdded());
-                }
-                if (product.getDateModified() != null) {
-                    existingProduct.setDateModified(product.getDateModified());
+        BigDecimal previousPrice = product.getPrice() != null ? productRepository.findPriceById(product.getId()).orElse(null) : null;
+        Optional<Product> result = productRepository.partialUpdate(changesOf(product));
+        result
+            .filter(updated -> product.getPrice() != null && priceChanged(previousPrice, updated.getPrice()))
+            .ifPresent(updated -> productPriceHistoryService.recordPrice(updated, updated.getDateModified()));
+        result.ifPresent(updated -> {
+            outboxService.record(Product.class, OutboxEventType.UPDATED, updated, productMapper::toDto);
+            liveUpdateService.productChanged(updated);
+        });
+        return result;
+    }
+
+    /**
+     * Partially update many products in one transaction. The products are loaded with a single query and their changes
+     * are flushed as JDBC-batched {@code UPDATE}s; an item that cannot be applied (unknown id, stale version, invalid
+     * value) is reported in its result instead of failing the others.
+     *
+     * @param products the partial products, each with its id and optionally the version it was read at. Their ids must be
+     * distinct: the items of one id would all be checked against the version it was loaded at.
+     * @return the result of each item, in order.
+     * @throws org.springframework.dao.ConcurrencyFailureException if a product was modified between its load and the flush.
+     */
+    public List<BulkUpdateResultDTO> partialUpdateAll(List<Product> products) {
+        LOG.debug("Request to partially update {} Products", products.size());
+
+        Set<Long> ids = products.stream().map(Product::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Product> existingProducts = productRepository
+            .findAllById(ids)
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BulkUpdateResultDTO> results = new ArrayList<>(products.size());
+        Map<Integer, Product> updatedProducts = new HashMap<>();
+        Map<Long, BigDecimal> previousPrices = new HashMap<>();
+        for (Product product : products) {
+            Product existingProduct = product.getId() != null ? existingProducts.get(product.getId()) : null;
+            if (product.getId() == null) {
+                results.add(BulkUpdateResultDTO.failed(null, 400, "Invalid id"));
+            } else if (existingProduct == null) {
+                results.add(BulkUpdateResultDTO.failed(product.getId(), 404, "Entity not found"));
+            } else if (product.getVersion() != null && !product.getVersion().equals(existingProduct.getVersion())) {
+                results.add(BulkUpdateResultDTO.failed(product.getId(), 409, "Version " + existingProduct.getVersion() + " expected"));
+            } else {
+                PartialUpdate<Product> update = changesOf(product);
+                Set<ConstraintViolation<Product>> violations = update.validate(validator);
+                if (violations.isEmpty()) {
+                    previousPrices.putIfAbsent(existingProduct.getId(), existingProduct.getPrice());
+                    update.applyTo(existingProduct);
+                    updatedProducts.put(results.size(), existingProduct);
+                    results.add(null);
+                } else {
+                    results.add(BulkUpdateResultDTO.failed(product.getId(), 400, describe(violations)));
                 }
+            }
+        }
+
+        previousPrices.forEach((id, previousPrice) -> {
+            Product updated = existingProducts.get(id);
+            if (priceChanged(previousPrice, updated.getPrice())) {
+                productPriceHistoryService.recordPrice(updated, updated.getDateModified());
+            }
+        });
+        productRepository.flush();
+        List<Product> changedProducts = previousPrices.keySet().stream().map(existingProducts::get).toList();
+        outboxService.recordAll(Product.class, OutboxEventType.UPDATED, changedProducts, productMapper::toDto);
+        liveUpdateService.productsChanged(changedProducts);
+        updatedProducts.forEach((index, updated) -> results.set(index, BulkUpdateResultDTO.updated(updated.getId(), updated.getVersion())));
+        return results;
+    }
+
+    private static PartialUpdate<Product> changesOf(Product product) {
+        PartialUpdate<Product> update = PartialUpdate.of(Product.class, product.getId(), product.getVersion())
+            .setIfPresent(Product_.title, product.getTitle())
+            .setIfPresent(Product_.keywords, product.getKeywords())
+            .setIfPresent(Product_.description, product.getDescription())
+            .setIfPresent(Product_.rating, product.getRating())
+            .setIfPresent(Product_.price, product.getPrice())
+            .setIfPresent(Product_.quantityInStock, product.getQuantityInStock())
+            .setIfPresent(Product_.status, product.getStatus())
+            .setIfPresent(Product_.weight, product.getWeight())
+            .setIfPresent(Product_.dimensions, product.getDimensions())
+            .setIfPresent(Product_.dateAdded, product.getDateAdded())
+            .set(Product_.dateModified, now());
+        if (product.getDimensions() != null) {
+            Optional<ProductDimensions> sides = sidesOf(product.getDimensions());
+            update
+                .set(Product_.dimensionLength, sides.map(ProductDimensions::length).orElse(null))
+                .set(Product_.dimensionWidth, sides.map(ProductDimensions::width).orElse(null))
+                .set(Product_.dimensionHeight, sides.map(ProductDimensions::height).orElse(null));
+        }
+        return update;
+    }
+
+    /**
+     * Set the sides of a product from its dimensions, or clear them if the dimensions cannot be parsed.
+     */
+    private static void setDimensionSides(Product product) {
+        Optional<ProductDimensions> sides = sidesOf(product.getDimensions());
+        product
+            .dimensionLength(sides.map(ProductDimensions::length).orElse(null))
+            .dimensionWidth(sides.map(ProductDimensions::width).orElse(null))
+            .dimensionHeight(sides.map(ProductDimensions::height).orElse(null));
+    }
+
+    private static Optional<ProductDimensions> sidesOf(String dimensions) {
+        return ProductDimensions.parse(dimensions).map(ProductDimensions::longestFirst);
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
 
-                return existingProduct;
-            })
-            .map(productRepository::save);
+    private static boolean priceChanged(BigDecimal previousPrice, BigDecimal price) {
+        return previousPrice == null || previousPrice.compareTo(price) != 0;
+    }
+
+    private static String describe(Set<ConstraintViolation<Product>> violations) {
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Count the products, or those fitting in a box when any of its sides is given, as selected by
+     * {@link #findAll(Double, Double, Double, Pageable, Consumer)}.
+     *
+     * @param maxLength the maximum longest side in centimetres, unbounded if {@code null}.
+     * @param maxWidth the maximum middle side in centimetres, unbounded if {@code null}.
+     * @param maxHeight the maximum shortest side in centimetres, unbounded if {@code null}.
+     * @return the number of products.
+     */
+    @Transactional(readOnly = true)
+    public long count(Double maxLength, Double maxWidth, Double maxHeight) {
+        if (maxLength == null && maxWidth == null && maxHeight == null) {
+            return productRepository.count();
+        }
+        return productRepository.countBySize(orUnbounded(maxLength), orUnbounded(maxWidth), orUnbounded(maxHeight));
     }
 
     /**
-     * Get all the products.
+     * Get a page of products, or of those fitting in a box when any of its sides is given, selected column by column and
+     * read from the database as the consumer takes them, so that the page is never held in memory.
+     * <p>
+     * The sides of a product are compared longest first: it fits in a box when its longest side is at most
+     * {@code maxLength}, its middle side at most {@code maxWidth} and its shortest side at most {@code maxHeight}. The
+     * products whose dimensions cannot be parsed do not fit in any box.
      *
+     * @param maxLength the maximum longest side in centimetres, unbounded if {@code null}.
+     * @param maxWidth the maximum middle side in centimetres, unbounded if {@code null}.
+     * @param maxHeight the maximum shortest side in centimetres, unbounded if {@code null}.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @param consumer the consumer of the DTOs, called within the transaction.
      */
     @Transactional(readOnly = true)
-    public Page<Product> findAll(Pageable pageable) {
-        LOG.debug("Request to get all Products");
-        return productRepository.findAll(pageable);
+    public void findAll(Double maxLength, Double maxWidth, Double maxHeight, Pageable pageable, Consumer<ProductDTO> consumer) {
+        LOG.debug("Request to get all Products fitting in {} x {} x {}", maxLength, maxWidth, maxHeight);
+        try (
+            Stream<ProductDTO> products = maxLength == null && maxWidth == null && maxHeight == null
+                ? productRepository.streamAllDTO(pageable)
+                : productRepository.streamAllDTOBySize(orUnbounded(maxLength), orUnbounded(maxWidth), orUnbounded(maxHeight), pageable)
+        ) {
+            products.forEach(consumer);
+        }
+    }
+
+    private static double orUnbounded(Double side) {
+        return side != null ? side : Double.MAX_VALUE;
     }
 
     /**
      * Get one product by id.
      *
      * @param id the id of the entity.
-     * @return the entity.
+     * @return the DTO.
      */
     @Transactional(readOnly = true)
-    public Optional<Product> findOne(Long id) {
+    public Optional<ProductDTO> findOne(Long id) {
         LOG.debug("Request to get Product : {}", id);
-        return productRepository.findById(id);
+        return productRepository.findById(id).map(productMapper::toDto);
+    }
+
+    /**
+     * Get the modification stamp of a product, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the id and modification date of the product.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ModificationStampDTO> findModificationStamp(Long id) {
+        return productRepository.findModificationStampById(id);
+    }
+
+    /**
+     * Parse the dimensions of the products without sides, in id order, after a given product. The products whose
+     * dimensions cannot be parsed are left without sides.
+     *
+     * @param afterId the id of the last product already examined, {@code 0} to start from the first.
+     * @param chunkSize the maximum number of products to examine.
+     * @return the id of the last product examined, or empty if there was none left to examine.
+     */
+    public Optional<Long> backfillDimensions(long afterId, int chunkSize) {
+        List<ProductDimensionsDTO> products = productRepository.findAllWithUnparsedDimensions(afterId, PageRequest.of(0, chunkSize));
+        int parsed = 0;
+        for (ProductDimensionsDTO product : products) {
+            ProductDimensions sides = sidesOf(product.dimensions()).orElse(null);
+            if (sides != null) {
+                parsed += productRepository.updateDimensionSides(
+                    product.id(),
+                    product.dimensions(),
+                    sides.length(),
+                    sides.width(),
+                    sides.height()
+                );
+            }
+        }
+        LOG.debug("Parsed the dimensions of {} of {} Products", parsed, products.size());
+        return products.isEmpty() ? Optional.empty() : Optional.of(products.get(products.size() - 1).id());
     }
 
     /**
@@ -129,6 +351,14 @@ public class ProductService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Product : {}", id);
-        productRepository.deleteById(id);
+        productRepository
+            .findById(id)
+            .ifPresent(product -> {
+                productRepository.delete(product);
+                outboxService.record(Product.class, OutboxEventType.DELETED, product, deleted -> null);
+                liveUpdateService.productDeleted(id);
+                popularityService.productDeleted(id);
+            });
+        productPriceHistoryService.evict(id);
     }
 }
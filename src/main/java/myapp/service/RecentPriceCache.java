@@ -0,0 +1,145 @@
+package myapp.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import myapp.service.dto.PricePointDTO;
+
+/**
+ * A bounded, least recently used cache of the latest price points of products, stored as two {@code long} arrays per
+ * product (epoch milliseconds and cents).
+ * <p>
+ * The service evicts the entry of a product when a price change of its own commits; entries also expire after their
+ * time-to-live, which bounds how stale a price changed by another instance can be.
+ * <p>
+ * An eviction also bumps the generation of the product, so that points read before a price change committed are not
+ * put after its eviction: the reader takes the {@linkplain #generation(Long) generation} before reading them, and the
+ * put is skipped if it changed. Generations are kept per stripe of product ids, so that they take a fixed space.
+ */
+final class RecentPriceCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int maxProducts;
+
+    private final int pointsPerProduct;
+
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> entries;
+
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    RecentPriceCache(int maxProducts, int pointsPerProduct, Duration ttl) {
+        this.maxProducts = maxProducts;
+        this.pointsPerProduct = pointsPerProduct;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > RecentPriceCache.this.maxProducts;
+            }
+        };
+    }
+
+    int getPointsPerProduct() {
+        return pointsPerProduct;
+    }
+
+    /**
+     * @param productId the product id.
+     * @param now the current instant.
+     * @return the entry of the product, or {@code null} if there is none or it has expired.
+     */
+    synchronized Entry get(Long productId, Instant now) {
+        Entry entry = entries.get(productId);
+        if (entry == null) {
+            return null;
+        }
+        if (now.toEpochMilli() - entry.loadedAt > ttlMillis) {
+            entries.remove(productId);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @param productId the product id.
+     * @return the generation of the product, to be passed to {@link #put} the points read after this call.
+     */
+    synchronized long generation(Long productId) {
+        return generations[stripe(productId)];
+    }
+
+    /**
+     * @param productId the product id.
+     * @param latestFirst at most {@link #getPointsPerProduct()} latest price points of the product, latest first.
+     * @param loadedAt when the points were read.
+     * @param generation the generation of the product before the points were read.
+     * @return the new entry, which is not cached if the product was evicted since that generation.
+     */
+    synchronized Entry put(Long productId, List<PricePointDTO> latestFirst, Instant loadedAt, long generation) {
+        Entry entry = new Entry(latestFirst, latestFirst.size() < pointsPerProduct, loadedAt.toEpochMilli());
+        if (generations[stripe(productId)] == generation) {
+            entries.put(productId, entry);
+        }
+        return entry;
+    }
+
+    synchronized void evict(Long productId) {
+        entries.remove(productId);
+        generations[stripe(productId)]++;
+    }
+
+    private static int stripe(Long productId) {
+        return Math.floorMod(productId.hashCode(), GENERATION_STRIPES);
+    }
+
+    static final class Entry {
+
+        private final long[] validFrom;
+
+        private final long[] cents;
+
+        private final boolean complete;
+
+        private final long loadedAt;
+
+        private Entry(List<PricePointDTO> latestFirst, boolean complete, long loadedAt) {
+            this.validFrom = new long[latestFirst.size()];
+            this.cents = new long[latestFirst.size()];
+            for (int i = 0; i < validFrom.length; i++) {
+                validFrom[i] = latestFirst.get(i).validFrom().toEpochMilli();
+                cents[i] = latestFirst.get(i).price().setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            }
+            this.complete = complete;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * @return whether the entry knows the price at this instant: it holds the whole history of the product, or a
+         * point at or before the instant.
+         */
+        boolean covers(Instant at) {
+            return complete || (validFrom.length > 0 && validFrom[validFrom.length - 1] <= at.toEpochMilli());
+        }
+
+        /**
+         * @return the price point in effect at this instant, which must be {@linkplain #covers(Instant) covered}.
+         */
+        Optional<PricePointDTO> priceAt(Instant at) {
+            long millis = at.toEpochMilli();
+            for (int i = 0; i < validFrom.length; i++) {
+                if (validFrom[i] <= millis) {
+                    return Optional.of(new PricePointDTO(BigDecimal.valueOf(cents[i], 2), Instant.ofEpochMilli(validFrom[i])));
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Address;
+import myapp.domain.OrderItem;
+import myapp.domain.Product;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service Implementation for computing the shipping cost of the {@link myapp.domain.Order}s.
+ * <p>
+ * An order ships as one parcel, priced by the rate table of {@code application.shipping.rates} (see
+ * {@link ShippingRateTable}) for the zone of the shipping address and the chargeable weight of the items: for each
+ * item, the greater of the actual weight of the product (in kilograms) and its volumetric weight (from its sides in
+ * centimetres, or from its dimensions parsed on the fly while it has no sides yet), times the quantity. The prices of
+ * the (zone, weight band) pairs are memoized, up to {@code application.shipping.memo-size} pairs.
+ */
+@Service
+public class ShippingCostService {
+
+    private final ShippingRateTable rateTable;
+
+    private final int memoSize;
+
+    private final Map<Long, BigDecimal> prices = new ConcurrentHashMap<>();
+
+    public ShippingCostService(ApplicationProperties applicationProperties, ResourceLoader resourceLoader, ObjectMapper objectMapper) {
+        ApplicationProperties.Shipping properties = applicationProperties.getShipping();
+        this.rateTable = ShippingRateTable.load(resourceLoader.getResource(properties.getRates()), objectMapper);
+        this.memoSize = properties.getMemoSize();
+    }
+
+    /**
+     * Compute the shipping cost of order items.
+     *
+     * @param destination the shipping address.
+     * @param items the items, with their products.
+     * @return the shipping cost.
+     */
+    public BigDecimal shippingCost(Address destination, Collection<OrderItem> items) {
+        long grams = 0;
+        for (OrderItem item : items) {
+            grams += chargeableGrams(item.getProduct()) * item.getQuantity();
+        }
+        return price(destination.getCountry(), destination.getPostcode(), grams);
+    }
+
+    BigDecimal price(String country, String postcode, long grams) {
+        int zone = rateTable.zoneOf(country, postcode);
+        int band = rateTable.bandOf(zone, grams);
+        long key = ((long) zone << 32) | band;
+        BigDecimal price = prices.get(key);
+        if (price == null) {
+            if (prices.size() >= memoSize) {
+                prices.clear();
+            }
+            price = rateTable.price(zone, band);
+            prices.put(key, price);
+        }
+        return price;
+    }
+
+    private long chargeableGrams(Product product) {
+        double kilograms = product.getWeight() != null ? product.getWeight() : 0;
+        double volume = product.getDimensionLength() != null
+            ? product.getDimensionLength() * product.getDimensionWidth() * product.getDimensionHeight()
+            : ProductDimensions.parse(product.getDimensions()).map(ProductDimensions::volume).orElse(0.0);
+        return rateTable.chargeableGrams(kilograms, volume);
+    }
+}
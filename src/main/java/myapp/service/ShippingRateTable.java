@@ -0,0 +1,221 @@
+package myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.core.io.Resource;
+
+/**
+ * A shipping rate table compiled from a JSON file into arrays: the price of a parcel by destination zone and weight
+ * band.
+ * <p>
+ * A destination is in the zone of its postcode prefix, if its country has zoned prefixes and the longest matching one
+ * is found by binary search in the sorted prefixes of the country; otherwise in the zone of its country, or the default
+ * zone. The weight band is found by binary search in the sorted upper bounds of the bands of the zone, in grams. A
+ * parcel heavier than the last band costs its price plus the price per additional kilogram started; each additional
+ * kilogram counts as one more band, so that a (zone, band) pair always has a single price.
+ */
+final class ShippingRateTable {
+
+    private final Map<String, Integer> zoneByCountry = new HashMap<>();
+
+    private final Map<String, String[]> prefixesByCountry = new HashMap<>();
+
+    private final Map<String, int[]> prefixZonesByCountry = new HashMap<>();
+
+    private final int maxPrefixLength;
+
+    private final int defaultZone;
+
+    private final String[] zoneNames;
+
+    private final long[][] bandUpperGrams;
+
+    private final long[][] bandPriceCents;
+
+    private final long[] additionalKgCents;
+
+    private final double volumetricDivisor;
+
+    ShippingRateTable(Rates rates) {
+        if (rates.zones() == null || rates.zones().isEmpty()) {
+            throw new IllegalStateException("The shipping rates have no zones");
+        }
+        int zoneCount = rates.zones().size();
+        zoneNames = new String[zoneCount];
+        bandUpperGrams = new long[zoneCount][];
+        bandPriceCents = new long[zoneCount][];
+        additionalKgCents = new long[zoneCount];
+        Map<String, TreeMap<String, Integer>> prefixZones = new HashMap<>();
+        for (int zone = 0; zone < zoneCount; zone++) {
+            Zone definition = rates.zones().get(zone);
+            zoneNames[zone] = definition.name();
+            compileBands(zone, definition);
+            for (String country : definition.countries() != null ? definition.countries() : List.<String>of()) {
+                zoneByCountry.put(country.toUpperCase(Locale.ROOT), zone);
+            }
+            if (definition.postcodePrefixes() != null) {
+                for (Map.Entry<String, List<String>> prefixes : definition.postcodePrefixes().entrySet()) {
+                    String country = prefixes.getKey().toUpperCase(Locale.ROOT);
+                    TreeMap<String, Integer> zones = prefixZones.computeIfAbsent(country, c -> new TreeMap<>());
+                    for (String prefix : prefixes.getValue()) {
+                        zones.put(compact(prefix), zone);
+                    }
+                }
+            }
+        }
+        int longest = 0;
+        for (Map.Entry<String, TreeMap<String, Integer>> zones : prefixZones.entrySet()) {
+            prefixesByCountry.put(zones.getKey(), zones.getValue().keySet().toArray(String[]::new));
+            prefixZonesByCountry.put(zones.getKey(), zones.getValue().values().stream().mapToInt(Integer::intValue).toArray());
+            longest = Math.max(longest, zones.getValue().keySet().stream().mapToInt(String::length).max().orElse(0));
+        }
+        maxPrefixLength = longest;
+        defaultZone = Arrays.asList(zoneNames).indexOf(rates.defaultZone());
+        if (defaultZone < 0) {
+            throw new IllegalStateException("Unknown default shipping zone " + rates.defaultZone());
+        }
+        volumetricDivisor = rates.volumetricDivisor() != null ? rates.volumetricDivisor().doubleValue() : 0;
+    }
+
+    private void compileBands(int zone, Zone definition) {
+        List<Band> bands = definition.bands() != null ? definition.bands() : List.of();
+        if (bands.isEmpty() || definition.perAdditionalKg() == null) {
+            throw new IllegalStateException("The shipping zone " + definition.name() + " needs bands and a price per additional kg");
+        }
+        bandUpperGrams[zone] = new long[bands.size()];
+        bandPriceCents[zone] = new long[bands.size()];
+        for (int band = 0; band < bands.size(); band++) {
+            bandUpperGrams[zone][band] = bands.get(band).upToKg().movePointRight(3).setScale(0, RoundingMode.CEILING).longValueExact();
+            bandPriceCents[zone][band] = cents(bands.get(band).price());
+            if (band > 0 && bandUpperGrams[zone][band] <= bandUpperGrams[zone][band - 1]) {
+                throw new IllegalStateException("The bands of the shipping zone " + definition.name() + " are not in increasing weight");
+            }
+        }
+        additionalKgCents[zone] = cents(definition.perAdditionalKg());
+    }
+
+    /**
+     * Read the rates from a JSON file.
+     *
+     * @param resource the file.
+     * @param objectMapper the mapper to read it with.
+     * @return the compiled table.
+     */
+    static ShippingRateTable load(Resource resource, ObjectMapper objectMapper) {
+        try (InputStream in = resource.getInputStream()) {
+            return new ShippingRateTable(objectMapper.readValue(in, Rates.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the shipping rates from " + resource, e);
+        }
+    }
+
+    /**
+     * @param country the ISO 3166 code of the destination country.
+     * @param postcode the destination postcode.
+     * @return the zone of the destination.
+     */
+    int zoneOf(String country, String postcode) {
+        String countryCode = country != null ? country.toUpperCase(Locale.ROOT) : "";
+        String[] prefixes = prefixesByCountry.get(countryCode);
+        if (prefixes != null && postcode != null) {
+            String compactPostcode = compact(postcode);
+            for (int length = Math.min(maxPrefixLength, compactPostcode.length()); length > 0; length--) {
+                int found = Arrays.binarySearch(prefixes, compactPostcode.substring(0, length));
+                if (found >= 0) {
+                    return prefixZonesByCountry.get(countryCode)[found];
+                }
+            }
+        }
+        return zoneByCountry.getOrDefault(countryCode, defaultZone);
+    }
+
+    /**
+     * @param zone the zone.
+     * @param grams the chargeable weight, in grams.
+     * @return the weight band of the zone.
+     */
+    int bandOf(int zone, long grams) {
+        long[] upperGrams = bandUpperGrams[zone];
+        int found = Arrays.binarySearch(upperGrams, grams);
+        int band = found >= 0 ? found : -found - 1;
+        if (band < upperGrams.length) {
+            return band;
+        }
+        long additionalKg = (grams - upperGrams[upperGrams.length - 1] + 999) / 1000;
+        return Math.toIntExact(upperGrams.length - 1 + additionalKg);
+    }
+
+    /**
+     * @param zone the zone.
+     * @param band the weight band, as returned by {@link #bandOf(int, long)}.
+     * @return the price of a parcel.
+     */
+    BigDecimal price(int zone, int band) {
+        long[] priceCents = bandPriceCents[zone];
+        int last = priceCents.length - 1;
+        long cents = band <= last ? priceCents[band] : priceCents[last] + (band - last) * additionalKgCents[zone];
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    String zoneName(int zone) {
+        return zoneNames[zone];
+    }
+
+    /**
+     * @param kilograms the actual weight, in kilograms.
+     * @param volume the volume, in cubic centimetres.
+     * @return the chargeable weight in grams: the greater of the actual weight and the volumetric weight.
+     */
+    long chargeableGrams(double kilograms, double volume) {
+        double volumetricKilograms = volumetricDivisor > 0 ? volume / volumetricDivisor : 0;
+        return (long) Math.ceil(Math.max(kilograms, volumetricKilograms) * 1000);
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static String compact(String postcode) {
+        return postcode.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The rates file.
+     *
+     * @param volumetricDivisor the cubic centimetres per kilogram of volumetric weight.
+     * @param defaultZone the zone of the countries not listed.
+     * @param zones the zones.
+     */
+    record Rates(BigDecimal volumetricDivisor, String defaultZone, List<Zone> zones) {}
+
+    /**
+     * @param name the name of the zone.
+     * @param countries the ISO 3166 codes of the countries in the zone.
+     * @param postcodePrefixes the postcode prefixes in the zone, by country, which take precedence over the countries.
+     * @param bands the weight bands, in increasing weight.
+     * @param perAdditionalKg the price of each kilogram started above the last band.
+     */
+    record Zone(
+        String name,
+        List<String> countries,
+        Map<String, List<String>> postcodePrefixes,
+        List<Band> bands,
+        BigDecimal perAdditionalKg
+    ) {}
+
+    /**
+     * @param upToKg the weight up to which the band applies, in kilograms.
+     * @param price the price of a parcel in the band.
+     */
+    record Band(BigDecimal upToKg, BigDecimal price) {}
+}
@@ -0,0 +1,136 @@
+package myapp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import myapp.service.dto.PopularProductDTO;
+
+/**
+ * The Space-Saving heavy-hitters sketch: estimated counts of the most frequent products, in memory bounded by a fixed
+ * number of counters.
+ * <p>
+ * A product that is not counted takes over the counter with the smallest estimate once the counters are all in use,
+ * inheriting that estimate as its error. Every product whose true count exceeds {@code total / capacity} is counted,
+ * and an estimate overestimates the true count by at most its error. The counters are kept ordered by estimate, so that
+ * an update costs {@code O(log capacity)} and the top {@code k} are read in {@code O(k)}.
+ */
+final class SpaceSavingSketch {
+
+    private final int capacity;
+
+    private final Map<Long, Counter> counters = new HashMap<>();
+
+    private final NavigableSet<Counter> byEstimate = new TreeSet<>(
+        Comparator.comparingLong((Counter counter) -> counter.estimate).thenComparingLong(counter -> counter.productId)
+    );
+
+    private long modifications;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Count occurrences of a product.
+     *
+     * @param productId the product id.
+     * @param weight the number of occurrences.
+     */
+    synchronized void offer(Long productId, long weight) {
+        merge(productId, weight, 0);
+    }
+
+    /**
+     * Add a counter, such as a checkpointed one, to the counter of the product.
+     *
+     * @param productId the product id.
+     * @param estimate the estimated count to add.
+     * @param error the error of the estimate.
+     */
+    synchronized void merge(Long productId, long estimate, long error) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            byEstimate.remove(counter);
+            counter.estimate += estimate;
+            counter.error += error;
+        } else {
+            long inherited = 0;
+            if (counters.size() >= capacity) {
+                Counter smallest = byEstimate.pollFirst();
+                counters.remove(smallest.productId);
+                inherited = smallest.estimate;
+            }
+            counter = new Counter(productId, inherited + estimate, inherited + error);
+            counters.put(productId, counter);
+        }
+        byEstimate.add(counter);
+        modifications++;
+    }
+
+    /**
+     * Stop counting a product.
+     *
+     * @param productId the product id.
+     */
+    synchronized void remove(Long productId) {
+        Counter counter = counters.remove(productId);
+        if (counter != null) {
+            byEstimate.remove(counter);
+            modifications++;
+        }
+    }
+
+    /**
+     * @param k the number of products.
+     * @return at most {@code k} products with the highest estimates, highest first.
+     */
+    synchronized List<PopularProductDTO> top(int k) {
+        List<PopularProductDTO> top = new ArrayList<>(Math.min(k, counters.size()));
+        Iterator<Counter> iterator = byEstimate.descendingIterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next().toDto());
+        }
+        return top;
+    }
+
+    /**
+     * @return all the counters, highest first, with the number of modifications they reflect.
+     */
+    synchronized Snapshot snapshot() {
+        return new Snapshot(top(capacity), modifications);
+    }
+
+    synchronized long getModifications() {
+        return modifications;
+    }
+
+    record Snapshot(List<PopularProductDTO> counters, long modifications) {}
+
+    private static final class Counter {
+
+        private final Long productId;
+
+        private long estimate;
+
+        private long error;
+
+        private Counter(Long productId, long estimate, long error) {
+            this.productId = productId;
+            this.estimate = estimate;
+            this.error = error;
+        }
+
+        private PopularProductDTO toDto() {
+            return new PopularProductDTO(productId, estimate, error);
+        }
+    }
+}
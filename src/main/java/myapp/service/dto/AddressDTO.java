@@ -0,0 +1,24 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A read-only DTO for the {@link myapp.domain.Address} entity.
+ */
+public record AddressDTO(
+    Long id,
+    String address1,
+    String address2,
+    String city,
+    String postcode,
+    String country,
+    ReferenceDTO customer
+)
+    implements Serializable {
+    /**
+     * Constructor used by JPQL projections.
+     */
+    public AddressDTO(Long id, String address1, String address2, String city, String postcode, String country, Long customerId) {
+        this(id, address1, address2, city, postcode, country, ReferenceDTO.of(customerId));
+    }
+}
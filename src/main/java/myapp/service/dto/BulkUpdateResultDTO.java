@@ -0,0 +1,17 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The outcome of one item of a bulk update: an HTTP-like status, the new version of the entity when it was updated, and
+ * the reason when it was not.
+ */
+public record BulkUpdateResultDTO(Long id, int status, Long version, String message) implements Serializable {
+    public static BulkUpdateResultDTO updated(Long id, Long version) {
+        return new BulkUpdateResultDTO(id, 200, version, null);
+    }
+
+    public static BulkUpdateResultDTO failed(Long id, int status, String message) {
+        return new BulkUpdateResultDTO(id, status, null, message);
+    }
+}
@@ -0,0 +1,43 @@
+package myapp.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A checkout request: the products and quantities a customer orders, and where to ship them: either one of the
+ * addresses of the customer, by id, or an address as entered.
+ */
+public record CheckoutDTO(
+    @NotNull Long customerId,
+    Long shippingAddressId,
+    @Valid ShippingAddress shippingAddress,
+    @NotEmpty @Size(max = CheckoutDTO.MAX_ITEMS) List<@NotNull @Valid Item> items
+)
+    implements Serializable {
+    public static final int MAX_ITEMS = 100;
+
+    public static final int MAX_QUANTITY = 10_000;
+
+    /**
+     * A quantity of a product.
+     */
+    public record Item(@NotNull Long productId, @NotNull @Min(1) @Max(CheckoutDTO.MAX_QUANTITY) Integer quantity) implements Serializable {}
+
+    /**
+     * An address as entered, normalized before it is looked up among the addresses of the customer.
+     */
+    public record ShippingAddress(
+        @NotNull @Size(max = 100) String address1,
+        @Size(max = 100) String address2,
+        @NotNull @Size(max = 50) String city,
+        @NotNull @Size(max = 20) String postcode,
+        @NotNull @Size(max = 2) String country
+    )
+        implements Serializable {}
+}
@@ -0,0 +1,10 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Aggregates of a whole table that change whenever a row is inserted, deleted or modified: the row count, the highest
+ * id and the latest modification date.
+ */
+public record CollectionStampDTO(Long count, Long maxId, Instant lastModified) implements Serializable {}
@@ -0,0 +1,9 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A read-only DTO for the {@link myapp.domain.Customer} entity.
+ */
+public record CustomerDTO(Long id, Long version, String firstName, String lastName, String email, String telephone)
+    implements Serializable {}
@@ -0,0 +1,20 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO gathering everything the account page shows about a {@link myapp.domain.Customer}: its attributes, addresses,
+ * wish list summaries and latest orders.
+ */
+public record CustomerOverviewDTO(
+    Long id,
+    String firstName,
+    String lastName,
+    String email,
+    String telephone,
+    List<AddressDTO> addresses,
+    List<WishListSummaryDTO> wishLists,
+    List<OrderSummaryDTO> latestOrders
+)
+    implements Serializable {}
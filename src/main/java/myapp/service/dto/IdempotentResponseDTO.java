@@ -0,0 +1,16 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The stored response to a request sent with an {@code Idempotency-Key} header.
+ *
+ * @param requestHash the hash of the request body, to tell a retry from another request reusing the key.
+ * @param status the response status.
+ * @param location the {@code Location} header of the response, if any.
+ * @param body the JSON body of the response, if any.
+ * @param createdDate when the request was executed.
+ */
+public record IdempotentResponseDTO(String requestHash, Integer status, String location, String body, Instant createdDate)
+    implements Serializable {}
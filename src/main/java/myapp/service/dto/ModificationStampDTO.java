@@ -0,0 +1,9 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The id, version and last modification date of an entity, enough to answer a conditional request without loading it.
+ */
+public record ModificationStampDTO(Long id, Long version, Instant dateModified) implements Serializable {}
@@ -0,0 +1,53 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import myapp.domain.enumeration.OrderStatus;
+
+/**
+ * A read-only DTO for the {@link myapp.domain.Order} entity.
+ */
+public record OrderDTO(
+    Long id,
+    Long version,
+    Instant orderDate,
+    Instant shippedDate,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    BigDecimal shippingCost,
+    String trackingNumber,
+    ReferenceDTO shippingAddress,
+    ReferenceDTO customer
+)
+    implements Serializable {
+    /**
+     * Constructor used by JPQL projections.
+     */
+    @SuppressWarnings("java:S107")
+    public OrderDTO(
+        Long id,
+        Long version,
+        Instant orderDate,
+        Instant shippedDate,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        BigDecimal shippingCost,
+        String trackingNumber,
+        Long shippingAddressId,
+        Long customerId
+    ) {
+        this(
+            id,
+            version,
+            orderDate,
+            shippedDate,
+            status,
+            totalAmount,
+            shippingCost,
+            trackingNumber,
+            ReferenceDTO.of(shippingAddressId),
+            ReferenceDTO.of(customerId)
+        );
+    }
+}
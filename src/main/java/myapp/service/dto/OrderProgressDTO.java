@@ -0,0 +1,17 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import myapp.domain.enumeration.OrderStatus;
+
+/**
+ * The progress of an {@link myapp.domain.Order}, as pushed to the clients of the order change stream.
+ *
+ * @param id the id of the order.
+ * @param version its version.
+ * @param status the status.
+ * @param shippedDate the shipping date, once shipped.
+ * @param trackingNumber the tracking number, once shipped.
+ */
+public record OrderProgressDTO(Long id, Long version, OrderStatus status, Instant shippedDate, String trackingNumber)
+    implements Serializable {}
@@ -0,0 +1,49 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import myapp.domain.enumeration.OrderStatus;
+
+/**
+ * The totals of a group of {@link myapp.domain.Order}s: of a day (in UTC), of a status, of a customer, or of a day in a
+ * status. The fields the orders are not grouped by are {@code null}.
+ */
+public record OrderStatsDTO(
+    LocalDate day,
+    OrderStatus status,
+    Long customerId,
+    Long orderCount,
+    BigDecimal totalAmount,
+    BigDecimal shippingCost
+)
+    implements Serializable {
+    /**
+     * Constructor used by JPQL projections grouping by day and status.
+     */
+    public OrderStatsDTO(LocalDate day, OrderStatus status, Long orderCount, BigDecimal totalAmount, BigDecimal shippingCost) {
+        this(day, status, null, orderCount, totalAmount, shippingCost);
+    }
+
+    /**
+     * Constructor used by JPQL projections grouping by customer.
+     */
+    public OrderStatsDTO(Long customerId, Long orderCount, BigDecimal totalAmount, BigDecimal shippingCost) {
+        this(null, null, customerId, orderCount, totalAmount, shippingCost);
+    }
+
+    /**
+     * @param other the totals of other orders.
+     * @return the totals of both groups, keeping the fields of this one.
+     */
+    public OrderStatsDTO plus(OrderStatsDTO other) {
+        return new OrderStatsDTO(
+            day,
+            status,
+            customerId,
+            orderCount + other.orderCount(),
+            totalAmount.add(other.totalAmount()),
+            shippingCost.add(other.shippingCost())
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import myapp.domain.enumeration.OrderStatus;
+
+/**
+ * A summary of an {@link myapp.domain.Order}, without its products, address or customer.
+ */
+public record OrderSummaryDTO(
+    Long id,
+    Instant orderDate,
+    Instant shippedDate,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    BigDecimal shippingCost,
+    String trackingNumber
+)
+    implements Serializable {}
@@ -0,0 +1,29 @@
+package myapp.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.io.Serializable;
+import java.time.Instant;
+import myapp.domain.enumeration.OutboxEventType;
+
+/**
+ * A change event of an aggregate, as published by the outbox relay.
+ *
+ * @param id the id of the event.
+ * @param aggregateType the entity name of the aggregate.
+ * @param aggregateId the id of the aggregate.
+ * @param aggregateVersion the version of the aggregate after the change, increasing in the order the events of an
+ * aggregate were committed; a deletion has the version following the last one.
+ * @param eventType the kind of change.
+ * @param payload the JSON state of the aggregate after the change, {@code null} for a deletion.
+ * @param createdDate when the change was made.
+ */
+public record OutboxEventDTO(
+    Long id,
+    String aggregateType,
+    Long aggregateId,
+    Long aggregateVersion,
+    OutboxEventType eventType,
+    @JsonRawValue String payload,
+    Instant createdDate
+)
+    implements Serializable {}
@@ -0,0 +1,8 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A product of a popularity ranking. Its true count lies between {@code estimate - error} and {@code estimate}.
+ */
+public record PopularProductDTO(Long productId, Long estimate, Long error) implements Serializable {}
@@ -0,0 +1,10 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A price of a product and the instant it took effect.
+ */
+public record PricePointDTO(BigDecimal price, Instant validFrom) implements Serializable {}
@@ -0,0 +1,65 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import myapp.domain.enumeration.ProductStatus;
+
+/**
+ * A read-only DTO for the {@link myapp.domain.Product} entity.
+ */
+public record ProductDTO(
+    Long id,
+    Long version,
+    String title,
+    String keywords,
+    String description,
+    Integer rating,
+    BigDecimal price,
+    Integer quantityInStock,
+    ProductStatus status,
+    Double weight,
+    String dimensions,
+    Instant dateAdded,
+    Instant dateModified,
+    ReferenceDTO order
+)
+    implements Serializable {
+    /**
+     * Constructor used by JPQL projections.
+     */
+    @SuppressWarnings("java:S107")
+    public ProductDTO(
+        Long id,
+        Long version,
+        String title,
+        String keywords,
+        String description,
+        Integer rating,
+        BigDecimal price,
+        Integer quantityInStock,
+        ProductStatus status,
+        Double weight,
+        String dimensions,
+        Instant dateAdded,
+        Instant dateModified,
+        Long orderId
+    ) {
+        this(
+            id,
+            version,
+            title,
+            keywords,
+            description,
+            rating,
+            price,
+            quantityInStock,
+            status,
+            weight,
+            dimensions,
+            dateAdded,
+            dateModified,
+            ReferenceDTO.of(orderId)
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The dimensions of a {@link myapp.domain.Product} as entered, read to parse them into its sides.
+ *
+ * @param id the id of the product.
+ * @param dimensions the dimensions.
+ */
+public record ProductDimensionsDTO(Long id, String dimensions) implements Serializable {}
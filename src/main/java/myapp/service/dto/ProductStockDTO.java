@@ -0,0 +1,26 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import myapp.domain.enumeration.ProductStatus;
+
+/**
+ * The stock of a {@link myapp.domain.Product}, as pushed to the clients of the product change stream.
+ *
+ * @param id the id of the product.
+ * @param version its version.
+ * @param quantityInStock the quantity in stock.
+ * @param status the stock status.
+ * @param price the price.
+ * @param dateModified the modification date.
+ */
+public record ProductStockDTO(
+    Long id,
+    Long version,
+    Integer quantityInStock,
+    ProductStatus status,
+    BigDecimal price,
+    Instant dateModified
+)
+    implements Serializable {}
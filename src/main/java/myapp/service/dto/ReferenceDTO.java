@@ -0,0 +1,18 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A reference to another entity by id, serialized as {@code {"id": ...}} like a lazy association.
+ * <p>
+ * Mapping an association to its id does not load it: Hibernate answers the id of an uninitialized proxy directly.
+ */
+public record ReferenceDTO(Long id) implements Serializable {
+    /**
+     * @param id the referenced id, may be {@code null}.
+     * @return the reference, or {@code null} when there is no referenced entity.
+     */
+    public static ReferenceDTO of(Long id) {
+        return id != null ? new ReferenceDTO(id) : null;
+    }
+}
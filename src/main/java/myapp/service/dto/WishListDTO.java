@@ -0,0 +1,15 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A read-only DTO for the {@link myapp.domain.WishList} entity.
+ */
+public record WishListDTO(Long id, String title, Boolean restricted, ReferenceDTO customer) implements Serializable {
+    /**
+     * Constructor used by JPQL projections.
+     */
+    public WishListDTO(Long id, String title, Boolean restricted, Long customerId) {
+        this(id, title, restricted, ReferenceDTO.of(customerId));
+    }
+}
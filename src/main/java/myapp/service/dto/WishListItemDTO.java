@@ -0,0 +1,8 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A product on a {@link myapp.domain.WishList}.
+ */
+public record WishListItemDTO(Long wishListId, Long productId) implements Serializable {}
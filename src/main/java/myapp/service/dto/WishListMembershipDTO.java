@@ -0,0 +1,9 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The wish lists of a customer holding a product, empty if the product is on none of them.
+ */
+public record WishListMembershipDTO(Long productId, List<Long> wishListIds) implements Serializable {}
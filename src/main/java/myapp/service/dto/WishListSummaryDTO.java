@@ -0,0 +1,8 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A summary of a {@link myapp.domain.WishList}: its attributes and the number of products it holds.
+ */
+public record WishListSummaryDTO(Long id, String title, Boolean restricted, Long productCount) implements Serializable {}
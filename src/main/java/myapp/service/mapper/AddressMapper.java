@@ -0,0 +1,13 @@
+package myapp.service.mapper;
+
+import myapp.domain.Address;
+import myapp.service.dto.AddressDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link Address} and its DTO {@link AddressDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface AddressMapper {
+    AddressDTO toDto(Address address);
+}
@@ -0,0 +1,13 @@
+package myapp.service.mapper;
+
+import myapp.domain.Customer;
+import myapp.service.dto.CustomerDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link Customer} and its DTO {@link CustomerDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface CustomerMapper {
+    CustomerDTO toDto(Customer customer);
+}
@@ -0,0 +1,13 @@
+package myapp.service.mapper;
+
+import myapp.domain.Order;
+import myapp.service.dto.OrderDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link Order} and its DTO {@link OrderDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface OrderMapper {
+    OrderDTO toDto(Order order);
+}
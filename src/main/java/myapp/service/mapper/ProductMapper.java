@@ -0,0 +1,13 @@
+package myapp.service.mapper;
+
+import myapp.domain.Product;
+import myapp.service.dto.ProductDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link Product} and its DTO {@link ProductDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface ProductMapper {
+    ProductDTO toDto(Product product);
+}
@@ -0,0 +1,13 @@
+package myapp.service.mapper;
+
+import myapp.domain.WishList;
+import myapp.service.dto.WishListDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link WishList} and its DTO {@link WishListDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface WishListMapper {
+    WishListDTO toDto(WishList wishList);
+}
@@ -0,0 +1,169 @@
+package myapp.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import myapp.config.ApplicationProperties;
+import myapp.management.QueryBudgetGuard;
+import myapp.management.RequestStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records, for every API request, the total time, the JDBC time and the number of SQL statements issued,
+ * tagged by the matched route template (e.g. {@code /api/products/{id}}).
+ * <p>
+ * Requests slower than the configured SLO are logged together with their per-table statement breakdown. When a
+ * {@link QueryBudgetGuard} is configured, every request is also checked against its query budget.
+ * <p>
+ * An asynchronous request, such as a streamed list, is recorded when it completes: its SQL runs on the thread the
+ * statistics are handed over to (see {@link RequestStatistics#propagate(Runnable)}), after the filter has returned.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    public static final String REQUESTS_METER_NAME = "app.api.requests";
+    public static final String JDBC_METER_NAME = "app.api.requests.jdbc";
+    public static final String STATEMENTS_METER_NAME = "app.api.requests.statements";
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    private final ApplicationProperties.RequestMetrics properties;
+
+    private final QueryBudgetGuard queryBudgetGuard;
+
+    public RequestMetricsFilter(
+        MeterRegistry registry,
+        ApplicationProperties.RequestMetrics properties,
+        @Nullable QueryBudgetGuard queryBudgetGuard
+    ) {
+        this.registry = registry;
+        this.properties = properties;
+        this.queryBudgetGuard = queryBudgetGuard;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.clear();
+            if (!request.isAsyncStarted()) {
+                record(request, response, statistics, System.nanoTime() - start);
+            }
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new CompletionListener(request, response, statistics, start));
+        } else {
+            checkBudget(request, statistics);
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, RequestStatistics statistics) {
+        if (queryBudgetGuard != null) {
+            queryBudgetGuard.check(request.getMethod(), routeOf(request), statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics, long totalNanos) {
+        String route = routeOf(request);
+        Tags tags = Tags.of("uri", route, "method", request.getMethod(), "status", String.valueOf(response.getStatus()));
+
+        Timer.builder(REQUESTS_METER_NAME)
+            .description("Total time spent serving API requests")
+            .tags(tags)
+            .register(registry)
+            .record(totalNanos, TimeUnit.NANOSECONDS);
+        Timer.builder(JDBC_METER_NAME)
+            .description("JDBC execution time spent serving API requests")
+            .tags(tags)
+            .register(registry)
+            .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(STATEMENTS_METER_NAME)
+            .description("Number of SQL statements issued per API request")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(registry)
+            .record(statistics.getStatementCount());
+
+        Duration slo = properties.getSlo();
+        if (slo != null && totalNanos > slo.toNanos()) {
+            LOG.warn(
+                "Slow request {} {} ({}) took {} ms (SLO {} ms): {} statements, {} ms in JDBC, breakdown {}, collection fetches {}",
+                request.getMethod(),
+                route,
+                response.getStatus(),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                slo.toMillis(),
+                statistics.getStatementCount(),
+                TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()),
+                statistics.getStatementBreakdown(),
+                statistics.getCollectionFetches()
+            );
+        }
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private final RequestStatistics statistics;
+
+        private final long start;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics, long start) {
+            this.request = request;
+            this.response = response;
+            this.statistics = statistics;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response, statistics, System.nanoTime() - start);
+            checkBudget(request, statistics);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // completed afterwards
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // completed afterwards
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the listeners are dropped when the request goes asynchronous again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.Address;
 import myapp.repository.AddressRepository;
+import myapp.service.AddressService;
+import myapp.service.InvalidAddressException;
+import myapp.service.dto.AddressDTO;
+import myapp.service.mapper.AddressMapper;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,15 +45,21 @@ public class AddressResource {
 
     private final AddressRepository addressRepository;
 
-    public AddressResource(AddressRepository addressRepository) {
+    private final AddressMapper addressMapper;
+
+    private final AddressService addressService;
+
+    public AddressResource(AddressRepository addressRepository, AddressMapper addressMapper, AddressService addressService) {
         this.addressRepository = addressRepository;
+        this.addressMapper = addressMapper;
+        this.addressService = addressService;
     }
 
     /**
      * {@code POST  /addresses} : Create a new address.
      *
      * @param address the address to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new address, or with status {@code 400 (Bad Request)} if the address has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new address, normalized, or with status {@code 400 (Bad Request)} if the address has already an ID or is not valid.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -58,7 +68,7 @@ public class AddressResource {
         if (address.getId() != null) {
             throw new BadRequestAlertException("A new address cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        address = addressRepository.save(address);
+        address = addressRepository.save(normalize(address));
         return ResponseEntity.created(new URI("/api/addresses/" + address.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, address.getId().toString()))
             .body(address);
@@ -91,7 +101,7 @@ public class AddressResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        address = addressRepository.save(address);
+        address = addressRepository.save(normalize(address));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, address.getId().toString()))
             .body(address);
@@ -144,7 +154,7 @@ public class AddressResource {
                     existingAddress.setCountry(address.getCountry());
                 }
 
-                return existingAddress;
+                return normalize(existingAddress);
             })
             .map(addressRepository::save);
 
@@ -161,9 +171,9 @@ public class AddressResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of addresses in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<Address>> getAllAddresses(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AddressDTO>> getAllAddresses(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
         LOG.debug("REST request to get a page of Addresses");
-        Page<Address> page = addressRepository.findAll(pageable);
+        Page<AddressDTO> page = addressRepository.findAllDTO(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -175,9 +185,9 @@ public class AddressResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the address, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Address> getAddress(@PathVariable("id") Long id) {
+    public ResponseEntity<AddressDTO> getAddress(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Address : {}", id);
-        Optional<Address> address = addressRepository.findById(id);
+        Optional<AddressDTO> address = addressRepository.findById(id).map(addressMapper::toDto);
         return ResponseUtil.wrapOrNotFound(address);
     }
 
@@ -191,8 +201,17 @@ public class AddressResource {
     public ResponseEntity<Void> deleteAddress(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Address : {}", id);
         addressRepository.deleteById(id);
+        addressService.evict(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private Address normalize(Address address) {
+        try {
+            return addressService.normalize(address);
+        } catch (InvalidAddressException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+    }
 }
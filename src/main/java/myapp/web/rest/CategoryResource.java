@@ -8,8 +8,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.Category;
-import myapp.repository.CategoryRepository;
 import myapp.service.CategoryService;
+import myapp.service.dto.ModificationStampDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -40,11 +41,8 @@ public class CategoryResource {
 
     private final CategoryService categoryService;
 
-    private final CategoryRepository categoryRepository;
-
-    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository) {
+    public CategoryResource(CategoryService categoryService) {
         this.categoryService = categoryService;
-        this.categoryRepository = categoryRepository;
     }
 
     /**
@@ -71,15 +69,19 @@ public class CategoryResource {
      *
      * @param id the id of the category to save.
      * @param category the category to update.
+     * @param webRequest the request, checked against its {@code If-Match} or {@code If-Unmodified-Since} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated category,
      * or with status {@code 400 (Bad Request)} if the category is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the category was modified since the client read it,
+     * or with status {@code 409 (Conflict)} if the category was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the category couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Category> updateCategory(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Category category
+        @Valid @RequestBody Category category,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to update Category : {}, {}", id, category);
         if (category.getId() == null) {
@@ -89,13 +91,18 @@ public class CategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!categoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (category.getVersion() == null || ConditionalRequests.hasPreconditions(webRequest)) {
+            ModificationStampDTO stamp = categoryService
+                .findModificationStamp(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ConditionalRequests.checkPreconditions(webRequest, stamp);
+            category.setVersion(stamp.version());
         }
 
         category = categoryService.update(category);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, category.getId().toString());
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, category.getId().toString()))
+            .headers(ConditionalRequests.withStamp(headers, category.getId(), category.getVersion(), category.getDateModified()))
             .body(category);
     }
 
@@ -104,16 +111,20 @@ public class CategoryResource {
      *
      * @param id the id of the category to save.
      * @param category the category to update.
+     * @param webRequest the request, checked against its {@code If-Match} or {@code If-Unmodified-Since} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated category,
      * or with status {@code 400 (Bad Request)} if the category is not valid,
      * or with status {@code 404 (Not Found)} if the category is not found,
+     * or with status {@code 412 (Precondition Failed)} if the category was modified since the client read it,
+     * or with status {@code 409 (Conflict)} if the category was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the category couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Category> partialUpdateCategory(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Category category
+        @NotNull @RequestBody Category category,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Category partially : {}, {}", id, category);
         if (category.getId() == null) {
@@ -123,16 +134,21 @@ public class CategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!categoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ConditionalRequests.hasPreconditions(webRequest)) {
+            ModificationStampDTO stamp = categoryService
+                .findModificationStamp(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ConditionalRequests.checkPreconditions(webRequest, stamp);
+            category.setVersion(stamp.version());
         }
 
         Optional<Category> result = categoryService.partialUpdate(category);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, category.getId().toString())
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, category.getId().toString());
+        result.ifPresent(updated ->
+            ConditionalRequests.withStamp(headers, updated.getId(), updated.getVersion(), updated.getDateModified())
         );
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
@@ -140,14 +156,20 @@ public class CategoryResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body.
+     * @param webRequest the request, checked against its {@code If-None-Match} or {@code If-Modified-Since} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is current.
      */
     @GetMapping("")
     public ResponseEntity<List<Category>> getAllCategories(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        WebRequest webRequest
     ) {
         LOG.debug("REST request to get a page of Categories");
+        if (ConditionalRequests.isNotModified(webRequest, categoryService.findCollectionStamps(eagerload))) {
+            return null;
+        }
         Page<Category> page;
         if (eagerload) {
             page = categoryService.findAllWithEagerRelationships(pageable);
@@ -0,0 +1,108 @@
+package myapp.web.rest;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import myapp.service.dto.CollectionStampDTO;
+import myapp.service.dto.ModificationStampDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Conditional requests for the REST controllers: strong entity tags derived from the entity versions, answered with
+ * {@code 304 (Not Modified)} on reads and {@code 412 (Precondition Failed)} on writes.
+ * <p>
+ * The precondition headers are evaluated by {@link WebRequest#checkNotModified(String, long)}, in the order of
+ * RFC 9110 section 13.2.2. On reads it also sets the {@code ETag} and {@code Last-Modified} response headers.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {}
+
+    /**
+     * Check a read of a single entity.
+     *
+     * @param request the current request.
+     * @param stamp the modification stamp of the entity.
+     * @return {@code true} if the client copy is current: the {@code 304} status is set and the handler must return no body.
+     */
+    static boolean isNotModified(WebRequest request, ModificationStampDTO stamp) {
+        return request.checkNotModified(etag(stamp), epochMilli(stamp.dateModified()));
+    }
+
+    /**
+     * Check a read of a collection.
+     *
+     * @param request the current request.
+     * @param stamps the stamps of the tables the response is rendered from.
+     * @return {@code true} if the client copy is current: the {@code 304} status is set and the handler must return no body.
+     */
+    static boolean isNotModified(WebRequest request, List<CollectionStampDTO> stamps) {
+        String etag = stamps
+            .stream()
+            .map(stamp -> orZero(stamp.count()) + "." + orZero(stamp.maxId()) + "." + epochMilli(stamp.lastModified()))
+            .collect(Collectors.joining("-", "\"", "\""));
+        Instant lastModified = stamps
+            .stream()
+            .map(CollectionStampDTO::lastModified)
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+        return request.checkNotModified(etag, epochMilli(lastModified));
+    }
+
+    /**
+     * @param request the current request.
+     * @return whether a write is conditional, with an {@code If-Match} or {@code If-Unmodified-Since} header.
+     */
+    static boolean hasPreconditions(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_MATCH) != null || request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Check the {@code If-Match} and {@code If-Unmodified-Since} preconditions of a write.
+     *
+     * @param request the current request.
+     * @param stamp the modification stamp of the entity as currently stored.
+     * @throws ResponseStatusException {@code 412 (Precondition Failed)} if the entity changed since the client read it.
+     */
+    static void checkPreconditions(WebRequest request, ModificationStampDTO stamp) {
+        if (request.checkNotModified(etag(stamp), epochMilli(stamp.dateModified()))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The entity was modified since it was read");
+        }
+    }
+
+    /**
+     * Add the {@code ETag} and {@code Last-Modified} headers of a written entity.
+     *
+     * @param headers the response headers.
+     * @param id the id of the entity.
+     * @param version its version.
+     * @param dateModified its modification date.
+     * @return the headers.
+     */
+    static HttpHeaders withStamp(HttpHeaders headers, Long id, Long version, Instant dateModified) {
+        ModificationStampDTO stamp = new ModificationStampDTO(id, version, dateModified);
+        headers.setETag(etag(stamp));
+        if (dateModified != null) {
+            headers.setLastModified(dateModified);
+        }
+        return headers;
+    }
+
+    static String etag(ModificationStampDTO stamp) {
+        return "\"" + stamp.id() + "-" + stamp.version() + "\"";
+    }
+
+    private static long epochMilli(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : -1;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0;
+    }
+}
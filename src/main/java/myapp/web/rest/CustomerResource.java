@@ -8,8 +8,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.Customer;
-import myapp.repository.CustomerRepository;
 import myapp.service.CustomerService;
+import myapp.service.dto.CustomerOverviewDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,35 +35,44 @@ public class CustomerResource {
 
     private static final String ENTITY_NAME = "customer";
 
+    private static final int MAX_OVERVIEW_ORDERS = 50;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CustomerService customerService;
 
-    private final CustomerRepository customerRepository;
+    private final IdempotentRequests idempotentRequests;
 
-    public CustomerResource(CustomerService customerService, CustomerRepository customerRepository) {
+    public CustomerResource(CustomerService customerService, IdempotentRequests idempotentRequests) {
         this.customerService = customerService;
-        this.customerRepository = customerRepository;
+        this.idempotentRequests = idempotentRequests;
     }
 
     /**
      * {@code POST  /customers} : Create a new customer.
      *
      * @param customer the customer to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customer, or with status {@code 400 (Bad Request)} if the customer has already an ID.
+     * @param idempotencyKey the key making retries of the request replay its response, if any.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customer, or with status {@code 400 (Bad Request)} if the customer has already an ID,
+     * or with status {@code 422 (Unprocessable Entity)} if the idempotency key was used with another customer.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Customer> createCustomer(@Valid @RequestBody Customer customer) throws URISyntaxException {
+    public ResponseEntity<Customer> createCustomer(
+        @Valid @RequestBody Customer customer,
+        @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey
+    ) throws URISyntaxException {
         LOG.debug("REST request to save Customer : {}", customer);
         if (customer.getId() != null) {
             throw new BadRequestAlertException("A new customer cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        customer = customerService.save(customer);
-        return ResponseEntity.created(new URI("/api/customers/" + customer.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, customer.getId().toString()))
-            .body(customer);
+        return idempotentRequests.execute(ENTITY_NAME, idempotencyKey, customer, Customer.class, () -> {
+            Customer result = customerService.save(customer);
+            return ResponseEntity.created(new URI("/api/customers/" + result.getId()))
+                .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                .body(result);
+        });
     }
 
     /**
@@ -73,6 +82,7 @@ public class CustomerResource {
      * @param customer the customer to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customer,
      * or with status {@code 400 (Bad Request)} if the customer is not valid,
+     * or with status {@code 409 (Conflict)} if the customer was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the customer couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -89,8 +99,12 @@ public class CustomerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (customer.getVersion() == null) {
+            customer.setVersion(
+                customerService
+                    .findVersion(id)
+                    .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"))
+            );
         }
 
         customer = customerService.update(customer);
@@ -107,6 +121,7 @@ public class CustomerResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated customer,
      * or with status {@code 400 (Bad Request)} if the customer is not valid,
      * or with status {@code 404 (Not Found)} if the customer is not found,
+     * or with status {@code 409 (Conflict)} if the customer was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the customer couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -123,10 +138,6 @@ public class CustomerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Customer> result = customerService.partialUpdate(customer);
 
         return ResponseUtil.wrapOrNotFound(
@@ -162,6 +173,25 @@ public class CustomerResource {
         return ResponseUtil.wrapOrNotFound(customer);
     }
 
+    /**
+     * {@code GET  /customers/:id/overview} : get the "id" customer with its addresses, wish list summaries and latest orders.
+     *
+     * @param id the id of the customer to retrieve.
+     * @param orders the number of latest orders to include (at most {@value #MAX_OVERVIEW_ORDERS}).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customer overview, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<CustomerOverviewDTO> getCustomerOverview(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "orders", defaultValue = "5") int orders
+    ) {
+        LOG.debug("REST request to get Customer overview : {}", id);
+        if (orders < 1 || orders > MAX_OVERVIEW_ORDERS) {
+            throw new BadRequestAlertException("Invalid number of orders", ENTITY_NAME, "ordersinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(customerService.findOverview(id, orders));
+    }
+
     /**
      * {@code DELETE  /customers/:id} : delete the "id" customer.
      *
@@ -0,0 +1,164 @@
+package myapp.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import myapp.security.SecurityUtils;
+import myapp.service.IdempotencyService;
+import myapp.service.dto.IdempotentResponseDTO;
+import myapp.web.rest.errors.BadRequestAlertException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Idempotent creations for the REST controllers, keyed by the {@code Idempotency-Key} request header.
+ * <p>
+ * The first request with a key is executed and its response stored; a retry with the same key and body gets the stored
+ * response back, with the {@code Idempotent-Replayed} header, and a request reusing the key with another body is
+ * rejected with {@code 422 (Unprocessable Entity)}. Keys are scoped to the current user, and expire after
+ * {@code application.idempotency.ttl}. Requests without a key are executed as usual.
+ */
+@Component
+class IdempotentRequests {
+
+    static final String HEADER = "Idempotency-Key";
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String ANONYMOUS = "anonymous";
+
+    /**
+     * A creation, returning the response to send.
+     */
+    @FunctionalInterface
+    interface Creation<T> {
+        ResponseEntity<T> create() throws URISyntaxException;
+    }
+
+    private final IdempotencyService idempotencyService;
+
+    private final ObjectMapper objectMapper;
+
+    IdempotentRequests(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Execute a creation at most once per key.
+     *
+     * @param scope the kind of creation, used as the entity name of the errors.
+     * @param key the {@code Idempotency-Key} header, or {@code null}.
+     * @param request the request body.
+     * @param type the type of the response body.
+     * @param creation the creation.
+     * @return the response of the creation, or the stored response to the first request with the key.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> type, Creation<T> creation)
+        throws URISyntaxException {
+        if (key == null) {
+            return creation.create();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestAlertException("Invalid " + HEADER + " header", scope, "idempotencykeyinvalid");
+        }
+        String owner = SecurityUtils.getCurrentUserLogin().orElse(ANONYMOUS);
+        // hashed before the creation, which may set the id and other fields of the request body
+        String requestHash = hash(request);
+        Optional<IdempotentResponseDTO> stored = idempotencyService.findResponse(scope, owner, key);
+        if (stored.isPresent()) {
+            return replay(stored.orElseThrow(), requestHash, type);
+        }
+        AtomicReference<ResponseEntity<T>> created = new AtomicReference<>();
+        try {
+            idempotencyService.execute(scope, owner, key, () -> {
+                ResponseEntity<T> response = create(creation);
+                created.set(response);
+                URI location = response.getHeaders().getLocation();
+                return new IdempotentResponseDTO(
+                    requestHash,
+                    response.getStatusCode().value(),
+                    location != null ? location.toString() : null,
+                    response.getBody() != null ? toJson(response.getBody()) : null,
+                    Instant.now()
+                );
+            });
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request with the same key was executed first
+            return idempotencyService.findResponse(scope, owner, key).map(found -> replay(found, requestHash, type)).orElseThrow(() -> e);
+        } catch (UncheckedURISyntaxException e) {
+            throw e.getCause();
+        }
+        return created.get();
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponseDTO stored, String requestHash, Class<T> type) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "The " + HEADER + " was used with another request");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            headers.setLocation(URI.create(stored.location()));
+        }
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), type) : null;
+            return ResponseEntity.status(stored.status()).headers(headers).body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read the stored response", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash the request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store the response", e);
+        }
+    }
+
+    private static <T> ResponseEntity<T> create(Creation<T> creation) {
+        try {
+            return creation.create();
+        } catch (URISyntaxException e) {
+            throw new UncheckedURISyntaxException(e);
+        }
+    }
+
+    private static final class UncheckedURISyntaxException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UncheckedURISyntaxException(URISyntaxException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized URISyntaxException getCause() {
+            return (URISyntaxException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package myapp.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import myapp.config.ApplicationProperties;
+import myapp.service.ChangeStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The clients of the live streams, each a {@link SseEmitter} draining its own {@link ChangeStream.Subscription}.
+ * <p>
+ * Every {@code application.live-updates.flush-interval}, the changes buffered for a client are sent as a
+ * {@code change} event with the latest state of each changed entity, a {@code delete} event with the id of each
+ * deleted one, or a single {@code reset} event if the buffer overflowed. A client idle for
+ * {@code application.live-updates.heartbeat-interval} gets a comment, which detects disconnected clients. The sends
+ * run on the task executor, one at a time per client, so that a slow client only delays itself and its changes keep
+ * coalescing meanwhile.
+ */
+@Component
+class LiveUpdateEmitters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LiveUpdateEmitters.class);
+
+    private final Executor taskExecutor;
+
+    private final ObjectWriter objectWriter;
+
+    private final ApplicationProperties.LiveUpdates properties;
+
+    private final Set<Client<?>> clients = ConcurrentHashMap.newKeySet();
+
+    LiveUpdateEmitters(
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.taskExecutor = taskExecutor;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.properties = applicationProperties.getLiveUpdates();
+    }
+
+    /**
+     * Open a stream of the changes committed from now on.
+     *
+     * @param stream the changes to stream.
+     * @param <T> the type of the entity states.
+     * @return the emitter, to return from the handler.
+     */
+    <T> SseEmitter open(ChangeStream<T> stream) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Client<T> client = new Client<>(emitter, stream.subscribe());
+        clients.add(client);
+        emitter.onCompletion(() -> close(client));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> close(client));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${application.live-updates.flush-interval:PT0.25S}")
+    public void flush() {
+        long idleSince = System.nanoTime() - properties.getHeartbeatInterval().toNanos();
+        for (Client<?> client : clients) {
+            if (client.sending.compareAndSet(false, true)) {
+                try {
+                    taskExecutor.execute(() -> send(client, idleSince));
+                } catch (RejectedExecutionException e) {
+                    client.sending.set(false);
+                }
+            }
+        }
+    }
+
+    private <T> void send(Client<T> client, long idleSince) {
+        try {
+            ChangeStream.Changes<T> changes = client.subscription.drain();
+            if (changes.overflowed()) {
+                client.emitter.send(SseEmitter.event().name("reset").data(""));
+            }
+            for (Map.Entry<Long, T> change : changes.states().entrySet()) {
+                if (change.getValue() != null) {
+                    client.emitter.send(SseEmitter.event().name("change").data(toJson(change.getValue())));
+                } else {
+                    client.emitter.send(SseEmitter.event().name("delete").data(toJson(Map.of("id", change.getKey()))));
+                }
+            }
+            if (!changes.isEmpty()) {
+                client.lastSent = System.nanoTime();
+            } else if (client.lastSent - idleSince < 0) {
+                client.emitter.send(SseEmitter.event().comment("heartbeat"));
+                client.lastSent = System.nanoTime();
+            }
+        } catch (IOException | IllegalStateException e) {
+            LOG.debug("Closing a live stream: {}", e.toString());
+            close(client);
+        } finally {
+            client.sending.set(false);
+        }
+    }
+
+    private void close(Client<?> client) {
+        if (clients.remove(client)) {
+            client.subscription.cancel();
+        }
+    }
+
+    private String toJson(Object state) {
+        try {
+            return objectWriter.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot write the change", e);
+        }
+    }
+
+    private static final class Client<T> {
+
+        private final SseEmitter emitter;
+
+        private final ChangeStream.Subscription<T> subscription;
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile long lastSent = System.nanoTime();
+
+        private Client(SseEmitter emitter, ChangeStream.Subscription<T> subscription) {
+            this.emitter = emitter;
+            this.subscription = subscription;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package myapp.web.rest;
+
+import myapp.service.LiveUpdateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the committed changes of {@link myapp.domain.Product} stock and {@link myapp.domain.Order}
+ * progress as Server-Sent Events, instead of having clients poll the lists.
+ * <p>
+ * A client loads the list once, then applies the {@code change} and {@code delete} events of the stream; the versions
+ * in the states tell which of a loaded entity and a streamed change is the latest. On a {@code reset} event, sent when
+ * the client fell too far behind, it loads the list again.
+ */
+@RestController
+@RequestMapping("/api")
+public class LiveUpdateResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LiveUpdateResource.class);
+
+    private final LiveUpdateService liveUpdateService;
+
+    private final LiveUpdateEmitters liveUpdateEmitters;
+
+    public LiveUpdateResource(LiveUpdateService liveUpdateService, LiveUpdateEmitters liveUpdateEmitters) {
+        this.liveUpdateService = liveUpdateService;
+        this.liveUpdateEmitters = liveUpdateEmitters;
+    }
+
+    /**
+     * {@code GET  /products/_stream} : stream the stock changes of the products.
+     *
+     * @return the event stream of {@link myapp.service.dto.ProductStockDTO} changes.
+     */
+    @GetMapping(value = "/products/_stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProducts() {
+        LOG.debug("REST request to stream Product changes");
+        return liveUpdateEmitters.open(liveUpdateService.getProductStock());
+    }
+
+    /**
+     * {@code GET  /orders/_stream} : stream the progress changes of the orders.
+     *
+     * @return the event stream of {@link myapp.service.dto.OrderProgressDTO} changes.
+     */
+    @GetMapping(value = "/orders/_stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders() {
+        LOG.debug("REST request to stream Order changes");
+        return liveUpdateEmitters.open(liveUpdateService.getOrderProgress());
+    }
+}
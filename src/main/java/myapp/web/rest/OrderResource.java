@@ -8,20 +8,24 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.Order;
-import myapp.repository.OrderRepository;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.service.CheckoutException;
 import myapp.service.OrderService;
+import myapp.service.OrderStatusTransitionException;
+import myapp.service.dto.CheckoutDTO;
+import myapp.service.dto.OrderDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -35,35 +39,82 @@ public class OrderResource {
 
     private static final String ENTITY_NAME = "order";
 
+    private static final String CHECKOUT_SCOPE = "checkout";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final OrderService orderService;
 
-    private final OrderRepository orderRepository;
+    private final IdempotentRequests idempotentRequests;
+
+    private final StreamedLists streamedLists;
 
-    public OrderResource(OrderService orderService, OrderRepository orderRepository) {
+    public OrderResource(OrderService orderService, IdempotentRequests idempotentRequests, StreamedLists streamedLists) {
         this.orderService = orderService;
-        this.orderRepository = orderRepository;
+        this.idempotentRequests = idempotentRequests;
+        this.streamedLists = streamedLists;
     }
 
     /**
      * {@code POST  /orders} : Create a new order.
      *
      * @param order the order to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order, or with status {@code 400 (Bad Request)} if the order has already an ID.
+     * @param idempotencyKey the key making retries of the request replay its response, if any.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order, or with status {@code 400 (Bad Request)} if the order has already an ID,
+     * or with status {@code 400 (Bad Request)} if its status is not {@code PENDING},
+     * or with status {@code 422 (Unprocessable Entity)} if the idempotency key was used with another order.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody Order order) throws URISyntaxException {
+    public ResponseEntity<Order> createOrder(
+        @Valid @RequestBody Order order,
+        @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey
+    ) throws URISyntaxException {
         LOG.debug("REST request to save Order : {}", order);
         if (order.getId() != null) {
             throw new BadRequestAlertException("A new order cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        order = orderService.save(order);
-        return ResponseEntity.created(new URI("/api/orders/" + order.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, order.getId().toString()))
-            .body(order);
+        return idempotentRequests.execute(ENTITY_NAME, idempotencyKey, order, Order.class, () -> {
+            Order result;
+            try {
+                result = orderService.save(order);
+            } catch (OrderStatusTransitionException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "statustransitioninvalid");
+            }
+            return ResponseEntity.created(new URI("/api/orders/" + result.getId()))
+                .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                .body(result);
+        });
+    }
+
+    /**
+     * {@code POST  /orders/_checkout} : Place an order, reserving the stock of its products and computing its totals.
+     *
+     * @param checkout the customer, shipping address and product quantities.
+     * @param idempotencyKey the key making retries of the request replay its response, if any.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order,
+     * or with status {@code 400 (Bad Request)} if the address or a product is not found, or a product is not in stock,
+     * or with status {@code 422 (Unprocessable Entity)} if the idempotency key was used with another checkout.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_checkout")
+    public ResponseEntity<OrderDTO> checkout(
+        @Valid @RequestBody CheckoutDTO checkout,
+        @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey
+    ) throws URISyntaxException {
+        LOG.debug("REST request to check out : {}", checkout);
+        return idempotentRequests.execute(CHECKOUT_SCOPE, idempotencyKey, checkout, OrderDTO.class, () -> {
+            OrderDTO order;
+            try {
+                order = orderService.checkout(checkout);
+            } catch (CheckoutException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+            }
+            return ResponseEntity.created(new URI("/api/orders/" + order.id()))
+                .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, order.id().toString()))
+                .body(order);
+        });
     }
 
     /**
@@ -72,7 +123,8 @@ public class OrderResource {
      * @param id the id of the order to save.
      * @param order the order to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated order,
-     * or with status {@code 400 (Bad Request)} if the order is not valid,
+     * or with status {@code 400 (Bad Request)} if the order is not valid or its status cannot change to the new one,
+     * or with status {@code 409 (Conflict)} if the order was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the order couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -87,11 +139,17 @@ public class OrderResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!orderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (order.getVersion() == null) {
+            order.setVersion(
+                orderService.findVersion(id).orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"))
+            );
         }
 
-        order = orderService.update(order);
+        try {
+            order = orderService.update(order);
+        } catch (OrderStatusTransitionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "statustransitioninvalid");
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, order.getId().toString()))
             .body(order);
@@ -103,8 +161,9 @@ public class OrderResource {
      * @param id the id of the order to save.
      * @param order the order to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated order,
-     * or with status {@code 400 (Bad Request)} if the order is not valid,
+     * or with status {@code 400 (Bad Request)} if the order is not valid or its status cannot change to the new one,
      * or with status {@code 404 (Not Found)} if the order is not found,
+     * or with status {@code 409 (Conflict)} if the order was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the order couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -121,12 +180,13 @@ public class OrderResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!orderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Optional<Order> result;
+        try {
+            result = orderService.partialUpdate(order);
+        } catch (OrderStatusTransitionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "statustransitioninvalid");
         }
 
-        Optional<Order> result = orderService.partialUpdate(order);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, order.getId().toString())
@@ -137,26 +197,40 @@ public class OrderResource {
      * {@code GET  /orders} : get all the orders.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body.
+     * @param status the status of the orders to get, all the orders if absent.
+     * @param includeArchived whether to get the archived orders too.
+     * @param request the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body, streamed.
+     * @throws HttpMediaTypeNotAcceptableException if the client accepts neither JSON nor CBOR.
      */
     @GetMapping("")
-    public ResponseEntity<List<Order>> getAllOrders(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<StreamingResponseBody> getAllOrders(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "status", required = false) OrderStatus status,
+        @RequestParam(name = "includeArchived", defaultValue = "false") boolean includeArchived,
+        NativeWebRequest request
+    ) throws HttpMediaTypeNotAcceptableException {
         LOG.debug("REST request to get a page of Orders");
-        Page<Order> page = orderService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        long total = orderService.count(status, includeArchived);
+        return streamedLists.ok(request, pageable, total, OrderDTO.class, orders ->
+            orderService.findAll(status, includeArchived, pageable, orders)
+        );
     }
 
     /**
      * {@code GET  /orders/:id} : get the "id" order.
      *
      * @param id the id of the order to retrieve.
+     * @param includeArchived whether to look for the order in the archive too.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the order, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrder(@PathVariable("id") Long id) {
+    public ResponseEntity<OrderDTO> getOrder(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "includeArchived", defaultValue = "false") boolean includeArchived
+    ) {
         LOG.debug("REST request to get Order : {}", id);
-        Optional<Order> order = orderService.findOne(id);
+        Optional<OrderDTO> order = includeArchived ? orderService.findOneWithArchive(id) : orderService.findOne(id);
         return ResponseUtil.wrapOrNotFound(order);
     }
 
@@ -0,0 +1,63 @@
+package myapp.web.rest;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import myapp.service.OrderStatsService;
+import myapp.service.dto.OrderStatsDTO;
+import myapp.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the sales statistics of the {@link myapp.domain.Order}s.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderStatsResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderStatsResource.class);
+
+    private static final String ENTITY_NAME = "orderStats";
+
+    private final OrderStatsService orderStatsService;
+
+    public OrderStatsResource(OrderStatsService orderStatsService) {
+        this.orderStatsService = orderStatsService;
+    }
+
+    /**
+     * {@code GET  /orders/_stats} : get the number of orders, and the sums of their total amounts and shipping costs, over
+     * a range of days (in UTC).
+     *
+     * @param from the first day.
+     * @param to the last day, today if absent.
+     * @param groupBy what to group the orders by: {@code day}, {@code status} or {@code customer}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the totals of each group with orders in body,
+     * or with status {@code 400 (Bad Request)} if the range or the grouping is not valid.
+     */
+    @GetMapping("/_stats")
+    public List<OrderStatsDTO> getOrderStats(
+        @RequestParam LocalDate from,
+        @RequestParam(required = false) LocalDate to,
+        @RequestParam(defaultValue = "day") String groupBy
+    ) {
+        LOG.debug("REST request to get the Order stats from {} to {} by {}", from, to, groupBy);
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        if (from.isAfter(end)) {
+            throw new BadRequestAlertException("The range starts after it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        OrderStatsService.Grouping grouping;
+        try {
+            grouping = OrderStatsService.Grouping.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown grouping " + groupBy, ENTITY_NAME, "groupbyinvalid");
+        }
+        return orderStatsService.findStats(from, end, grouping);
+    }
+}
@@ -0,0 +1,60 @@
+package myapp.web.rest;
+
+import java.util.List;
+import java.util.Locale;
+import myapp.domain.enumeration.PopularityRanking;
+import myapp.service.PopularityService;
+import myapp.service.dto.PopularProductDTO;
+import myapp.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the most popular {@link myapp.domain.Product}s, answered from the in-memory counters of
+ * {@link PopularityService}.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class PopularProductResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PopularProductResource.class);
+
+    private static final String ENTITY_NAME = "product";
+
+    private final PopularityService popularityService;
+
+    public PopularProductResource(PopularityService popularityService) {
+        this.popularityService = popularityService;
+    }
+
+    /**
+     * {@code GET  /products/_popular} : get the most popular products.
+     *
+     * @param by the ranking: {@code wish} for the products added to the most wish lists, {@code sales} for the products
+     * with the most units ordered.
+     * @param k the number of products, at most {@code application.popularity.capacity}.
+     * @return the list of products in body, most popular first, with their estimated count and its error, or with status
+     * {@code 400 (Bad Request)} if the ranking or the number is not valid.
+     */
+    @GetMapping("/_popular")
+    public List<PopularProductDTO> getPopularProducts(
+        @RequestParam("by") String by,
+        @RequestParam(name = "k", defaultValue = "10") int k
+    ) {
+        LOG.debug("REST request to get the {} most popular Products by {}", k, by);
+        PopularityRanking ranking;
+        try {
+            ranking = PopularityRanking.valueOf(by.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown ranking " + by, ENTITY_NAME, "rankinginvalid");
+        }
+        if (k < 1 || k > popularityService.getCapacity()) {
+            throw new BadRequestAlertException("k must be between 1 and " + popularityService.getCapacity(), ENTITY_NAME, "kinvalid");
+        }
+        return popularityService.findPopular(ranking, k);
+    }
+}
@@ -0,0 +1,72 @@
+package myapp.web.rest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import myapp.service.ProductPriceHistoryService;
+import myapp.service.dto.PricePointDTO;
+import myapp.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for querying the price history of {@link myapp.domain.Product}.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductPriceHistoryResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductPriceHistoryResource.class);
+
+    private static final String ENTITY_NAME = "productPriceHistory";
+
+    private final ProductPriceHistoryService productPriceHistoryService;
+
+    public ProductPriceHistoryResource(ProductPriceHistoryService productPriceHistoryService) {
+        this.productPriceHistoryService = productPriceHistoryService;
+    }
+
+    /**
+     * {@code GET  /products/:id/price} : get the price of the "id" product at an instant.
+     *
+     * @param id the id of the product.
+     * @param at the instant, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the price point in effect, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/price")
+    public ResponseEntity<PricePointDTO> getProductPrice(@PathVariable("id") Long id, @RequestParam(required = false) Instant at) {
+        LOG.debug("REST request to get the price of Product : {} at {}", id, at);
+        Optional<PricePointDTO> price = productPriceHistoryService.findPriceAt(id, at != null ? at : Instant.now());
+        return ResponseUtil.wrapOrNotFound(price);
+    }
+
+    /**
+     * {@code GET  /products/:id/prices} : get the prices of the "id" product over a range.
+     *
+     * @param id the id of the product.
+     * @param from the start of the range.
+     * @param to the end of the range, now if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the price in effect at {@code from} followed by the
+     * price changes up to {@code to} in body, or with status {@code 400 (Bad Request)} if the range is not valid.
+     */
+    @GetMapping("/{id}/prices")
+    public List<PricePointDTO> getProductPrices(
+        @PathVariable("id") Long id,
+        @RequestParam Instant from,
+        @RequestParam(required = false) Instant to
+    ) {
+        LOG.debug("REST request to get the prices of Product : {} from {} to {}", id, from, to);
+        Instant end = to != null ? to : Instant.now();
+        if (from.isAfter(end)) {
+            throw new BadRequestAlertException("The range starts after it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        return productPriceHistoryService.findPrices(id, from, end);
+    }
+}
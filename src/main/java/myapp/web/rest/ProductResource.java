@@ -1,27 +1,41 @@
 package myapp.web.rest;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import myapp.config.ApplicationProperties;
 import myapp.domain.Product;
-import myapp.repository.ProductRepository;
 import myapp.service.ProductService;
+import myapp.service.dto.BulkUpdateResultDTO;
+import myapp.service.dto.ModificationStampDTO;
+import myapp.service.dto.ProductDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -40,11 +54,22 @@ public class ProductResource {
 
     private final ProductService productService;
 
-    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository) {
+    private final ApplicationProperties.BulkUpdate bulkUpdateProperties;
+
+    private final StreamedLists streamedLists;
+
+    public ProductResource(
+        ProductService productService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        StreamedLists streamedLists
+    ) {
         this.productService = productService;
-        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.bulkUpdateProperties = applicationProperties.getBulkUpdate();
+        this.streamedLists = streamedLists;
     }
 
     /**
@@ -71,15 +96,19 @@ public class ProductResource {
      *
      * @param id the id of the product to save.
      * @param product the product to update.
+     * @param webRequest the request, checked against its {@code If-Match} or {@code If-Unmodified-Since} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated product,
      * or with status {@code 400 (Bad Request)} if the product is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the product was modified since the client read it,
+     * or with status {@code 409 (Conflict)} if the product was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the product couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Product product
+        @Valid @RequestBody Product product,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to update Product : {}, {}", id, product);
         if (product.getId() == null) {
@@ -89,13 +118,18 @@ public class ProductResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (product.getVersion() == null || ConditionalRequests.hasPreconditions(webRequest)) {
+            ModificationStampDTO stamp = productService
+                .findModificationStamp(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ConditionalRequests.checkPreconditions(webRequest, stamp);
+            product.setVersion(stamp.version());
         }
 
         product = productService.update(product);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, product.getId().toString());
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, product.getId().toString()))
+            .headers(ConditionalRequests.withStamp(headers, product.getId(), product.getVersion(), product.getDateModified()))
             .body(product);
     }
 
@@ -104,16 +138,20 @@ public class ProductResource {
      *
      * @param id the id of the product to save.
      * @param product the product to update.
+     * @param webRequest the request, checked against its {@code If-Match} or {@code If-Unmodified-Since} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated product,
      * or with status {@code 400 (Bad Request)} if the product is not valid,
      * or with status {@code 404 (Not Found)} if the product is not found,
+     * or with status {@code 412 (Precondition Failed)} if the product was modified since the client read it,
+     * or with status {@code 409 (Conflict)} if the product was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the product couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Product> partialUpdateProduct(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Product product
+        @NotNull @RequestBody Product product,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Product partially : {}, {}", id, product);
         if (product.getId() == null) {
@@ -123,42 +161,160 @@ public class ProductResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ConditionalRequests.hasPreconditions(webRequest)) {
+            ModificationStampDTO stamp = productService
+                .findModificationStamp(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ConditionalRequests.checkPreconditions(webRequest, stamp);
+            product.setVersion(stamp.version());
         }
 
         Optional<Product> result = productService.partialUpdate(product);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, product.getId().toString())
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, product.getId().toString());
+        result.ifPresent(updated ->
+            ConditionalRequests.withStamp(headers, updated.getId(), updated.getVersion(), updated.getDateModified())
         );
+        return ResponseUtil.wrapOrNotFound(result, headers);
+    }
+
+    /**
+     * {@code PATCH  /products/_bulk} : Partial updates of many products, e.g. the prices and stocks of a promotion.
+     * <p>
+     * The body is a JSON array of partial products, each with its id and optionally the version it was read at. It is
+     * parsed item by item and applied in transactions of {@code application.bulk-update.chunk-size} products, each
+     * chunk as soon as it is read, so that only one chunk is held in memory. When a product changes concurrently during
+     * a chunk, that chunk is applied again product by product. An item repeating the id of an earlier item is not
+     * applied. A body found invalid, or with too many items, after the first chunks fails the request, but those chunks
+     * remain applied: the error tells how many items were processed.
+     *
+     * @param body the JSON array of partial products.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in order,
+     * or with status {@code 400 (Bad Request)} if the body is not an array of products or has too many items.
+     * @throws IOException if the body cannot be read.
+     */
+    @PatchMapping(value = "/_bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkUpdateResultDTO>> partialUpdateProducts(InputStream body) throws IOException {
+        LOG.debug("REST request to partial update Products in bulk");
+        int maxItems = bulkUpdateProperties.getMaxItems();
+        int chunkSize = bulkUpdateProperties.getChunkSize();
+        List<BulkUpdateResultDTO> results = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        List<Product> chunk = new ArrayList<>(chunkSize);
+        // the positions in the results of the products of the chunk
+        List<Integer> positions = new ArrayList<>(chunkSize);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw invalidBulkItems("A JSON array of products is expected", 0);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (results.size() == maxItems) {
+                    throw new BadRequestAlertException(
+                        "At most " + maxItems + " products can be updated at once" + processedItems(results.size() - chunk.size()),
+                        ENTITY_NAME,
+                        "bulktoolarge"
+                    );
+                }
+                Product product = objectMapper.readValue(parser, Product.class);
+                if (product.getId() != null && !ids.add(product.getId())) {
+                    results.add(BulkUpdateResultDTO.failed(product.getId(), 400, "Duplicate id"));
+                    continue;
+                }
+                positions.add(results.size());
+                results.add(null);
+                chunk.add(product);
+                if (chunk.size() == chunkSize) {
+                    partialUpdateChunk(chunk, positions, results);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw invalidBulkItems("A JSON array of products is expected", results.size() - chunk.size());
+            }
+        } catch (JsonProcessingException e) {
+            throw invalidBulkItems("Invalid JSON: " + e.getOriginalMessage(), results.size() - chunk.size());
+        }
+        partialUpdateChunk(chunk, positions, results);
+        return ResponseEntity.ok().body(results);
+    }
+
+    private void partialUpdateChunk(List<Product> chunk, List<Integer> positions, List<BulkUpdateResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<BulkUpdateResultDTO> chunkResults;
+        try {
+            chunkResults = productService.partialUpdateAll(chunk);
+        } catch (ConcurrencyFailureException e) {
+            LOG.debug("Concurrent update in a chunk of {} Products, applying them one by one", chunk.size());
+            chunkResults = chunk.stream().map(this::partialUpdateAlone).toList();
+        }
+        for (int i = 0; i < chunkResults.size(); i++) {
+            results.set(positions.get(i), chunkResults.get(i));
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    private static BadRequestAlertException invalidBulkItems(String message, int processed) {
+        return new BadRequestAlertException(message + processedItems(processed), ENTITY_NAME, "bulkinvalid");
+    }
+
+    private static String processedItems(int processed) {
+        return processed > 0 ? " (the first " + processed + " items were processed)" : "";
+    }
+
+    private BulkUpdateResultDTO partialUpdateAlone(Product product) {
+        try {
+            return productService.partialUpdateAll(List.of(product)).get(0);
+        } catch (ConcurrencyFailureException e) {
+            return BulkUpdateResultDTO.failed(product.getId(), 409, "Modified concurrently");
+        }
     }
 
     /**
-     * {@code GET  /products} : get all the products.
+     * {@code GET  /products} : get all the products, or those fitting in a box when any of its sides is given. The sides
+     * are compared longest first: a product fits when its longest side is at most {@code dimensions.maxLength}, its
+     * middle side at most {@code dimensions.maxWidth} and its shortest side at most {@code dimensions.maxHeight}.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     * @param maxLength the maximum longest side in centimetres.
+     * @param maxWidth the maximum middle side in centimetres.
+     * @param maxHeight the maximum shortest side in centimetres.
+     * @param request the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body, streamed.
+     * @throws HttpMediaTypeNotAcceptableException if the client accepts neither JSON nor CBOR.
      */
     @GetMapping("")
-    public ResponseEntity<List<Product>> getAllProducts(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<StreamingResponseBody> getAllProducts(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "dimensions.maxLength", required = false) Double maxLength,
+        @RequestParam(name = "dimensions.maxWidth", required = false) Double maxWidth,
+        @RequestParam(name = "dimensions.maxHeight", required = false) Double maxHeight,
+        NativeWebRequest request
+    ) throws HttpMediaTypeNotAcceptableException {
         LOG.debug("REST request to get a page of Products");
-        Page<Product> page = productService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        long total = productService.count(maxLength, maxWidth, maxHeight);
+        return streamedLists.ok(request, pageable, total, ProductDTO.class, products ->
+            productService.findAll(maxLength, maxWidth, maxHeight, pageable, products)
+        );
     }
 
     /**
      * {@code GET  /products/:id} : get the "id" product.
      *
      * @param id the id of the product to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, checked against its {@code If-None-Match} or {@code If-Modified-Since} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product,
+     * or with status {@code 304 (Not Modified)} if the client copy is current, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable("id") Long id) {
+    public ResponseEntity<ProductDTO> getProduct(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get Product : {}", id);
-        Optional<Product> product = productService.findOne(id);
+        ModificationStampDTO stamp = productService.findModificationStamp(id).orElse(null);
+        if (stamp != null && ConditionalRequests.isNotModified(webRequest, stamp)) {
+            return null;
+        }
+        Optional<ProductDTO> product = stamp != null ? productService.findOne(id) : Optional.empty();
         return ResponseUtil.wrapOrNotFound(product);
     }
 
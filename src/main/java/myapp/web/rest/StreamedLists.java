@@ -0,0 +1,116 @@
+package myapp.web.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import myapp.config.ApplicationProperties;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Pages of a list written as their elements are read from the database, instead of being collected in a {@code List}
+ * that Jackson then serializes.
+ * <p>
+ * The elements are written by a {@link JsonGenerator} of the mapper of the negotiated format, JSON or CBOR, so that they
+ * hold the same fields as when the page is returned as a {@code List}. The response is flushed every
+ * {@code application.streaming.flush-size} elements. It is written after the handler returns, on the executor of
+ * {@link myapp.config.StreamingConfiguration}, so its status and pagination headers are set first, from the count of
+ * the elements: a failure while reading them can only cut the response short.
+ */
+@Component
+class StreamedLists {
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    private final List<AbstractJackson2HttpMessageConverter> converters;
+
+    private final int flushSize;
+
+    StreamedLists(
+        ContentNegotiationManager mvcContentNegotiationManager,
+        MappingJackson2HttpMessageConverter jsonConverter,
+        MappingJackson2CborHttpMessageConverter cborConverter,
+        ApplicationProperties applicationProperties
+    ) {
+        this.contentNegotiationManager = mvcContentNegotiationManager;
+        // JSON first, for the clients accepting any format
+        this.converters = List.of(jsonConverter, cborConverter);
+        this.flushSize = applicationProperties.getStreaming().getFlushSize();
+    }
+
+    /**
+     * @param request the current request, whose {@code Accept} header selects the format.
+     * @param pageable the pagination information.
+     * @param total the number of elements of all the pages.
+     * @param type the type of the elements.
+     * @param page the reader of the elements of the page, passing them one by one to its consumer.
+     * @param <T> the type of the elements.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the pagination headers and the page in body.
+     * @throws HttpMediaTypeNotAcceptableException if the client accepts neither JSON nor CBOR.
+     */
+    <T> ResponseEntity<StreamingResponseBody> ok(
+        NativeWebRequest request,
+        Pageable pageable,
+        long total,
+        Class<T> type,
+        Consumer<Consumer<T>> page
+    ) throws HttpMediaTypeNotAcceptableException {
+        AbstractJackson2HttpMessageConverter converter = negotiate(request, type);
+        ObjectWriter writer = converter
+            .getObjectMapper()
+            .writerFor(type)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            new PageImpl<>(List.of(), pageable, total)
+        );
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                int[] written = { 0 };
+                page.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                        if (++written[0] % flushSize == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().headers(headers).contentType(converter.getSupportedMediaTypes().get(0)).body(body);
+    }
+
+    private AbstractJackson2HttpMessageConverter negotiate(NativeWebRequest request, Class<?> type)
+        throws HttpMediaTypeNotAcceptableException {
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+            for (AbstractJackson2HttpMessageConverter converter : converters) {
+                if (converter.canWrite(type, accepted)) {
+                    return converter;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(converters.stream().map(c -> c.getSupportedMediaTypes().get(0)).toList());
+    }
+}
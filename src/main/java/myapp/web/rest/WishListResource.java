@@ -4,18 +4,30 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.WishList;
+import myapp.repository.ProductRepository;
 import myapp.repository.WishListRepository;
+import myapp.service.PopularityService;
+import myapp.service.dto.WishListDTO;
+import myapp.service.dto.WishListMembershipDTO;
+import myapp.service.mapper.WishListMapper;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -31,13 +43,29 @@ public class WishListResource {
 
     private static final String ENTITY_NAME = "wishList";
 
+    private static final int MAX_CONTAINS_PRODUCTS = 1_000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final WishListRepository wishListRepository;
 
-    public WishListResource(WishListRepository wishListRepository) {
+    private final WishListMapper wishListMapper;
+
+    private final ProductRepository productRepository;
+
+    private final PopularityService popularityService;
+
+    public WishListResource(
+        WishListRepository wishListRepository,
+        WishListMapper wishListMapper,
+        ProductRepository productRepository,
+        PopularityService popularityService
+    ) {
         this.wishListRepository = wishListRepository;
+        this.wishListMapper = wishListMapper;
+        this.productRepository = productRepository;
+        this.popularityService = popularityService;
     }
 
     /**
@@ -140,15 +168,91 @@ public class WishListResource {
         );
     }
 
+    /**
+     * {@code POST  /wish-lists/:id/products/:productId} : add the "productId" product to the "id" wishList, with a single
+     * insert that does not load the products of the wishList. Adding a product already on the wishList changes nothing,
+     * even when it was added by a concurrent request: the insert runs in its own transaction, whose primary key violation
+     * is then taken for the product being on the wishList.
+     *
+     * @param id the id of the wishList.
+     * @param productId the id of the product to add.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)} if the
+     * wishList or the product does not exist.
+     */
+    @PostMapping("/{id}/products/{productId}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Void> addWishListProduct(@PathVariable("id") Long id, @PathVariable("productId") Long productId) {
+        LOG.debug("REST request to add Product {} to WishList : {}", productId, id);
+        boolean added;
+        try {
+            added = wishListRepository.addProduct(id, productId) == 1;
+        } catch (DataIntegrityViolationException e) {
+            LOG.debug("Product {} added to WishList {} concurrently", productId, id);
+            added = false;
+        }
+        if (added) {
+            popularityService.productWished(productId);
+        } else if (!wishListRepository.existsById(id) || !productRepository.existsById(productId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .build();
+    }
+
+    /**
+     * {@code DELETE  /wish-lists/:id/products/:productId} : remove the "productId" product from the "id" wishList, with a
+     * single delete that does not load the products of the wishList.
+     *
+     * @param id the id of the wishList.
+     * @param productId the id of the product to remove.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/{id}/products/{productId}")
+    public ResponseEntity<Void> removeWishListProduct(@PathVariable("id") Long id, @PathVariable("productId") Long productId) {
+        LOG.debug("REST request to remove Product {} from WishList : {}", productId, id);
+        wishListRepository.removeProduct(id, productId);
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .build();
+    }
+
+    /**
+     * {@code GET  /wish-lists/contains} : get which wishLists of a customer hold each of the given products, in one query.
+     *
+     * @param customerId the id of the customer.
+     * @param productIds the ids of the products, such as those shown on a page.
+     * @return the list of memberships in body, one per product in the order given, or with status {@code 400 (Bad Request)}
+     * if there are too many products.
+     */
+    @GetMapping("/contains")
+    public List<WishListMembershipDTO> getWishListMemberships(
+        @RequestParam("customerId") Long customerId,
+        @RequestParam("productIds") List<Long> productIds
+    ) {
+        LOG.debug("REST request to get the WishLists of Customer {} containing Products : {}", customerId, productIds);
+        if (productIds.size() > MAX_CONTAINS_PRODUCTS) {
+            throw new BadRequestAlertException("At most " + MAX_CONTAINS_PRODUCTS + " products", ENTITY_NAME, "toomanyproducts");
+        }
+        Map<Long, List<Long>> wishListIds = new LinkedHashMap<>();
+        productIds.forEach(productId -> wishListIds.putIfAbsent(productId, new ArrayList<>()));
+        if (!wishListIds.isEmpty()) {
+            wishListRepository
+                .findAllItemsByCustomerIdAndProductIds(customerId, wishListIds.keySet())
+                .forEach(item -> wishListIds.get(item.productId()).add(item.wishListId()));
+        }
+        return wishListIds.entrySet().stream().map(entry -> new WishListMembershipDTO(entry.getKey(), entry.getValue())).toList();
+    }
+
     /**
      * {@code GET  /wish-lists} : get all the wishLists.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of wishLists in body.
      */
     @GetMapping("")
-    public List<WishList> getAllWishLists() {
+    public List<WishListDTO> getAllWishLists() {
         LOG.debug("REST request to get all WishLists");
-        return wishListRepository.findAll();
+        return wishListRepository.findAllDTO();
     }
 
     /**
@@ -158,9 +262,9 @@ public class WishListResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the wishList, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<WishList> getWishList(@PathVariable("id") Long id) {
+    public ResponseEntity<WishListDTO> getWishList(@PathVariable("id") Long id) {
         LOG.debug("REST request to get WishList : {}", id);
-        Optional<WishList> wishList = wishListRepository.findById(id);
+        Optional<WishListDTO> wishList = wishListRepository.findById(id).map(wishListMapper::toDto);
         return ResponseUtil.wrapOrNotFound(wishList);
     }
 
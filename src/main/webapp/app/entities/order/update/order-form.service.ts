@@ -64,7 +64,7 @@ export class OrderFormService {
       }),
       shippedDate: new FormControl(orderRawValue.shippedDate),
       status: new FormControl(orderRawValue.status, {
-        validators: [Validators.required, Validators.minLength(3)],
+        validators: [Validators.required],
       }),
       totalAmount: new FormControl(orderRawValue.totalAmount, {
         validators: [Validators.required, Validators.min(0)],
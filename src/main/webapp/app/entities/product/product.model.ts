@@ -1,5 +1,4 @@
 import dayjs from 'dayjs/esm';
-import { IWishList } from 'app/entities/wish-list/wish-list.model';
 import { IOrder } from 'app/entities/order/order.model';
 import { ICategory } from 'app/entities/category/category.model';
 import { ProductStatus } from 'app/entities/enumerations/product-status.model';
@@ -17,7 +16,6 @@ export interface IProduct {
   dimensions?: string | null;
   dateAdded?: dayjs.Dayjs | null;
   dateModified?: dayjs.Dayjs | null;
-  wishList?: IWishList | null;
   order?: IOrder | null;
   categories?: ICategory[] | null;
 }
@@ -31,7 +31,6 @@ describe('Product Form Service', () => {
             dimensions: expect.any(Object),
             dateAdded: expect.any(Object),
             dateModified: expect.any(Object),
-            wishList: expect.any(Object),
             order: expect.any(Object),
             categories: expect.any(Object),
           }),
@@ -55,7 +54,6 @@ describe('Product Form Service', () => {
             dimensions: expect.any(Object),
             dateAdded: expect.any(Object),
             dateModified: expect.any(Object),
-            wishList: expect.any(Object),
             order: expect.any(Object),
             categories: expect.any(Object),
           }),
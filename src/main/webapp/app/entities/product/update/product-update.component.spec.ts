@@ -4,8 +4,6 @@ import { FormBuilder } from '@angular/forms';
 import { ActivatedRoute } from '@angular/router';
 import { Subject, from, of } from 'rxjs';
 
-import { IWishList } from 'app/entities/wish-list/wish-list.model';
-import { WishListService } from 'app/entities/wish-list/service/wish-list.service';
 import { IOrder } from 'app/entities/order/order.model';
 import { OrderService } from 'app/entities/order/service/order.service';
 import { ICategory } from 'app/entities/category/category.model';
@@ -22,7 +20,6 @@ describe('Product Management Update Component', () => {
   let activatedRoute: ActivatedRoute;
   let productFormService: ProductFormService;
   let productService: ProductService;
-  let wishListService: WishListService;
   let orderService: OrderService;
   let categoryService: CategoryService;
 
@@ -47,7 +44,6 @@ describe('Product Management Update Component', () => {
     activatedRoute = TestBed.inject(ActivatedRoute);
     productFormService = TestBed.inject(ProductFormService);
     productService = TestBed.inject(ProductService);
-    wishListService = TestBed.inject(WishListService);
     orderService = TestBed.inject(OrderService);
     categoryService = TestBed.inject(CategoryService);
 
@@ -55,28 +51,6 @@ describe('Product Management Update Component', () => {
   });
 
   describe('ngOnInit', () => {
-    it('Should call WishList query and add missing value', () => {
-      const product: IProduct = { id: 456 };
-      const wishList: IWishList = { id: 29642 };
-      product.wishList = wishList;
-
-      const wishListCollection: IWishList[] = [{ id: 14566 }];
-      jest.spyOn(wishListService, 'query').mockReturnValue(of(new HttpResponse({ body: wishListCollection })));
-      const additionalWishLists = [wishList];
-      const expectedCollection: IWishList[] = [...additionalWishLists, ...wishListCollection];
-      jest.spyOn(wishListService, 'addWishListToCollectionIfMissing').mockReturnValue(expectedCollection);
-
-      activatedRoute.data = of({ product });
-      comp.ngOnInit();
-
-      expect(wishListService.query).toHaveBeenCalled();
-      expect(wishListService.addWishListToCollectionIfMissing).toHaveBeenCalledWith(
-        wishListCollection,
-        ...additionalWishLists.map(expect.objectContaining),
-      );
-      expect(comp.wishListsSharedCollection).toEqual(expectedCollection);
-    });
-
     it('Should call Order query and add missing value', () => {
       const product: IProduct = { id: 456 };
       const order: IOrder = { id: 25292 };
@@ -123,8 +97,6 @@ describe('Product Management Update Component', () => {
 
     it('Should update editForm', () => {
       const product: IProduct = { id: 456 };
-      const wishList: IWishList = { id: 4717 };
-      product.wishList = wishList;
       const order: IOrder = { id: 28841 };
       product.order = order;
       const category: ICategory = { id: 18772 };
@@ -133,7 +105,6 @@ describe('Product Management Update Component', () => {
       activatedRoute.data = of({ product });
       comp.ngOnInit();
 
-      expect(comp.wishListsSharedCollection).toContain(wishList);
       expect(comp.ordersSharedCollection).toContain(order);
       expect(comp.categoriesSharedCollection).toContain(category);
       expect(comp.product).toEqual(product);
@@ -209,16 +180,6 @@ describe('Product Management Update Component', () => {
   });
 
   describe('Compare relationships', () => {
-    describe('compareWishList', () => {
-      it('Should forward to wishListService', () => {
-        const entity = { id: 123 };
-        const entity2 = { id: 456 };
-        jest.spyOn(wishListService, 'compareWishList');
-        comp.compareWishList(entity, entity2);
-        expect(wishListService.compareWishList).toHaveBeenCalledWith(entity, entity2);
-      });
-    });
-
     describe('compareOrder', () => {
       it('Should forward to orderService', () => {
         const entity = { id: 123 };
@@ -0,0 +1,62 @@
+package myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class ChangelogChecksumTest {
+
+    @TempDir
+    Path classes;
+
+    private Path changelog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        changelog = classes.resolve("config/liquibase/master.xml");
+        Files.createDirectories(changelog.getParent());
+        Files.writeString(changelog, "<databaseChangeLog/>");
+        Files.setLastModifiedTime(changelog, FileTime.from(Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    void loadReadsChecksumWrittenByTheBuild() throws IOException {
+        ChangelogChecksum.main(new String[] { classes.toString() });
+
+        try (URLClassLoader classLoader = classLoader()) {
+            String checksum = ChangelogChecksum.load(new DefaultResourceLoader(classLoader));
+
+            assertThat(checksum).isEqualTo(Files.readString(classes.resolve(ChangelogChecksum.LOCATION))).hasSize(64);
+        }
+    }
+
+    @Test
+    void loadComputesChecksumWhenAChangelogIsNewerThanTheFile() throws IOException {
+        ChangelogChecksum.main(new String[] { classes.toString() });
+        String built = Files.readString(classes.resolve(ChangelogChecksum.LOCATION));
+        Files.writeString(changelog, "<databaseChangeLog><changeSet id=\"1\" author=\"jhipster\"/></databaseChangeLog>");
+        Files.setLastModifiedTime(changelog, FileTime.from(Instant.now().plusSeconds(60)));
+
+        try (URLClassLoader classLoader = classLoader()) {
+            String checksum = ChangelogChecksum.load(new DefaultResourceLoader(classLoader));
+
+            assertThat(checksum).isNotEqualTo(built);
+            ChangelogChecksum.main(new String[] { classes.toString() });
+            assertThat(checksum).isEqualTo(Files.readString(classes.resolve(ChangelogChecksum.LOCATION)));
+        }
+    }
+
+    private URLClassLoader classLoader() throws IOException {
+        return new URLClassLoader(new URL[] { classes.toUri().toURL() }, null);
+    }
+}
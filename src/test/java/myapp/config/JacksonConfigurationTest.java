@@ -0,0 +1,133 @@
+package myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import myapp.domain.enumeration.ProductStatus;
+import myapp.service.dto.ProductDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class JacksonConfigurationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JacksonConfigurationTest.class);
+
+    private final JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+
+    private ObjectMapper jsonMapper;
+
+    private ObjectMapper cborMapper;
+
+    private CollectionType productList;
+
+    private List<ProductDTO> page;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = objectMapperBuilder().build();
+        cborMapper = jacksonConfiguration.cborHttpMessageConverter(objectMapperBuilder()).getObjectMapper();
+        productList = jsonMapper.getTypeFactory().constructCollectionType(List.class, ProductDTO.class);
+        page = LongStream.rangeClosed(1, 20).mapToObj(JacksonConfigurationTest::product).toList();
+    }
+
+    @Test
+    void cborHoldsTheSameFieldsAsJson() throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(page);
+        byte[] cbor = cborMapper.writeValueAsBytes(page);
+
+        List<String> jsonFields = new ArrayList<>();
+        jsonMapper.readTree(json).get(0).fieldNames().forEachRemaining(jsonFields::add);
+        List<String> cborFields = new ArrayList<>();
+        cborMapper.readTree(cbor).get(0).fieldNames().forEachRemaining(cborFields::add);
+        assertThat(cborFields).isEqualTo(jsonFields).contains("order");
+        assertThat(cborMapper.<List<ProductDTO>>readValue(cbor, productList)).isEqualTo(page);
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    /**
+     * Serialization and deserialization times of a page in JSON and in CBOR. Run with {@code ./mvnw -Pdev,benchmark test}.
+     */
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void benchmark() throws IOException {
+        int pages = 5_000;
+        // warm up both formats before measuring either
+        measure(jsonMapper, pages);
+        measure(cborMapper, pages);
+        LOG.info(
+            "A page of {} Products is {} bytes in JSON, {} bytes in CBOR",
+            page.size(),
+            jsonMapper.writeValueAsBytes(page).length,
+            cborMapper.writeValueAsBytes(page).length
+        );
+        LOG.info("JSON: {}", measure(jsonMapper, pages));
+        LOG.info("CBOR: {}", measure(cborMapper, pages));
+    }
+
+    private String measure(ObjectMapper mapper, int pages) throws IOException {
+        byte[] content = mapper.writeValueAsBytes(page);
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < pages; i++) {
+            bytes += mapper.writeValueAsBytes(page).length;
+        }
+        long serialized = System.nanoTime();
+        long products = 0;
+        for (int i = 0; i < pages; i++) {
+            products += mapper.<List<ProductDTO>>readValue(content, productList).size();
+        }
+        long deserialized = System.nanoTime();
+        assertThat(bytes).isEqualTo((long) pages * content.length);
+        assertThat(products).isEqualTo((long) pages * page.size());
+        return String.format(
+            "serialized %d pages in %d ms, deserialized them in %d ms",
+            pages,
+            (serialized - start) / 1_000_000,
+            (deserialized - serialized) / 1_000_000
+        );
+    }
+
+    /**
+     * @return a builder configured like the one of Spring Boot, which writes dates as ISO-8601 strings.
+     */
+    private Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        return new Jackson2ObjectMapperBuilder()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static ProductDTO product(long id) {
+        Instant added = Instant.parse("2026-01-01T00:00:00Z").plusSeconds(id * 3600);
+        return new ProductDTO(
+            id,
+            id % 3,
+            "Product " + id,
+            "kitchen, steel",
+            "A sturdy stainless steel product, number " + id + ", for everyday use.",
+            (int) (id % 5) + 1,
+            BigDecimal.valueOf(1999 + id, 2),
+            (int) (id * 7),
+            ProductStatus.values()[(int) (id % ProductStatus.values().length)],
+            0.25 * id,
+            "30 x 20 x " + id + " cm",
+            added,
+            added.plusSeconds(600),
+            id % 2 == 0 ? id / 2 : null
+        );
+    }
+}
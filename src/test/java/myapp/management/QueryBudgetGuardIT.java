@@ -0,0 +1,111 @@
+package myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import myapp.SampleApp;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Product;
+import myapp.domain.enumeration.ProductStatus;
+import myapp.repository.ProductRepository;
+import myapp.security.AuthoritiesConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Runs requests through {@link myapp.web.filter.RequestMetricsFilter} and checks which of them fail on their query budget,
+ * as the test profile sets {@code fail-on-violation}.
+ */
+@SpringBootTest(classes = SampleApp.class)
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class QueryBudgetGuardIT {
+
+    private static final String UPDATE_ROUTE = "PUT /api/products/{id}";
+
+    private static final String LIST_ROUTE = "GET /api/products";
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private QueryBudgetGuard queryBudgetGuard;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        // a product update reads the product, writes its price history, the product and an outbox event
+        applicationProperties.getQueryBudget().getEndpoints().put(UPDATE_ROUTE, 2);
+        product = productRepository.saveAndFlush(
+            new Product().title("Kettle").price(new BigDecimal("19.99")).status(ProductStatus.IN_STOCK).dateAdded(Instant.now())
+        );
+        queryBudgetGuard.clearViolations();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        applicationProperties.getQueryBudget().getEndpoints().remove(UPDATE_ROUTE);
+        applicationProperties.getQueryBudget().getEndpoints().remove(LIST_ROUTE);
+        queryBudgetGuard.clearViolations();
+    }
+
+    @Test
+    void readWithinItsBudgetPasses() throws Exception {
+        restMockMvc.perform(get("/api/products/{id}", product.getId())).andExpect(status().isOk());
+
+        assertThat(queryBudgetGuard.getViolations()).isEmpty();
+    }
+
+    @Test
+    void updateOverItsBudgetFails() {
+        assertThatThrownBy(() ->
+            restMockMvc.perform(
+                put("/api/products/{id}", product.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        "{\"id\":" +
+                        product.getId() +
+                        ",\"title\":\"Kettle\",\"price\":24.99,\"status\":\"IN_STOCK\",\"dateAdded\":\"2026-01-01T00:00:00Z\"}"
+                    )
+            )
+        )
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessageStartingWith("Query budget exceeded for PUT /api/products/{id}")
+            .hasMessageContaining("(budget 2)");
+        assertThat(queryBudgetGuard.getViolations()).hasSize(1);
+    }
+
+    @Test
+    void streamedListCountsTheStatementsOfItsStream() throws Exception {
+        // the count of the products, then the stream of the page
+        applicationProperties.getQueryBudget().getEndpoints().put(LIST_ROUTE, 1);
+        MvcResult result = restMockMvc.perform(get("/api/products")).andExpect(request().asyncStarted()).andReturn();
+
+        assertThatThrownBy(() -> restMockMvc.perform(asyncDispatch(result)))
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessageStartingWith("Query budget exceeded for GET /api/products:")
+            .hasMessageContaining("2 statements (budget 1) {select product=2}");
+    }
+}
@@ -0,0 +1,82 @@
+package myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import myapp.config.ApplicationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryBudgetGuardTest {
+
+    private ApplicationProperties.QueryBudget properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties.QueryBudget();
+        properties.setEnabled(true);
+        properties.setMaxStatements(5);
+        properties.setMaxCollectionFetches(2);
+        properties.setEndpoints(Map.of("GET /api/customers/{id}", 1));
+    }
+
+    @AfterEach
+    void clear() {
+        RequestStatistics.clear();
+    }
+
+    @Test
+    void withinBudgetHasNoViolation() {
+        RequestStatistics statistics = RequestStatistics.start();
+        statistics.onStatement("select p1_0.id from product p1_0");
+
+        assertThat(new QueryBudgetGuard(properties).violations("GET", "/api/products", statistics)).isEmpty();
+    }
+
+    @Test
+    void routeBudgetOverridesDefault() {
+        RequestStatistics statistics = RequestStatistics.start();
+        statistics.onStatement("select c1_0.id from customer c1_0");
+        statistics.onStatement("select a1_0.id from address a1_0");
+
+        assertThat(new QueryBudgetGuard(properties).violations("GET", "/api/customers/{id}", statistics)).singleElement()
+            .asString()
+            .contains("2 statements (budget 1)");
+        assertThat(new QueryBudgetGuard(properties).violations("GET", "/api/customers", statistics)).isEmpty();
+        assertThat(new QueryBudgetGuard(properties).violations("PUT", "/api/customers/{id}", statistics)).isEmpty();
+    }
+
+    @Test
+    void repeatedLazyLoadOfAnAssociationIsRecorded() {
+        QueryBudgetGuard guard = new QueryBudgetGuard(properties);
+        RequestStatistics statistics = RequestStatistics.start();
+        for (int i = 0; i < 3; i++) {
+            statistics.onCollectionFetch("myapp.domain.Customer.orders");
+        }
+        statistics.onCollectionFetch("myapp.domain.Order.products");
+
+        guard.check("GET", "/api/customers", statistics);
+
+        assertThat(guard.getViolations()).singleElement()
+            .asString()
+            .startsWith("Query budget exceeded for GET /api/customers")
+            .contains("myapp.domain.Customer.orders lazily initialized 3 times")
+            .doesNotContain("Order.products");
+    }
+
+    @Test
+    void violationFailsTheRequestWhenConfigured() {
+        properties.setFailOnViolation(true);
+        QueryBudgetGuard guard = new QueryBudgetGuard(properties);
+        RequestStatistics statistics = RequestStatistics.start();
+        statistics.onStatement("select c1_0.id from customer c1_0");
+        statistics.onStatement("select a1_0.id from address a1_0");
+
+        assertThatThrownBy(() -> guard.check("GET", "/api/customers/{id}", statistics))
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessageContaining("2 statements (budget 1)");
+        assertThat(guard.getViolations()).hasSize(1);
+    }
+}
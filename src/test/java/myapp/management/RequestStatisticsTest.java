@@ -0,0 +1,39 @@
+package myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestStatisticsTest {
+
+    @AfterEach
+    void clear() {
+        RequestStatistics.clear();
+    }
+
+    @Test
+    void summarizesStatementByVerbAndTable() {
+        assertThat(RequestStatistics.summarize("select p1_0.id,p1_0.title from product p1_0 where p1_0.id=?")).isEqualTo(
+            "select product"
+        );
+        assertThat(RequestStatistics.summarize("insert into jhi_order (id,status) values (?,?)")).isEqualTo("insert jhi_order");
+        assertThat(RequestStatistics.summarize("update customer set email=? where id=?")).isEqualTo("update customer");
+        assertThat(RequestStatistics.summarize("delete from address where id=?")).isEqualTo("delete address");
+        assertThat(RequestStatistics.summarize("")).isEqualTo("unknown");
+    }
+
+    @Test
+    void inspectorOnlyCountsWithinARequest() {
+        SqlStatementInspector inspector = new SqlStatementInspector();
+        inspector.inspect("select 1");
+
+        RequestStatistics statistics = RequestStatistics.start();
+        inspector.inspect("select c1_0.id from category c1_0");
+        inspector.inspect("select c1_0.id from category c1_0");
+        inspector.inspect("select p1_0.id from product p1_0");
+
+        assertThat(statistics.getStatementCount()).isEqualTo(3);
+        assertThat(statistics.getStatementBreakdown()).containsEntry("select category", 2).containsEntry("select product", 1);
+    }
+}
@@ -0,0 +1,52 @@
+package myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import myapp.SampleApp;
+import myapp.domain.OutboxEvent;
+import myapp.domain.enumeration.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link OutboxEventRepository}.
+ */
+@SpringBootTest(classes = SampleApp.class)
+@Transactional
+class OutboxEventRepositoryIT {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void nextEventsStartWithTheAggregateOfTheOldestEvent() {
+        OutboxEvent customerV2 = save("Customer", 1L, 2L, 11);
+        OutboxEvent customerV1 = save("Customer", 1L, 1L, 10);
+        OutboxEvent order = save("Order", 1L, 1L, 5);
+        OutboxEvent product = save("Product", 1L, 1L, 0);
+        outboxEventRepository.flush();
+
+        assertThat(outboxEventRepository.findNextByAggregateAgeForUpdate(PageRequest.of(0, 2))).containsExactly(product, order);
+        assertThat(outboxEventRepository.findNextByAggregateAgeForUpdate(PageRequest.of(0, 4))).containsExactly(
+            product,
+            order,
+            customerV1,
+            customerV2
+        );
+    }
+
+    private OutboxEvent save(String aggregateType, Long aggregateId, Long aggregateVersion, long createdSeconds) {
+        return outboxEventRepository.save(
+            new OutboxEvent()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .aggregateVersion(aggregateVersion)
+                .eventType(OutboxEventType.UPDATED)
+                .createdDate(Instant.EPOCH.plusSeconds(createdSeconds))
+        );
+    }
+}
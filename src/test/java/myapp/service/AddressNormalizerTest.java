@@ -0,0 +1,71 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+class AddressNormalizerTest {
+
+    private AddressNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        normalizer = AddressNormalizer.load(new ClassPathResource("config/address-rules.json"), new ObjectMapper());
+    }
+
+    @Test
+    void canonicalizeCollapsesWhitespaceAndFormatsPostcode() {
+        AddressNormalizer.Canonical canonical = normalizer.canonicalize("  10  Downing   Street ", " ", "London", "sw1a2aa", " gb ");
+
+        assertThat(canonical).isEqualTo(new AddressNormalizer.Canonical("10 Downing Street", null, "London", "SW1A 2AA", "GB"));
+    }
+
+    @Test
+    void canonicalizeKeepsUnmatchedPostcodeUpperCased() {
+        assertThat(normalizer.canonicalize("1 Main St", null, "Springfield", "abc", "US").postcode()).isEqualTo("ABC");
+    }
+
+    @Test
+    void validateAcceptsZipPlusFourAndHyphenatedPostcodes() {
+        assertThatCode(() -> normalizer.validate(normalizer.canonicalize("1 Main St", null, "Springfield", "62701", "US"))
+        ).doesNotThrowAnyException();
+        assertThatCode(() -> normalizer.validate(normalizer.canonicalize("1 Main St", null, "Springfield", "62701-1234", "US"))
+        ).doesNotThrowAnyException();
+        assertThatCode(() -> normalizer.validate(normalizer.canonicalize("ul. Marszałkowska 1", null, "Warszawa", "00-950", "PL"))
+        ).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validateRejectsInvalidAddresses() {
+        assertThatThrownBy(() -> normalizer.validate(normalizer.canonicalize("1 Main St", null, "Springfield", "6270", "US")))
+            .isInstanceOf(InvalidAddressException.class)
+            .extracting("errorKey")
+            .isEqualTo("postcodeinvalid");
+        assertThatThrownBy(() -> normalizer.validate(normalizer.canonicalize("1 Main St", null, "Springfield", "62701", "XX")))
+            .isInstanceOf(InvalidAddressException.class)
+            .extracting("errorKey")
+            .isEqualTo("countryinvalid");
+        assertThatThrownBy(() -> normalizer.validate(normalizer.canonicalize(" ", null, "Springfield", "62701", "US")))
+            .isInstanceOf(InvalidAddressException.class)
+            .extracting("errorKey")
+            .isEqualTo("addressincomplete");
+    }
+
+    @Test
+    void keyIsSharedBySpellingsOfTheSameAddress() {
+        String key = normalizer.key(normalizer.canonicalize("10 Downing Street", "Apartment 2", "London", "SW1A 2AA", "GB"));
+
+        assertThat(normalizer.key(normalizer.canonicalize("10, downing st.", "apt 2", "LONDON", "sw1a2aa", "gb"))).isEqualTo(key);
+        assertThat(normalizer.key(normalizer.canonicalize("11 Downing Street", "Apartment 2", "London", "SW1A 2AA", "GB"))).isNotEqualTo(
+            key
+        );
+        assertThat(normalizer.key(normalizer.canonicalize("Rua Augusta 1", null, "Lisboa", "1100-048", "PT"))).isEqualTo(
+            normalizer.key(normalizer.canonicalize("rua augusta 1", null, "lisboa", "1100 048", "pt"))
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import myapp.SampleApp;
+import myapp.domain.Address;
+import myapp.domain.Customer;
+import myapp.domain.Order;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.repository.AddressRepository;
+import myapp.repository.CustomerRepository;
+import myapp.repository.OrderRepository;
+import myapp.service.dto.CheckoutDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link AddressService}.
+ */
+@SpringBootTest(classes = SampleApp.class)
+class AddressServiceIT {
+
+    private static final int CHECKOUTS = 8;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Customer customer;
+
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.saveAndFlush(
+            new Customer().firstName("Ada").lastName("Lovelace").email("ada." + System.nanoTime() + "@example.com")
+        );
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(orderIds);
+        addressRepository.deleteAll(addressRepository.findAll().stream().filter(this::ofCustomer).toList());
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void concurrentCheckoutsToTheSameNewAddressShareIt() throws Exception {
+        CheckoutDTO.ShippingAddress shippingAddress = new CheckoutDTO.ShippingAddress(
+            "10 Downing Street",
+            null,
+            "London",
+            "SW1A 2AA",
+            "GB"
+        );
+        ExecutorService checkouts = Executors.newFixedThreadPool(CHECKOUTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> ids = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            ids.add(
+                checkouts.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status ->
+                        addressService.findOrCreate(customer.getId(), shippingAddress).orElseThrow().getId()
+                    );
+                })
+            );
+        }
+        start.countDown();
+        List<Long> addressIds = new ArrayList<>();
+        for (Future<Long> id : ids) {
+            addressIds.add(id.get());
+        }
+        checkouts.shutdown();
+
+        assertThat(addressIds).containsOnly(addressIds.get(0));
+        assertThat(addressRepository.findAll().stream().filter(this::ofCustomer)).hasSize(1);
+    }
+
+    @Test
+    void backfillMergesAnAddressIntoTheOneWithItsKey() {
+        Address kept = addressService.findOrCreate(
+            customer.getId(),
+            new CheckoutDTO.ShippingAddress("10 Downing Street", null, "London", "SW1A 2AA", "GB")
+        ).orElseThrow();
+        Address duplicate = addressRepository.saveAndFlush(
+            new Address().address1("10 downing st.").city("LONDON").postcode("sw1a2aa").country("gb").customer(customer)
+        );
+        Order order = orderRepository.saveAndFlush(
+            new Order()
+                .orderDate(Instant.now())
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN)
+                .shippingAddress(duplicate)
+                .customer(customer)
+        );
+        orderIds.add(order.getId());
+
+        transactionTemplate.executeWithoutResult(status -> addressService.backfillNormalizedKeys(1000));
+
+        assertThat(addressRepository.findById(duplicate.getId())).isEmpty();
+        assertThat(orderRepository.findDTOById(order.getId())).hasValueSatisfying(updated ->
+            assertThat(updated.shippingAddress().id()).isEqualTo(kept.getId())
+        );
+    }
+
+    private boolean ofCustomer(Address address) {
+        return address.getCustomer() != null && customer.getId().equals(address.getCustomer().getId());
+    }
+}
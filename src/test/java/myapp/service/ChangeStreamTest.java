@@ -0,0 +1,95 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ChangeStreamTest {
+
+    private final ChangeStream<String> stream = new ChangeStream<>(2);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changesOfAnEntityCoalesceIntoItsLatestState() {
+        ChangeStream.Subscription<String> subscription = stream.subscribe();
+
+        stream.publish(1L, () -> "v1");
+        stream.publish(2L, () -> "v1");
+        stream.publish(1L, () -> "v2");
+        stream.publishDeletion(2L);
+
+        ChangeStream.Changes<String> changes = subscription.drain();
+        assertThat(changes.overflowed()).isFalse();
+        assertThat(changes.states().keySet()).containsExactly(1L, 2L);
+        assertThat(changes.states()).containsEntry(1L, "v2").containsEntry(2L, null);
+        assertThat(subscription.drain().isEmpty()).isTrue();
+    }
+
+    @Test
+    void subscriberFallingBehindLosesItsBufferOnceAndThenReceivesAgain() {
+        ChangeStream.Subscription<String> behind = stream.subscribe();
+
+        stream.publish(1L, () -> "v1");
+        stream.publish(2L, () -> "v1");
+        stream.publish(2L, () -> "v2");
+        stream.publish(3L, () -> "v1");
+        stream.publish(4L, () -> "v1");
+
+        ChangeStream.Changes<String> changes = behind.drain();
+        assertThat(changes.overflowed()).isTrue();
+        assertThat(changes.states()).isEmpty();
+        stream.publish(5L, () -> "v1");
+        assertThat(behind.drain()).isEqualTo(new ChangeStream.Changes<>(Map.of(5L, "v1"), false));
+    }
+
+    @Test
+    void changesAreOfferedAfterTheCommitOnly() {
+        ChangeStream.Subscription<String> subscription = stream.subscribe();
+        AtomicInteger reads = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        stream.publish(1L, () -> "v" + reads.incrementAndGet());
+
+        assertThat(subscription.drain().isEmpty()).isTrue();
+        assertThat(reads).hasValue(0);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(subscription.drain().states()).containsEntry(1L, "v1");
+    }
+
+    @Test
+    void rolledBackChangesAreNotOffered() {
+        ChangeStream.Subscription<String> subscription = stream.subscribe();
+        TransactionSynchronizationManager.initSynchronization();
+
+        stream.publish(1L, () -> "v1");
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK)
+        );
+
+        assertThat(subscription.drain().isEmpty()).isTrue();
+    }
+
+    @Test
+    void cancelledSubscriptionReceivesNothing() {
+        ChangeStream.Subscription<String> subscription = stream.subscribe();
+        AtomicInteger reads = new AtomicInteger();
+        subscription.cancel();
+
+        stream.publish(1L, () -> "v" + reads.incrementAndGet());
+
+        assertThat(stream.getSubscriptionCount()).isZero();
+        assertThat(subscription.drain().isEmpty()).isTrue();
+        assertThat(reads).hasValue(0);
+    }
+}
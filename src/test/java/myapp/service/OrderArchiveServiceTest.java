@@ -0,0 +1,61 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import myapp.repository.OrderItemRepository;
+import myapp.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceTest {
+
+    private static final Instant SHIPPED_BEFORE = Instant.parse("2026-07-19T00:00:00Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @InjectMocks
+    private OrderArchiveService orderArchiveService;
+
+    @Test
+    void ordersAreCopiedWithTheirItemsBeforeBeingDeleted() {
+        List<Long> ids = List.of(3L, 1L, 2L);
+        when(orderRepository.findIdsToArchive(SHIPPED_BEFORE, PageRequest.of(0, 3))).thenReturn(ids);
+
+        assertThat(orderArchiveService.archiveShippedOrders(SHIPPED_BEFORE, 3)).isEqualTo(3);
+
+        InOrder archival = inOrder(orderRepository, orderItemRepository);
+        archival.verify(orderRepository).findIdsToArchive(SHIPPED_BEFORE, PageRequest.of(0, 3));
+        archival.verify(orderRepository).copyToArchive(eq(ids), any(Instant.class));
+        archival.verify(orderItemRepository).copyToArchiveByOrderIds(ids);
+        archival.verify(orderRepository).deleteAllByIdInBatch(ids);
+        verifyNoMoreInteractions(orderRepository, orderItemRepository);
+    }
+
+    @Test
+    void nothingIsWrittenWhenNoOrderIsToArchive() {
+        when(orderRepository.findIdsToArchive(SHIPPED_BEFORE, PageRequest.of(0, 100))).thenReturn(List.of());
+
+        assertThat(orderArchiveService.archiveShippedOrders(SHIPPED_BEFORE, 100)).isZero();
+
+        verifyNoMoreInteractions(orderRepository);
+        verifyNoInteractions(orderItemRepository);
+    }
+}
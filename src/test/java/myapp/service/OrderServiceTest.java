@@ -0,0 +1,264 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import myapp.domain.Address;
+import myapp.domain.Order;
+import myapp.domain.OrderItem;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.repository.AddressRepository;
+import myapp.repository.OrderItemRepository;
+import myapp.repository.OrderRepository;
+import myapp.repository.OrderWithArchiveRepository;
+import myapp.repository.ProductRepository;
+import myapp.service.dto.CheckoutDTO;
+import myapp.service.dto.OrderDTO;
+import myapp.service.mapper.OrderMapper;
+import myapp.service.mapper.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private OrderStatsService orderStatsService;
+
+    @Mock
+    private OrderWithArchiveRepository orderWithArchiveRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
+    @Mock
+    private PopularityService popularityService;
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private ShippingCostService shippingCostService;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Test
+    void checkoutRejectsQuantitiesOfAProductAddingUpBeyondAnInt() {
+        when(addressRepository.findByIdAndCustomerId(1L, 2L)).thenReturn(Optional.of(new Address()));
+        CheckoutDTO checkout = new CheckoutDTO(
+            2L,
+            1L,
+            null,
+            List.of(new CheckoutDTO.Item(3L, Integer.MAX_VALUE - 1), new CheckoutDTO.Item(3L, 2))
+        );
+
+        assertThatThrownBy(() -> orderService.checkout(checkout))
+            .isInstanceOf(CheckoutException.class)
+            .extracting("errorKey")
+            .isEqualTo("quantitytoolarge");
+        verify(productRepository, never()).findAllByIdForUpdate(any());
+    }
+
+    @Test
+    void checkoutItemQuantityIsBounded() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        assertThat(validator.validate(new CheckoutDTO.Item(3L, CheckoutDTO.MAX_QUANTITY))).isEmpty();
+        assertThat(validator.validate(new CheckoutDTO.Item(3L, CheckoutDTO.MAX_QUANTITY + 1)))
+            .singleElement()
+            .satisfies(violation -> assertThat(violation.getPropertyPath()).hasToString("quantity"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OrderStatus.class, names = "PENDING", mode = EnumSource.Mode.EXCLUDE)
+    void saveRejectsOrdersNotCreatedAsPending(OrderStatus status) {
+        assertThatThrownBy(() -> orderService.save(order(null, status))).isInstanceOf(OrderStatusTransitionException.class);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void saveCreatesPendingOrders() {
+        Order order = order(null, OrderStatus.PENDING);
+        when(orderRepository.save(order)).thenReturn(order);
+
+        assertThat(orderService.save(order)).isSameAs(order);
+    }
+
+    @Test
+    void saveIgnoresTheTotalsOfTheClient() {
+        Order order = order(null, OrderStatus.PENDING).shippingCost(BigDecimal.ONE).shippingAddress(new Address().id(5L));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        orderService.save(order);
+
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(order.getShippingCost()).isNull();
+    }
+
+    @Test
+    void updateKeepsTheTotals() {
+        Order current = order(1L, OrderStatus.PENDING);
+        Order order = order(1L, OrderStatus.PENDING).totalAmount(new BigDecimal("99.00")).shippingCost(BigDecimal.ONE);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(orderMapper.toDto(current)).thenReturn(dto(OrderStatus.PENDING));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        orderService.update(order);
+
+        assertThat(order.getTotalAmount()).isEqualTo(BigDecimal.TEN);
+        assertThat(order.getShippingCost()).isNull();
+    }
+
+    @Test
+    void updatePricesTheShippingOfTheItemsToANewAddress() {
+        Order current = order(1L, OrderStatus.PENDING);
+        Address address = new Address().id(5L);
+        Order order = order(1L, OrderStatus.PENDING).shippingAddress(address);
+        List<OrderItem> items = List.of(new OrderItem().quantity(2).unitPrice(new BigDecimal("2.50")));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(orderMapper.toDto(current)).thenReturn(dto(OrderStatus.PENDING));
+        when(orderItemRepository.findAllWithProductByOrderId(1L)).thenReturn(items);
+        when(addressRepository.findById(5L)).thenReturn(Optional.of(address));
+        when(shippingCostService.shippingCost(address, items)).thenReturn(new BigDecimal("4.00"));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        orderService.update(order);
+
+        assertThat(order.getShippingCost()).isEqualByComparingTo("4.00");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("9.00");
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        {
+            "PENDING, PENDING",
+            "PENDING, PAID",
+            "PENDING, CANCELLED",
+            "PAID, SHIPPED",
+            "PAID, CANCELLED",
+            "SHIPPED, DELIVERED",
+            "DELIVERED, DELIVERED",
+            "CANCELLED, CANCELLED",
+        }
+    )
+    void updateAllowsTransitionsOfTheTable(OrderStatus from, OrderStatus to) {
+        Order current = order(1L, from);
+        Order order = order(1L, to);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(orderMapper.toDto(current)).thenReturn(dto(from));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        assertThat(orderService.update(order)).isSameAs(order);
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        {
+            "PENDING, SHIPPED",
+            "PENDING, DELIVERED",
+            "PAID, PENDING",
+            "PAID, DELIVERED",
+            "SHIPPED, PENDING",
+            "SHIPPED, CANCELLED",
+            "DELIVERED, SHIPPED",
+            "DELIVERED, CANCELLED",
+            "CANCELLED, PENDING",
+            "CANCELLED, PAID",
+        }
+    )
+    void updateRejectsTransitionsOutsideTheTable(OrderStatus from, OrderStatus to) {
+        Order current = order(1L, from);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(orderMapper.toDto(current)).thenReturn(dto(from));
+
+        assertThatThrownBy(() -> orderService.update(order(1L, to)))
+            .isInstanceOf(OrderStatusTransitionException.class)
+            .hasMessage("An order cannot go from " + from + " to " + to);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void partialUpdateRejectsTransitionsOutsideTheTable() {
+        when(orderRepository.findDTOById(1L)).thenReturn(Optional.of(dto(OrderStatus.DELIVERED)));
+
+        assertThatThrownBy(() -> orderService.partialUpdate(new Order().id(1L).status(OrderStatus.PENDING))).isInstanceOf(
+            OrderStatusTransitionException.class
+        );
+        verify(orderRepository, never()).partialUpdate(any());
+    }
+
+    @Test
+    void partialUpdateAllowsTransitionsOfTheTable() {
+        OrderDTO before = dto(OrderStatus.PENDING);
+        Order updated = order(1L, OrderStatus.PAID);
+        when(orderRepository.findDTOById(1L)).thenReturn(Optional.of(before));
+        when(orderRepository.partialUpdate(any())).thenReturn(Optional.of(updated));
+
+        assertThat(orderService.partialUpdate(new Order().id(1L).status(OrderStatus.PAID))).containsSame(updated);
+        verify(orderStatsService).recordChange(before, null);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OrderStatus.class, names = { "PENDING", "PAID", "SHIPPED" })
+    void activeStatusesAreReadThroughTheActiveStatusQueries(OrderStatus status) {
+        when(orderRepository.countActiveByStatus(status)).thenReturn(3L);
+
+        assertThat(orderService.count(status, false)).isEqualTo(3L);
+        verify(orderRepository, never()).countByStatus(any());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OrderStatus.class, names = { "DELIVERED", "CANCELLED" })
+    void finalStatusesAreReadThroughThePlainStatusQueries(OrderStatus status) {
+        when(orderRepository.countByStatus(status)).thenReturn(3L);
+
+        assertThat(orderService.count(status, false)).isEqualTo(3L);
+        verify(orderRepository, never()).countActiveByStatus(any());
+    }
+
+    private static Order order(Long id, OrderStatus status) {
+        return new Order().id(id).orderDate(Instant.EPOCH).status(status).totalAmount(BigDecimal.TEN);
+    }
+
+    private static OrderDTO dto(OrderStatus status) {
+        return new OrderDTO(1L, 0L, Instant.EPOCH, null, status, BigDecimal.TEN, null, null, (Long) null, null);
+    }
+}
@@ -0,0 +1,145 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import myapp.domain.OrderDailyStats;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.repository.OrderDailyStatsRepository;
+import myapp.repository.OrderWithArchiveRepository;
+import myapp.service.dto.OrderDTO;
+import myapp.service.dto.OrderStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+
+    @Mock
+    private OrderDailyStatsRepository orderDailyStatsRepository;
+
+    @Mock
+    private OrderWithArchiveRepository orderWithArchiveRepository;
+
+    @Captor
+    private ArgumentCaptor<List<OrderDailyStats>> rows;
+
+    @InjectMocks
+    private OrderStatsService orderStatsService;
+
+    @Test
+    void statusChangeMovesTheOrderBetweenTheRowsOfAClosedDay() {
+        orderStatsService.recordChange(order(YESTERDAY, OrderStatus.PENDING, "10.00"), order(YESTERDAY, OrderStatus.PAID, "10.00"));
+
+        verify(orderDailyStatsRepository).addToDay(YESTERDAY, OrderStatus.PENDING, -1, new BigDecimal("-10.00"), BigDecimal.ZERO);
+        verify(orderDailyStatsRepository).addToDay(YESTERDAY, OrderStatus.PAID, 1, new BigDecimal("10.00"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void totalChangeReplacesTheTotalOfAClosedDay() {
+        orderStatsService.recordChange(order(YESTERDAY, OrderStatus.PAID, "10.00"), order(YESTERDAY, OrderStatus.PAID, "12.50"));
+
+        verify(orderDailyStatsRepository).addToDay(YESTERDAY, OrderStatus.PAID, -1, new BigDecimal("-10.00"), BigDecimal.ZERO);
+        verify(orderDailyStatsRepository).addToDay(YESTERDAY, OrderStatus.PAID, 1, new BigDecimal("12.50"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void changeNotContributingToTheStatisticsIsNotRecorded() {
+        OrderDTO before = order(YESTERDAY, OrderStatus.PAID, "10.00");
+
+        orderStatsService.recordChange(before, order(YESTERDAY, OrderStatus.PAID, "10.0"));
+
+        verifyNoInteractions(orderDailyStatsRepository);
+    }
+
+    @Test
+    void changeOfAnOpenDayIsNotRecorded() {
+        orderStatsService.recordChange(null, order(TODAY, OrderStatus.PENDING, "10.00"));
+        orderStatsService.recordChange(order(TODAY, OrderStatus.PENDING, "10.00"), order(TODAY, OrderStatus.PAID, "10.00"));
+
+        verifyNoInteractions(orderDailyStatsRepository);
+    }
+
+    @Test
+    void rollUpWritesEveryStatusOfTheClosedDaysAfterTheLastOne() {
+        LocalDate from = TODAY.minusDays(2);
+        when(orderDailyStatsRepository.findLastDay()).thenReturn(Optional.of(TODAY.minusDays(3)));
+        when(orderWithArchiveRepository.findStatsByDayAndStatus(startOf(from), startOf(TODAY))).thenReturn(
+            List.of(new OrderStatsDTO(from, OrderStatus.PAID, 2L, new BigDecimal("30.00"), new BigDecimal("5.00")))
+        );
+
+        assertThat(orderStatsService.rollUpClosedDays(10)).isEqualTo(2);
+
+        verify(orderDailyStatsRepository).lockOrdersForRollup();
+        verify(orderDailyStatsRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).hasSize(2 * OrderStatus.values().length);
+        assertThat(rows.getValue())
+            .filteredOn(row -> row.getOrderCount() > 0)
+            .singleElement()
+            .satisfies(row -> {
+                assertThat(row.getOrderDay()).isEqualTo(from);
+                assertThat(row.getStatus()).isEqualTo(OrderStatus.PAID);
+                assertThat(row.getTotalAmount()).isEqualByComparingTo("30.00");
+                assertThat(row.getShippingCost()).isEqualByComparingTo("5.00");
+            });
+        assertThat(rows.getValue()).extracting(OrderDailyStats::getOrderDay).containsOnly(from, YESTERDAY);
+    }
+
+    @Test
+    void rollUpLeavesTheOpenDay() {
+        when(orderDailyStatsRepository.findLastDay()).thenReturn(Optional.of(YESTERDAY));
+
+        assertThat(orderStatsService.rollUpClosedDays(10)).isZero();
+
+        verify(orderDailyStatsRepository, never()).lockOrdersForRollup();
+        verify(orderDailyStatsRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void statsReadClosedDaysFromTheRollupAndTheOpenDayFromTheOrders() {
+        when(orderDailyStatsRepository.findAllBetween(YESTERDAY, YESTERDAY)).thenReturn(
+            List.of(
+                new OrderStatsDTO(YESTERDAY, OrderStatus.PAID, 1L, new BigDecimal("10.00"), BigDecimal.ZERO),
+                new OrderStatsDTO(YESTERDAY, OrderStatus.CANCELLED, 0L, BigDecimal.ZERO, BigDecimal.ZERO)
+            )
+        );
+        when(orderWithArchiveRepository.findStatsByDayAndStatus(startOf(TODAY), startOf(TODAY.plusDays(1)))).thenReturn(
+            List.of(new OrderStatsDTO(TODAY, OrderStatus.PAID, 2L, new BigDecimal("20.00"), BigDecimal.ONE))
+        );
+
+        assertThat(orderStatsService.findStats(YESTERDAY, TODAY, OrderStatsService.Grouping.STATUS)).containsExactly(
+            new OrderStatsDTO(null, OrderStatus.PAID, 3L, new BigDecimal("30.00"), BigDecimal.ONE)
+        );
+        verify(orderWithArchiveRepository, never()).findStatsByDayAndStatus(startOf(YESTERDAY), startOf(TODAY));
+        verify(orderDailyStatsRepository, never()).addToDay(any(), any(), anyLong(), any(), any());
+    }
+
+    private static OrderDTO order(LocalDate day, OrderStatus status, String totalAmount) {
+        Instant orderDate = startOf(day).plusSeconds(3600);
+        return new OrderDTO(1L, 0L, orderDate, null, status, new BigDecimal(totalAmount), null, null, (Long) null, null);
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -14,6 +14,7 @@ import java.util.Set;
 import myapp.domain.Product;
 import myapp.domain.enumeration.ProductStatus;
 import myapp.repository.ProductRepository;
+import myapp.service.mapper.ProductMapper;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -45,6 +46,21 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductPriceHistoryService productPriceHistoryService;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
+    @Mock
+    private PopularityService popularityService;
+
     @InjectMocks
     private ProductService productService;
 
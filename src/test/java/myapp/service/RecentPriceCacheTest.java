@@ -0,0 +1,63 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import myapp.service.dto.PricePointDTO;
+import org.junit.jupiter.api.Test;
+
+class RecentPriceCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+
+    private final RecentPriceCache cache = new RecentPriceCache(2, 3, Duration.ofMinutes(5));
+
+    @Test
+    void putIsSkippedWhenTheProductWasEvictedSinceItsGeneration() {
+        long generation = cache.generation(1L);
+        cache.evict(1L);
+
+        RecentPriceCache.Entry entry = cache.put(1L, List.of(point("9.99", 0)), NOW, generation);
+
+        assertThat(entry.priceAt(NOW)).contains(point("9.99", 0));
+        assertThat(cache.get(1L, NOW)).isNull();
+        cache.put(1L, List.of(point("12.50", 0)), NOW, cache.generation(1L));
+        assertThat(cache.get(1L, NOW).priceAt(NOW)).contains(point("12.50", 0));
+    }
+
+    @Test
+    void entryCoversInstantsAfterItsOldestPointUnlessComplete() {
+        RecentPriceCache.Entry partial = cache.put(
+            1L,
+            List.of(point("3.00", 0), point("2.00", 60), point("1.00", 120)),
+            NOW,
+            cache.generation(1L)
+        );
+        RecentPriceCache.Entry complete = cache.put(2L, List.of(point("5.00", 60)), NOW, cache.generation(2L));
+
+        assertThat(partial.covers(NOW.minusSeconds(90))).isTrue();
+        assertThat(partial.priceAt(NOW.minusSeconds(90))).contains(point("1.00", 120));
+        assertThat(partial.covers(NOW.minusSeconds(180))).isFalse();
+        assertThat(complete.covers(NOW.minusSeconds(180))).isTrue();
+        assertThat(complete.priceAt(NOW.minusSeconds(180))).isEmpty();
+    }
+
+    @Test
+    void entriesExpireAndTheLeastRecentlyUsedIsDropped() {
+        cache.put(1L, List.of(point("1.00", 0)), NOW, cache.generation(1L));
+        cache.put(2L, List.of(point("2.00", 0)), NOW, cache.generation(2L));
+        cache.get(1L, NOW);
+        cache.put(3L, List.of(point("3.00", 0)), NOW, cache.generation(3L));
+
+        assertThat(cache.get(2L, NOW)).isNull();
+        assertThat(cache.get(1L, NOW)).isNotNull();
+        assertThat(cache.get(1L, NOW.plus(Duration.ofMinutes(6)))).isNull();
+    }
+
+    private static PricePointDTO point(String price, long secondsAgo) {
+        return new PricePointDTO(new BigDecimal(price), NOW.minusSeconds(secondsAgo));
+    }
+}
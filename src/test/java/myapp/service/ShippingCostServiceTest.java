@@ -0,0 +1,94 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.List;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Address;
+import myapp.domain.OrderItem;
+import myapp.domain.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class ShippingCostServiceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShippingCostServiceTest.class);
+
+    private ShippingCostService shippingCostService;
+
+    @BeforeEach
+    void setUp() {
+        shippingCostService = new ShippingCostService(new ApplicationProperties(), new DefaultResourceLoader(), new ObjectMapper());
+    }
+
+    @Test
+    void pricesByZoneAndWeightBand() {
+        assertThat(shippingCostService.price("GB", "SW1A 1AA", 1000)).isEqualByComparingTo("3.95");
+        assertThat(shippingCostService.price("GB", "SW1A 1AA", 1001)).isEqualByComparingTo("4.95");
+        assertThat(shippingCostService.price("gb", "ze1 0aa", 500)).isEqualByComparingTo("5.95");
+        assertThat(shippingCostService.price("GB", "TR21 0AA", 500)).isEqualByComparingTo("5.95");
+        assertThat(shippingCostService.price("GB", "TR1 1AA", 500)).isEqualByComparingTo("3.95");
+        assertThat(shippingCostService.price("FR", "75001", 4000)).isEqualByComparingTo("17.95");
+        assertThat(shippingCostService.price("JP", "100-0001", 0)).isEqualByComparingTo("12.95");
+    }
+
+    @Test
+    void pricesAdditionalKilogramsAboveTheLastBand() {
+        assertThat(shippingCostService.price("GB", "SW1A 1AA", 30_000)).isEqualByComparingTo("19.95");
+        assertThat(shippingCostService.price("GB", "SW1A 1AA", 30_001)).isEqualByComparingTo("20.70");
+        assertThat(shippingCostService.price("GB", "SW1A 1AA", 32_500)).isEqualByComparingTo("22.20");
+    }
+
+    @Test
+    void chargesTheVolumetricWeightOfBulkyItems() {
+        Address destination = new Address().country("GB").postcode("SW1A 1AA");
+        Product light = new Product().weight(0.2).dimensions("50 x 40 x 30 cm");
+        Product heavy = new Product().weight(3.0).dimensions("100x100x100mm");
+        Product unknown = new Product().dimensions("large");
+
+        // 60000 cm3 / 5000 = 12 kg
+        assertThat(shippingCostService.shippingCost(destination, List.of(new OrderItem().product(light).quantity(1)))).isEqualByComparingTo(
+            "14.95"
+        );
+        assertThat(
+            shippingCostService.shippingCost(
+                destination,
+                List.of(new OrderItem().product(heavy).quantity(2), new OrderItem().product(unknown).quantity(3))
+            )
+        ).isEqualByComparingTo("9.95");
+    }
+
+    @Test
+    void parsesDimensions() {
+        assertThat(ProductDimensions.parse("30x20x10")).contains(new ProductDimensions(30, 20, 10));
+        assertThat(ProductDimensions.parse(" 1,5 X 2 * 3 m ")).contains(new ProductDimensions(150, 200, 300));
+        assertThat(ProductDimensions.parse("30x20")).isEmpty();
+        assertThat(ProductDimensions.parse(null)).isEmpty();
+        assertThat(new ProductDimensions(20, 30, 10).longestFirst()).isEqualTo(new ProductDimensions(30, 20, 10));
+    }
+
+    /**
+     * Throughput of the memoized pricing. Run with {@code ./mvnw -Pdev,benchmark test}.
+     */
+    @Test
+    @Tag("benchmark")
+    void throughput() {
+        String[][] destinations = { { "GB", "SW1A 1AA" }, { "GB", "ZE1 0AA" }, { "DE", "10115" }, { "US", "10001" } };
+        int quotes = 2_000_000;
+        BigDecimal total = BigDecimal.ZERO;
+        long start = System.nanoTime();
+        for (int i = 0; i < quotes; i++) {
+            String[] destination = destinations[i & 3];
+            total = total.add(shippingCostService.price(destination[0], destination[1], (i % 40_000) + 1));
+        }
+        long elapsed = System.nanoTime() - start;
+        LOG.info("Priced {} parcels in {} ms: {} per second", quotes, elapsed / 1_000_000, (long) (quotes / (elapsed / 1e9)));
+        assertThat(total).isPositive();
+    }
+}
@@ -0,0 +1,69 @@
+package myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import myapp.service.dto.PopularProductDTO;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void topIsOrderedByEstimate() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(5);
+        sketch.offer(1L, 2);
+        sketch.offer(2L, 7);
+        sketch.offer(3L, 4);
+        sketch.offer(1L, 3);
+
+        assertThat(sketch.top(2)).containsExactly(new PopularProductDTO(2L, 7L, 0L), new PopularProductDTO(1L, 5L, 0L));
+        assertThat(sketch.top(10)).extracting(PopularProductDTO::productId).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void newProductEvictsSmallestCounterAndInheritsItsEstimateAsError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer(1L, 5);
+        sketch.offer(2L, 3);
+
+        sketch.offer(3L, 1);
+
+        assertThat(sketch.top(2)).containsExactly(new PopularProductDTO(1L, 5L, 0L), new PopularProductDTO(3L, 4L, 3L));
+        assertThat(sketch.snapshot().counters()).extracting(PopularProductDTO::productId).doesNotContain(2L);
+    }
+
+    @Test
+    void removedProductIsNoLongerCounted() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer(1L, 5);
+        sketch.offer(2L, 3);
+        long modifications = sketch.getModifications();
+
+        sketch.remove(1L);
+        sketch.remove(42L);
+        sketch.offer(3L, 1);
+
+        assertThat(sketch.top(2)).containsExactly(new PopularProductDTO(2L, 3L, 0L), new PopularProductDTO(3L, 1L, 0L));
+        assertThat(sketch.getModifications()).isEqualTo(modifications + 2);
+    }
+
+    @Test
+    void mergeAddsEstimateAndErrorToExistingCounter() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer(1L, 4);
+
+        sketch.merge(1L, 10, 2);
+        sketch.merge(2L, 6, 1);
+
+        assertThat(sketch.top(2)).containsExactly(new PopularProductDTO(1L, 14L, 2L), new PopularProductDTO(2L, 6L, 1L));
+    }
+
+    @Test
+    void mergeIntoFullSketchInheritsEstimateAndError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(1);
+        sketch.merge(1L, 5, 1);
+
+        sketch.merge(2L, 3, 2);
+
+        assertThat(sketch.top(1)).containsExactly(new PopularProductDTO(2L, 8L, 7L));
+    }
+}
@@ -0,0 +1,88 @@
+package myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import myapp.SampleApp;
+import myapp.domain.Address;
+import myapp.domain.Customer;
+import myapp.repository.AddressRepository;
+import myapp.repository.CustomerRepository;
+import myapp.security.AuthoritiesConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link AddressResource} REST controller.
+ */
+@SpringBootTest(classes = SampleApp.class)
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class AddressResourceIT {
+
+    @Autowired
+    private MockMvc restAddressMockMvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer customer;
+
+    private Long addressId;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.saveAndFlush(
+            new Customer().firstName("Ada").lastName("Lovelace").email("ada." + System.nanoTime() + "@example.com")
+        );
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (addressId != null) {
+            addressRepository.deleteById(addressId);
+        }
+        customerRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void createAddressReferringToItsCustomerById() throws Exception {
+        String body =
+            "{\"address1\":\"1 rue de Rivoli\",\"city\":\"Paris\",\"postcode\":\"75001\",\"country\":\"FR\"," +
+            "\"customer\":{\"id\":" +
+            customer.getId() +
+            "}}";
+
+        String created = restAddressMockMvc
+            .perform(post("/api/addresses").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.customer.id").value(customer.getId()))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        addressId = om.readValue(created, Address.class).getId();
+        assertThat(addressRepository.findById(addressId)).hasValueSatisfying(address ->
+            assertThat(address.getCustomer().getId()).isEqualTo(customer.getId())
+        );
+        assertThat(customerRepository.findById(customer.getId())).hasValueSatisfying(unchanged ->
+            assertThat(unchanged.getVersion()).isEqualTo(customer.getVersion())
+        );
+    }
+}
@@ -0,0 +1,123 @@
+package myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import myapp.service.IdempotencyService;
+import myapp.service.dto.IdempotentResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentRequestsTest {
+
+    private static final String SCOPE = "thing";
+
+    private static final String KEY = "3f0c7a52-key";
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private IdempotentRequests idempotentRequests;
+
+    private final AtomicInteger creations = new AtomicInteger();
+
+    private final AtomicReference<IdempotentResponseDTO> stored = new AtomicReference<>();
+
+    record Thing(Long id, String name) {}
+
+    @BeforeEach
+    void setUp() {
+        idempotentRequests = new IdempotentRequests(idempotencyService, new ObjectMapper());
+    }
+
+    @Test
+    void retryWithTheSameBodyReplaysTheStoredResponse() throws Exception {
+        when(idempotencyService.findResponse(SCOPE, "anonymous", KEY)).thenReturn(Optional.empty());
+        storeOnExecute();
+        ResponseEntity<Thing> first = create(new Thing(null, "first"));
+        when(idempotencyService.findResponse(SCOPE, "anonymous", KEY)).thenReturn(Optional.of(stored.get()));
+
+        ResponseEntity<Thing> retry = create(new Thing(null, "first"));
+
+        assertThat(creations).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotentRequests.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getHeaders().getLocation()).isEqualTo(first.getHeaders().getLocation());
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+    }
+
+    @Test
+    void reuseOfTheKeyWithAnotherBodyIsUnprocessable() throws Exception {
+        when(idempotencyService.findResponse(SCOPE, "anonymous", KEY)).thenReturn(Optional.empty());
+        storeOnExecute();
+        create(new Thing(null, "first"));
+        when(idempotencyService.findResponse(SCOPE, "anonymous", KEY)).thenReturn(Optional.of(stored.get()));
+
+        assertThatThrownBy(() -> create(new Thing(null, "second")))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+            );
+        assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void concurrentRequestWithTheSameKeyReplaysTheResponseOfTheFirst() throws Exception {
+        when(idempotencyService.findResponse(SCOPE, "anonymous", KEY)).thenReturn(Optional.empty());
+        storeOnExecute();
+        ResponseEntity<Thing> first = create(new Thing(null, "first"));
+        when(idempotencyService.findResponse(SCOPE, "anonymous", KEY)).thenReturn(Optional.empty(), Optional.of(stored.get()));
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+            .when(idempotencyService)
+            .execute(eq(SCOPE), eq("anonymous"), eq(KEY), any());
+
+        ResponseEntity<Thing> second = create(new Thing(null, "first"));
+
+        assertThat(second.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void requestWithoutAKeyIsExecutedAsUsual() throws Exception {
+        idempotentRequests.execute(SCOPE, null, new Thing(null, "first"), Thing.class, () -> ResponseEntity.ok(new Thing(1L, "first")));
+
+        verify(idempotencyService, never()).findResponse(any(), any(), any());
+        verify(idempotencyService, never()).execute(any(), any(), any(), any());
+    }
+
+    private void storeOnExecute() {
+        when(idempotencyService.execute(eq(SCOPE), eq("anonymous"), eq(KEY), any())).thenAnswer(invocation -> {
+            Supplier<IdempotentResponseDTO> request = invocation.getArgument(3);
+            stored.set(request.get());
+            return stored.get();
+        });
+    }
+
+    private ResponseEntity<Thing> create(Thing thing) throws Exception {
+        return idempotentRequests.execute(SCOPE, KEY, thing, Thing.class, () -> {
+            long id = creations.incrementAndGet();
+            return ResponseEntity.created(new URI("/api/things/" + id)).body(new Thing(id, thing.name()));
+        });
+    }
+}
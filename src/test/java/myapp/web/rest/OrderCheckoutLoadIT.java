@@ -0,0 +1,164 @@
+package myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import myapp.SampleApp;
+import myapp.domain.Address;
+import myapp.domain.Customer;
+import myapp.domain.Product;
+import myapp.domain.enumeration.ProductStatus;
+import myapp.repository.AddressRepository;
+import myapp.repository.CustomerRepository;
+import myapp.repository.ProductRepository;
+import myapp.service.dto.CheckoutDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Load test of {@code POST /api/orders/_checkout}: concurrent clients check out overlapping products over HTTP, and the
+ * stock left must account for every placed order. Run with {@code ./mvnw -Pdev,benchmark verify}.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = SampleApp.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderCheckoutLoadIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderCheckoutLoadIT.class);
+
+    private static final int CLIENTS = 8;
+
+    private static final int CHECKOUTS = 1200;
+
+    private static final int PRODUCTS = 4;
+
+    private static final int STOCK = 1_000_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void checkoutsOfOverlappingProducts() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(
+            new Customer().firstName("Load").lastName("Test").email("load." + System.nanoTime() + "@example.com")
+        );
+        Address address = addressRepository.saveAndFlush(
+            new Address().address1("1 rue de Rivoli").city("Paris").postcode("75001").country("FR").customer(customer)
+        );
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(
+                productRepository
+                    .saveAndFlush(
+                        new Product()
+                            .title("Load test " + i)
+                            .price(new BigDecimal("9.99"))
+                            .quantityInStock(STOCK)
+                            .status(ProductStatus.IN_STOCK)
+                            .dateAdded(Instant.now())
+                    )
+                    .getId()
+            );
+        }
+        String token = authenticate();
+
+        AtomicLongArray ordered = new AtomicLongArray(PRODUCTS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Integer>> statuses = new ArrayList<>(CHECKOUTS);
+        long start = System.nanoTime();
+        for (int n = 0; n < CHECKOUTS; n++) {
+            // 1 to 4 items, starting from a different product each time, so that the checkouts overlap in any order
+            List<CheckoutDTO.Item> items = new ArrayList<>();
+            for (int i = 0; i <= n % PRODUCTS; i++) {
+                int product = (n + i) % PRODUCTS;
+                items.add(new CheckoutDTO.Item(productIds.get(product), i + 1));
+                ordered.addAndGet(product, i + 1);
+            }
+            byte[] body = om.writeValueAsBytes(new CheckoutDTO(customer.getId(), address.getId(), null, items));
+            statuses.add(clients.submit(() -> checkout(token, body)));
+        }
+        List<Integer> responses = new ArrayList<>(CHECKOUTS);
+        for (Future<Integer> status : statuses) {
+            responses.add(status.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+
+        LOG.info(
+            "Placed {} checkouts with {} clients in {} ms: {} checkouts per second",
+            CHECKOUTS,
+            CLIENTS,
+            elapsed / 1_000_000,
+            (long) (CHECKOUTS / (elapsed / 1e9))
+        );
+        assertThat(responses).containsOnly(201);
+        for (int i = 0; i < PRODUCTS; i++) {
+            assertThat(productRepository.findById(productIds.get(i)))
+                .get()
+                .extracting(Product::getQuantityInStock)
+                .isEqualTo((int) (STOCK - ordered.get(i)));
+        }
+    }
+
+    private String authenticate() throws Exception {
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(uri("/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        return (String) om.readValue(response.body(), Map.class).get("id_token");
+    }
+
+    private int checkout(String token, byte[] body) throws Exception {
+        return client
+            .send(
+                HttpRequest.newBuilder(uri("/api/orders/_checkout"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build(),
+                HttpResponse.BodyHandlers.discarding()
+            )
+            .statusCode();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
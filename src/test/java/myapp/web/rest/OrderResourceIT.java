@@ -0,0 +1,141 @@
+package myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import myapp.SampleApp;
+import myapp.domain.Order;
+import myapp.domain.enumeration.OrderStatus;
+import myapp.repository.OrderRepository;
+import myapp.security.AuthoritiesConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link OrderResource} REST controller.
+ */
+@SpringBootTest(classes = SampleApp.class)
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class OrderResourceIT {
+
+    @Autowired
+    private MockMvc restOrderMockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllById(orderIds);
+    }
+
+    @Test
+    void createOrderWithAStatusOtherThanPendingIsRejected() throws Exception {
+        long count = orderRepository.count();
+        String body = "{\"orderDate\":\"2026-10-19T10:00:00Z\",\"status\":\"PAID\",\"totalAmount\":10}";
+
+        restOrderMockMvc
+            .perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.statustransitioninvalid"));
+
+        assertThat(orderRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    void updateOrderKeepsItsTotals() throws Exception {
+        Order order = save(OrderStatus.PENDING);
+        String body =
+            "{\"id\":" +
+            order.getId() +
+            ",\"orderDate\":\"2026-10-19T10:00:00Z\",\"status\":\"PAID\",\"totalAmount\":1,\"shippingCost\":1}";
+
+        restOrderMockMvc
+            .perform(put("/api/orders/{id}", order.getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("PAID"))
+            .andExpect(jsonPath("$.totalAmount").value(10))
+            .andExpect(jsonPath("$.shippingCost").doesNotExist());
+        restOrderMockMvc
+            .perform(
+                patch("/api/orders/{id}", order.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + order.getId() + ",\"totalAmount\":1,\"shippingCost\":1}")
+            )
+            .andExpect(status().isOk());
+
+        assertThat(orderRepository.findById(order.getId())).hasValueSatisfying(updated -> {
+            assertThat(updated.getTotalAmount()).isEqualByComparingTo(BigDecimal.TEN);
+            assertThat(updated.getShippingCost()).isNull();
+        });
+    }
+
+    @Test
+    void statusIsStoredByNameAndChecked() {
+        Long id = save(OrderStatus.PAID).getId();
+
+        assertThat(jdbcTemplate.queryForObject("select status from jhi_order where id = ?", String.class, id)).isEqualTo("PAID");
+        assertThatThrownBy(() -> jdbcTemplate.update("update jhi_order set status = 'paid' where id = ?", id)).isInstanceOf(
+            DataIntegrityViolationException.class
+        );
+    }
+
+    @Test
+    void getAllOrdersFiltersByActiveStatus() throws Exception {
+        Long paid = save(OrderStatus.PAID).getId();
+        save(OrderStatus.CANCELLED);
+
+        MvcResult result = restOrderMockMvc
+            .perform(get("/api/orders?status=PAID&size=1000"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restOrderMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].status", everyItem(is("PAID"))))
+            .andExpect(jsonPath("$[*].id", hasItem(paid.intValue())));
+
+        assertThat(orderRepository.countActiveByStatus(OrderStatus.PAID)).isEqualTo(orderRepository.countByStatus(OrderStatus.PAID));
+        assertThat(orderRepository.countActiveByStatus(OrderStatus.CANCELLED)).isZero();
+        assertThat(orderRepository.countByStatus(OrderStatus.CANCELLED)).isPositive();
+    }
+
+    private Order save(OrderStatus status) {
+        Order order = orderRepository.saveAndFlush(
+            new Order().orderDate(Instant.now().truncatedTo(ChronoUnit.MILLIS)).status(status).totalAmount(BigDecimal.TEN)
+        );
+        orderIds.add(order.getId());
+        return order;
+    }
+}